@@ -0,0 +1,91 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.geo.GeocodificadorCep;
+import com.deliverytech.delivery_api.geo.MatrizDistancias;
+import com.deliverytech.delivery_api.model.FaixaTaxaEntrega;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.FaixaTaxaEntregaRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.RestauranteService;
+import com.deliverytech.delivery_api.service.TaxaEntregaService;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Services reais montados sobre repositórios em memória, para medir só o código da aplicação
+ * (precificação, mapeamento) sem JPA, banco ou proxies transacionais no caminho.
+ */
+public class AmbienteBenchmark {
+    
+    public final DadosBenchmark dados;
+    public final GeocodificadorCep geocodificador = new GeocodificadorCep();
+    public final TaxaEntregaService taxaEntregaService;
+    public final PedidoService pedidoService;
+    public final RestauranteService restauranteService;
+    
+    public AmbienteBenchmark(int restaurantes, int produtosPorRestaurante, int clientes, int pedidos) {
+        this.dados = DadosBenchmark.gerar(restaurantes, produtosPorRestaurante, clientes, pedidos, geocodificador);
+        
+        Map<Long, Restaurante> restaurantesPorId = porId(dados.restaurantes(), Restaurante::getId);
+        Map<Long, Produto> produtosPorId = porId(dados.produtos(), Produto::getId);
+        Map<Long, Pedido> pedidosPorId = porId(dados.pedidos(), Pedido::getId);
+        Map<Long, List<FaixaTaxaEntrega>> faixasPorRestaurante = dados.faixas().stream()
+            .collect(Collectors.groupingBy(faixa -> faixa.getRestaurante().getId()));
+        
+        RestauranteRepository restauranteRepository = emMemoria(RestauranteRepository.class, Map.of(
+            "findById", args -> Optional.ofNullable(restaurantesPorId.get((Long) args[0])),
+            "findAll", args -> dados.restaurantes()));
+        ProdutoRepository produtoRepository = emMemoria(ProdutoRepository.class, Map.of(
+            "findAllByIdComRestaurante", args -> ((Collection<?>) args[0]).stream()
+                .map(produtosPorId::get)
+                .filter(Objects::nonNull)
+                .toList()));
+        PedidoRepository pedidoRepository = emMemoria(PedidoRepository.class, Map.of(
+            "findComDetalhesById", args -> Optional.ofNullable(pedidosPorId.get((Long) args[0]))));
+        FaixaTaxaEntregaRepository faixaRepository = emMemoria(FaixaTaxaEntregaRepository.class, Map.of(
+            "findAllOrdenadas", args -> dados.faixas(),
+            "findByRestauranteIdOrderByDistanciaMaximaKm", args -> faixasPorRestaurante.getOrDefault((Long) args[0], List.of())));
+        
+        this.taxaEntregaService = new TaxaEntregaService(restauranteRepository, faixaRepository,
+            geocodificador, new MatrizDistancias(geocodificador));
+        taxaEntregaService.carregar();
+        
+        // Dependências que os métodos medidos não usam ficam nulas
+        this.pedidoService = new PedidoService(pedidoRepository, null, restauranteRepository, produtoRepository,
+            null, taxaEntregaService, null, null);
+        this.restauranteService = new RestauranteService(restauranteRepository, faixaRepository, taxaEntregaService,
+            geocodificador, null, null, null);
+    }
+    
+    // Implementa só os métodos informados; qualquer outro falha, para não medir um caminho errado em silêncio
+    static <T> T emMemoria(Class<T> tipo, Map<String, Function<Object[], Object>> metodos) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, (proxy, metodo, args) -> {
+            Function<Object[], Object> implementacao = metodos.get(metodo.getName());
+            if (implementacao != null) {
+                return implementacao.apply(args);
+            }
+            return switch (metodo.getName()) {
+                case "toString" -> tipo.getSimpleName() + " em memória";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(tipo.getSimpleName() + "." + metodo.getName());
+            };
+        }));
+    }
+    
+    private static <T> Map<Long, T> porId(List<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
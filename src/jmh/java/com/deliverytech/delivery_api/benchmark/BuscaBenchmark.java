@@ -0,0 +1,87 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.search.DocumentoProduto;
+import com.deliverytech.delivery_api.search.IndiceInvertido;
+import com.deliverytech.delivery_api.search.IndiceProdutos;
+import com.deliverytech.delivery_api.search.TrieAutocompletar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Busca textual de produtos (índice invertido) e autocompletar por prefixo sobre catálogos grandes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BuscaBenchmark {
+    
+    @Param({"100000", "1000000"})
+    int produtos;
+    
+    private IndiceProdutos indiceProdutos;
+    private final TrieAutocompletar autocompletar = new TrieAutocompletar();
+    
+    @Setup
+    public void preparar() {
+        String[] palavras = DadosBenchmark.PALAVRAS;
+        String[] categorias = DadosBenchmark.CATEGORIAS;
+        // Gera os documentos sob demanda: com 1M de produtos não vale manter as entidades em memória
+        ProdutoRepository repository = AmbienteBenchmark.emMemoria(ProdutoRepository.class, Map.of(
+            "streamDocumentos", args -> {
+                Random random = new Random(DadosBenchmark.SEMENTE);
+                return IntStream.rangeClosed(1, produtos).mapToObj(id -> new DocumentoProduto(
+                    (long) id,
+                    (long) (1 + random.nextInt(Math.max(1, produtos / 40))),
+                    palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)],
+                    "Com " + palavras[random.nextInt(palavras.length)] + " e " + palavras[random.nextInt(palavras.length)],
+                    categorias[random.nextInt(categorias.length)],
+                    random.nextInt(10) > 0));
+            }));
+        indiceProdutos = new IndiceProdutos(repository);
+        indiceProdutos.reconstruir();
+        
+        Random random = new Random(DadosBenchmark.SEMENTE);
+        for (int id = 1; id <= produtos; id++) {
+            autocompletar.indexar(id, palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)] + " " + id);
+            autocompletar.definirPopularidade(id, random.nextInt(1000));
+        }
+    }
+    
+    @Benchmark
+    public List<IndiceInvertido.Resultado> buscarUmTermo() {
+        return indiceProdutos.buscar("pizza", null, null, 20);
+    }
+    
+    @Benchmark
+    public List<IndiceInvertido.Resultado> buscarDoisTermosDisponiveis() {
+        return indiceProdutos.buscar("pizza calabresa", null, true, 20);
+    }
+    
+    @Benchmark
+    public List<IndiceInvertido.Resultado> buscarNoRestaurante() {
+        return indiceProdutos.buscar("frango", 7L, true, 20);
+    }
+    
+    @Benchmark
+    public List<TrieAutocompletar.Sugestao> autocompletarPrefixoCurto() {
+        return autocompletar.sugerir("p", 10);
+    }
+    
+    @Benchmark
+    public List<TrieAutocompletar.Sugestao> autocompletarPrefixoLongo() {
+        return autocompletar.sugerir("pizza ca", 10);
+    }
+}
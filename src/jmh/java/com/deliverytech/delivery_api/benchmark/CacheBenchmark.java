@@ -0,0 +1,89 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.cache.Cardapio;
+import com.deliverytech.delivery_api.cache.CacheCardapio;
+import com.deliverytech.delivery_api.cache.FiltroBloom;
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de cardápios (acerto e recarga com serialização/gzip) e consulta ao filtro de Bloom de emails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheBenchmark {
+    
+    @Param({"50"})
+    int produtosPorRestaurante;
+    
+    private CacheCardapio cache;
+    private Long restauranteId;
+    private List<ProdutoResponseDTO> cardapio;
+    private FiltroBloom filtro;
+    
+    @Setup
+    public void preparar() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        cache = new CacheCardapio(objectMapper, 200_000);
+        
+        AmbienteBenchmark ambiente = new AmbienteBenchmark(10, produtosPorRestaurante, 0, 0);
+        Restaurante restaurante = ambiente.dados.restaurantes().get(0);
+        restauranteId = restaurante.getId();
+        cardapio = ambiente.dados.produtos().stream()
+            .filter(produto -> produto.getRestaurante() == restaurante)
+            .map(CacheBenchmark::toResponseDTO)
+            .toList();
+        cache.obter(restauranteId, null, () -> cardapio);
+        
+        filtro = new FiltroBloom(1_000_000, 0.01);
+        for (int i = 0; i < 1_000_000; i++) {
+            filtro.adicionar("cliente" + i + "@example.com");
+        }
+    }
+    
+    @Benchmark
+    public Cardapio cardapioEmCache() {
+        return cache.obter(restauranteId, null, () -> cardapio);
+    }
+    
+    // Invalidação seguida de recarga: monta o JSON e o gzip do cardápio
+    @Benchmark
+    public Cardapio cardapioRecarregado() {
+        cache.invalidar(restauranteId);
+        return cache.obter(restauranteId, null, () -> cardapio);
+    }
+    
+    @Benchmark
+    public boolean filtroEmailCadastrado() {
+        return filtro.podeConter("cliente123456@example.com");
+    }
+    
+    @Benchmark
+    public boolean filtroEmailNovo() {
+        return filtro.podeConter("novo.cliente@example.com");
+    }
+    
+    private static ProdutoResponseDTO toResponseDTO(Produto produto) {
+        return new ProdutoResponseDTO(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+            produto.getCategoria(), produto.getDisponivel(), produto.getRestaurante().getId(),
+            produto.getRestaurante().getNome(), produto.getDataCadastro());
+    }
+}
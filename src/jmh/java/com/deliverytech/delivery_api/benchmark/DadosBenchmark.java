@@ -0,0 +1,153 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.geo.GeocodificadorCep;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.FaixaTaxaEntrega;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Massa de dados dos benchmarks, gerada em memória a partir de uma semente fixa: a mesma
+ * semente produz sempre os mesmos restaurantes, produtos, clientes e pedidos, sem banco nem rede.
+ */
+public record DadosBenchmark(List<Restaurante> restaurantes,
+                             List<Produto> produtos,
+                             List<Cliente> clientes,
+                             List<Pedido> pedidos,
+                             List<FaixaTaxaEntrega> faixas,
+                             List<String> ceps) {
+    
+    public static final long SEMENTE = 42L;
+    
+    static final String[] CATEGORIAS = {
+        "Pizza", "Hambúrguer", "Japonesa", "Chinesa", "Brasileira",
+        "Italiana", "Mexicana", "Árabe", "Doces", "Bebidas"
+    };
+    
+    static final String[] PALAVRAS = {
+        "pizza", "calabresa", "margherita", "frango", "catupiry", "hambúrguer", "bacon", "cheddar",
+        "sushi", "salmão", "temaki", "yakisoba", "feijoada", "picanha", "lasanha", "bolonhesa",
+        "burrito", "taco", "esfiha", "kibe", "brigadeiro", "pudim", "açaí", "suco", "refrigerante",
+        "especial", "tradicional", "grande", "média", "individual", "vegano", "picante"
+    };
+    
+    public static DadosBenchmark gerar(int numeroRestaurantes, int produtosPorRestaurante,
+                                       int numeroClientes, int numeroPedidos, GeocodificadorCep geocodificador) {
+        Random random = new Random(SEMENTE);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        // Ordenados para que a massa não dependa da ordem de iteração do mapa de prefixos
+        List<String> prefixos = geocodificador.getPrefixos().keySet().stream().sorted().toList();
+        
+        List<String> ceps = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ceps.add(cep(prefixos.get(random.nextInt(prefixos.size())), random));
+        }
+        
+        List<Restaurante> restaurantes = new ArrayList<>(numeroRestaurantes);
+        List<FaixaTaxaEntrega> faixas = new ArrayList<>(numeroRestaurantes * 3);
+        long idFaixa = 1;
+        for (int i = 1; i <= numeroRestaurantes; i++) {
+            Restaurante restaurante = new Restaurante();
+            restaurante.setId((long) i);
+            restaurante.setCategoria(CATEGORIAS[random.nextInt(CATEGORIAS.length)]);
+            restaurante.setNome(restaurante.getCategoria() + " " + PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + i);
+            restaurante.setEndereco("Rua " + PALAVRAS[random.nextInt(PALAVRAS.length)] + ", " + (1 + random.nextInt(2000)));
+            restaurante.setCep(ceps.get(random.nextInt(ceps.size())));
+            restaurante.setTaxaEntrega(BigDecimal.valueOf(300 + random.nextInt(700), 2));
+            restaurante.setTempoEntrega("30-45 min");
+            restaurante.setAvaliacao(BigDecimal.valueOf(30 + random.nextInt(21), 1));
+            restaurante.setAtivo(true);
+            restaurante.setDataCadastro(base.minusDays(random.nextInt(365)));
+            restaurantes.add(restaurante);
+            
+            // A última faixa cobre qualquer distância, para que toda cotação percorra as faixas e tenha preço
+            faixas.add(new FaixaTaxaEntrega(idFaixa++, restaurante, new BigDecimal("5.0"), new BigDecimal("5.00")));
+            faixas.add(new FaixaTaxaEntrega(idFaixa++, restaurante, new BigDecimal("15.0"), new BigDecimal("9.90")));
+            faixas.add(new FaixaTaxaEntrega(idFaixa++, restaurante, new BigDecimal("10000.0"), new BigDecimal("19.90")));
+        }
+        
+        List<Produto> produtos = new ArrayList<>(numeroRestaurantes * produtosPorRestaurante);
+        long idProduto = 1;
+        for (Restaurante restaurante : restaurantes) {
+            for (int j = 0; j < produtosPorRestaurante; j++) {
+                Produto produto = new Produto();
+                produto.setId(idProduto++);
+                produto.setNome(PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + PALAVRAS[random.nextInt(PALAVRAS.length)]);
+                produto.setDescricao("Com " + PALAVRAS[random.nextInt(PALAVRAS.length)] + " e " + PALAVRAS[random.nextInt(PALAVRAS.length)]);
+                produto.setCategoria(restaurante.getCategoria());
+                produto.setPreco(BigDecimal.valueOf(990 + random.nextInt(9000), 2));
+                produto.setDisponivel(random.nextInt(10) > 0);
+                produto.setRestaurante(restaurante);
+                produto.setDataCadastro(restaurante.getDataCadastro());
+                produtos.add(produto);
+            }
+        }
+        
+        List<Cliente> clientes = new ArrayList<>(numeroClientes);
+        for (int i = 1; i <= numeroClientes; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setId((long) i);
+            cliente.setNome("Cliente " + i);
+            cliente.setEmail("cliente" + i + "@example.com");
+            cliente.setTelefone("119" + String.format("%08d", random.nextInt(100_000_000)));
+            cliente.setEndereco("Rua " + PALAVRAS[random.nextInt(PALAVRAS.length)] + ", " + (1 + random.nextInt(2000)));
+            cliente.setCep(ceps.get(random.nextInt(ceps.size())));
+            cliente.setAtivo(true);
+            cliente.setDataCadastro(base.minusDays(random.nextInt(365)));
+            clientes.add(cliente);
+        }
+        
+        Pedido.StatusPedido[] status = Pedido.StatusPedido.values();
+        List<Pedido> pedidos = new ArrayList<>(numeroPedidos);
+        long idItem = 1;
+        for (int i = 1; i <= numeroPedidos && !clientes.isEmpty(); i++) {
+            Restaurante restaurante = restaurantes.get(random.nextInt(restaurantes.size()));
+            Pedido pedido = new Pedido();
+            pedido.setId((long) i);
+            pedido.setCliente(clientes.get(random.nextInt(clientes.size())));
+            pedido.setRestaurante(restaurante);
+            pedido.setEnderecoEntrega(pedido.getCliente().getEndereco());
+            pedido.setStatus(status[random.nextInt(status.length)]);
+            pedido.setDataCriacao(base.plusMinutes(random.nextInt(60 * 24 * 365)));
+            pedido.setVersao(0L);
+            
+            BigDecimal subtotal = BigDecimal.ZERO;
+            int primeiroProduto = (int) (restaurante.getId() - 1) * produtosPorRestaurante;
+            for (int j = 0, itens = 1 + random.nextInt(5); j < itens; j++) {
+                Produto produto = produtos.get(primeiroProduto + random.nextInt(produtosPorRestaurante));
+                ItemPedido item = new ItemPedido();
+                item.setId(idItem++);
+                item.setPedido(pedido);
+                item.setProduto(produto);
+                item.setQuantidade(1 + random.nextInt(3));
+                item.setPrecoUnitario(produto.getPreco());
+                item.setSubtotal(produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade())));
+                pedido.getItens().add(item);
+                subtotal = subtotal.add(item.getSubtotal());
+            }
+            pedido.setSubtotal(subtotal);
+            pedido.setTaxaEntrega(restaurante.getTaxaEntrega());
+            pedido.setTotal(subtotal.add(restaurante.getTaxaEntrega()));
+            pedidos.add(pedido);
+        }
+        
+        return new DadosBenchmark(restaurantes, produtos, clientes, pedidos, faixas, ceps);
+    }
+    
+    // Completa o prefixo com dígitos aleatórios até os 8 do CEP (formato 00000-000)
+    private static String cep(String prefixo, Random random) {
+        StringBuilder digitos = new StringBuilder(prefixo);
+        while (digitos.length() < 8) {
+            digitos.append(random.nextInt(10));
+        }
+        return digitos.substring(0, 5) + "-" + digitos.substring(5, 8);
+    }
+}
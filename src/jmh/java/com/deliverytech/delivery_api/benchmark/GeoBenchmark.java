@@ -0,0 +1,78 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.geo.Coordenada;
+import com.deliverytech.delivery_api.geo.IndiceEspacial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de proximidade no índice espacial, com restaurantes espalhados pela Grande São Paulo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeoBenchmark {
+    
+    private static final double LATITUDE_MINIMA = -23.80;
+    private static final double LATITUDE_MAXIMA = -23.35;
+    private static final double LONGITUDE_MINIMA = -46.85;
+    private static final double LONGITUDE_MAXIMA = -46.35;
+    
+    @Param({"100000"})
+    int restaurantes;
+    
+    @Param({"0.05"})
+    double tamanhoCelulaGraus;
+    
+    private IndiceEspacial indice;
+    private Coordenada[] origens;
+    
+    // Cada thread percorre as origens na sua ordem, sem disputar um contador
+    @State(Scope.Thread)
+    public static class Cursor {
+        int proxima;
+    }
+    
+    @Setup
+    public void preparar() {
+        Random random = new Random(DadosBenchmark.SEMENTE);
+        indice = new IndiceEspacial(tamanhoCelulaGraus);
+        for (long id = 1; id <= restaurantes; id++) {
+            indice.atualizar(id, aleatoria(random));
+        }
+        origens = new Coordenada[1024];
+        for (int i = 0; i < origens.length; i++) {
+            origens[i] = aleatoria(random);
+        }
+    }
+    
+    @Benchmark
+    public List<IndiceEspacial.Vizinho> vinteMaisProximos(Cursor cursor) {
+        return indice.maisProximos(proxima(cursor), 20, 10);
+    }
+    
+    @Benchmark
+    public List<IndiceEspacial.Vizinho> raioDeDoisKm(Cursor cursor) {
+        return indice.noRaio(proxima(cursor), 2);
+    }
+    
+    private Coordenada proxima(Cursor cursor) {
+        return origens[cursor.proxima++ & (origens.length - 1)];
+    }
+    
+    private static Coordenada aleatoria(Random random) {
+        return new Coordenada(
+            LATITUDE_MINIMA + random.nextDouble() * (LATITUDE_MAXIMA - LATITUDE_MINIMA),
+            LONGITUDE_MINIMA + random.nextDouble() * (LONGITUDE_MAXIMA - LONGITUDE_MINIMA));
+    }
+}
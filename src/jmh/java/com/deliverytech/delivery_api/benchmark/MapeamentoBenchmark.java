@@ -0,0 +1,87 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.dto.ClienteDTO;
+import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.mapper.ClienteMapper;
+import com.deliverytech.delivery_api.model.Cliente;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões entidade/DTO. Os métodos *ModelMapper são a referência do mapeamento por reflexão
+ * que o ClienteMapper substituiu.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapeamentoBenchmark {
+    
+    private AmbienteBenchmark ambiente;
+    private final ClienteMapper clienteMapper = new ClienteMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private Cliente cliente;
+    private ClienteDTO clienteDTO;
+    private Long pedidoId;
+    private Long restauranteId;
+    
+    @Setup
+    public void preparar() {
+        ambiente = new AmbienteBenchmark(100, 50, 1000, 1000);
+        cliente = ambiente.dados.clientes().get(0);
+        clienteDTO = new ClienteDTO();
+        clienteDTO.setNome(cliente.getNome());
+        clienteDTO.setEmail(cliente.getEmail());
+        clienteDTO.setTelefone(cliente.getTelefone());
+        clienteDTO.setEndereco(cliente.getEndereco());
+        // Pedido com vários itens, para que o custo dos itens apareça na medição
+        pedidoId = ambiente.dados.pedidos().stream()
+            .filter(pedido -> pedido.getItens().size() >= 4)
+            .findFirst()
+            .orElseThrow()
+            .getId();
+        restauranteId = ambiente.dados.restaurantes().get(0).getId();
+        // Resolve os type maps fora da medição, como aconteceria depois do aquecimento em produção
+        modelMapper.map(cliente, ClienteResponseDTO.class);
+        modelMapper.map(clienteDTO, Cliente.class);
+    }
+    
+    @Benchmark
+    public PedidoResponseDTO pedidoParaResponseDTO() {
+        return ambiente.pedidoService.buscarPorId(pedidoId);
+    }
+    
+    @Benchmark
+    public RestauranteResponseDTO restauranteParaResponseDTO() {
+        return ambiente.restauranteService.buscarPorId(restauranteId);
+    }
+    
+    @Benchmark
+    public ClienteResponseDTO clienteParaResponseDTO() {
+        return clienteMapper.toResponseDTO(cliente);
+    }
+    
+    @Benchmark
+    public ClienteResponseDTO clienteParaResponseDTOModelMapper() {
+        return modelMapper.map(cliente, ClienteResponseDTO.class);
+    }
+    
+    @Benchmark
+    public Cliente clienteDTOParaEntidade() {
+        return clienteMapper.toEntity(clienteDTO);
+    }
+    
+    @Benchmark
+    public Cliente clienteDTOParaEntidadeModelMapper() {
+        return modelMapper.map(clienteDTO, Cliente.class);
+    }
+}
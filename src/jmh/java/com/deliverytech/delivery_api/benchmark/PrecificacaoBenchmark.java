@@ -0,0 +1,71 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.dto.CalcularPedidoDTO;
+import com.deliverytech.delivery_api.dto.CalcularPedidoResponseDTO;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PedidoService.calcular: validação dos produtos, soma dos itens e taxa de entrega por distância.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrecificacaoBenchmark {
+    
+    @Param({"1", "5", "20"})
+    int itens;
+    
+    private AmbienteBenchmark ambiente;
+    private CalcularPedidoDTO comCep;
+    private CalcularPedidoDTO semCep;
+    private Restaurante restaurante;
+    private String cep;
+    
+    @Setup
+    public void preparar() {
+        ambiente = new AmbienteBenchmark(100, 50, 0, 0);
+        Random random = new Random(DadosBenchmark.SEMENTE);
+        restaurante = ambiente.dados.restaurantes().get(random.nextInt(ambiente.dados.restaurantes().size()));
+        cep = ambiente.dados.ceps().get(random.nextInt(ambiente.dados.ceps().size()));
+        
+        List<CalcularPedidoDTO.ItemPedidoDTO> lista = new ArrayList<>();
+        List<Produto> produtos = ambiente.dados.produtos().stream()
+            .filter(produto -> produto.getRestaurante() == restaurante)
+            .toList();
+        for (int i = 0; i < itens; i++) {
+            lista.add(new CalcularPedidoDTO.ItemPedidoDTO(produtos.get(i % produtos.size()).getId(), 1 + random.nextInt(3)));
+        }
+        comCep = new CalcularPedidoDTO(restaurante.getId(), cep, lista);
+        semCep = new CalcularPedidoDTO(restaurante.getId(), null, lista);
+    }
+    
+    @Benchmark
+    public CalcularPedidoResponseDTO calcularComTaxaPorDistancia() {
+        return ambiente.pedidoService.calcular(comCep);
+    }
+    
+    @Benchmark
+    public CalcularPedidoResponseDTO calcularComTaxaFixa() {
+        return ambiente.pedidoService.calcular(semCep);
+    }
+    
+    @Benchmark
+    public BigDecimal taxaEntrega() {
+        return ambiente.taxaEntregaService.calcular(restaurante, cep);
+    }
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.dto.ApiResponse;
+import com.deliverytech.delivery_api.dto.PagedResponse;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson das respostas de pedidos, com a mesma configuração de datas do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializacaoBenchmark {
+    
+    @Param({"10", "100"})
+    int tamanhoPagina;
+    
+    private ObjectMapper objectMapper;
+    private PagedResponse<PedidoResponseDTO> pagina;
+    private ApiResponse<PedidoResponseDTO> resposta;
+    
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        
+        AmbienteBenchmark ambiente = new AmbienteBenchmark(100, 50, 1000, tamanhoPagina);
+        List<PedidoResponseDTO> pedidos = ambiente.dados.pedidos().stream()
+            .map(pedido -> ambiente.pedidoService.buscarPorId(pedido.getId()))
+            .toList();
+        pagina = new PagedResponse<>(pedidos,
+            new PagedResponse.PageInfo(0, tamanhoPagina, 1000L, 1000 / tamanhoPagina),
+            new PagedResponse.NavigationLinks(
+                "/api/pedidos?page=0&size=" + tamanhoPagina,
+                "/api/pedidos?page=" + (1000 / tamanhoPagina - 1) + "&size=" + tamanhoPagina,
+                "/api/pedidos?page=1&size=" + tamanhoPagina,
+                null));
+        resposta = ApiResponse.success(pedidos.get(0));
+    }
+    
+    @Benchmark
+    public byte[] paginaDePedidos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+    
+    @Benchmark
+    public byte[] apiResponseComPedido() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resposta);
+    }
+}
@@ -0,0 +1,109 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.RestauranteDTO;
+import com.deliverytech.delivery_api.validation.CEPValidator;
+import com.deliverytech.delivery_api.validation.CategoriaValidator;
+import com.deliverytech.delivery_api.validation.TelefoneValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validadores do pacote validation chamados diretamente e via Bean Validation nos DTOs de entrada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidacaoBenchmark {
+    
+    private final CEPValidator cepValidator = new CEPValidator();
+    private final TelefoneValidator telefoneValidator = new TelefoneValidator();
+    private final CategoriaValidator categoriaValidator = new CategoriaValidator();
+    
+    private ValidatorFactory factory;
+    private Validator validator;
+    private PedidoDTO pedidoValido;
+    private RestauranteDTO restauranteValido;
+    private RestauranteDTO restauranteInvalido;
+    
+    @Setup
+    public void preparar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        
+        pedidoValido = new PedidoDTO();
+        pedidoValido.setClienteId(1L);
+        pedidoValido.setRestauranteId(1L);
+        pedidoValido.setEnderecoEntrega("Rua das Flores, 123");
+        pedidoValido.setCepEntrega("01310-100");
+        pedidoValido.setItens(List.of(new PedidoDTO.ItemPedidoDTO(1L, 2), new PedidoDTO.ItemPedidoDTO(2L, 1)));
+        
+        restauranteValido = new RestauranteDTO();
+        restauranteValido.setNome("Pizza Express");
+        restauranteValido.setCategoria("Pizza");
+        restauranteValido.setEndereco("Rua das Flores, 123");
+        restauranteValido.setCep("01310-100");
+        restauranteValido.setTaxaEntrega(new BigDecimal("5.00"));
+        restauranteValido.setTempoEntrega("30-45 min");
+        restauranteValido.setAvaliacao(new BigDecimal("4.5"));
+        
+        restauranteInvalido = new RestauranteDTO();
+        restauranteInvalido.setNome("P");
+        restauranteInvalido.setCategoria("Pastel");
+        restauranteInvalido.setEndereco("Rua");
+        restauranteInvalido.setCep("123");
+        restauranteInvalido.setTaxaEntrega(new BigDecimal("-1"));
+        restauranteInvalido.setTempoEntrega("rápido");
+    }
+    
+    @TearDown
+    public void encerrar() {
+        factory.close();
+    }
+    
+    @Benchmark
+    public boolean cep() {
+        return cepValidator.isValid("01310-100", null);
+    }
+    
+    @Benchmark
+    public boolean telefone() {
+        return telefoneValidator.isValid("11999999999", null);
+    }
+    
+    @Benchmark
+    public boolean categoria() {
+        return categoriaValidator.isValid("Brasileira", null);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<PedidoDTO>> pedidoDTOValido() {
+        return validator.validate(pedidoValido);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<RestauranteDTO>> restauranteDTOValido() {
+        return validator.validate(restauranteValido);
+    }
+    
+    // Com violações entram a interpolação das mensagens e a montagem dos ConstraintViolation
+    @Benchmark
+    public Set<ConstraintViolation<RestauranteDTO>> restauranteDTOInvalido() {
+        return validator.validate(restauranteInvalido);
+    }
+}
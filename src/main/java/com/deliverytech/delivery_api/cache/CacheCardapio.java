@@ -0,0 +1,137 @@
+package com.deliverytech.delivery_api.cache;
+
+import com.deliverytech.delivery_api.dto.ApiResponse;
+import com.deliverytech.delivery_api.dto.EstatisticasCacheDTO;
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cardápios prontos por restaurante e filtro de disponibilidade: a lista de ProdutoResponseDTO e
+ * a resposta já serializada, com ETag derivado de um contador de versão por restaurante.
+ * Limitado pelo total de produtos em memória, com descarte W-TinyLFU. Após o commit de qualquer
+ * alteração de produto ou restaurante a versão avança e as entradas do restaurante são descartadas.
+ */
+@Component
+public class CacheCardapio {
+    
+    private final ObjectMapper objectMapper;
+    private final Cache<ChaveCardapio, Cardapio> cache;
+    private final Map<Long, Long> versoes = new ConcurrentHashMap<>();
+    // Distingue os ETags de execuções diferentes, já que as versões recomeçam do zero
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    
+    public CacheCardapio(ObjectMapper objectMapper,
+                         @Value("${delivery.cache.cardapio.peso-maximo:200000}") long pesoMaximo) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(pesoMaximo)
+            .weigher((ChaveCardapio chave, Cardapio cardapio) -> cardapio.produtos().size() + 1)
+            .recordStats()
+            .build();
+    }
+    
+    // Misses concorrentes para a mesma chave esperam uma única carga
+    public Cardapio obter(Long restauranteId, Boolean disponivel, Supplier<List<ProdutoResponseDTO>> carregar) {
+        // Dentro de uma transação de escrita a leitura pode enxergar alterações ainda não
+        // commitadas (e que podem sofrer rollback): nesse caso não passa pelo cache nem gera ETag
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return montar(null, carregar.get());
+        }
+        return cache.get(new ChaveCardapio(restauranteId, disponivel), chave -> {
+            // A versão é lida antes da carga: se um commit acontecer no meio, a versão avança
+            // depois dele e a entrada é descartada, nunca ficando um ETag novo com dados antigos
+            String etag = "\"" + epoca + "-" + restauranteId + "-" + versao(restauranteId) + "-" + filtro(disponivel) + "\"";
+            return montar(etag, carregar.get());
+        });
+    }
+    
+    public long versao(Long restauranteId) {
+        return versoes.getOrDefault(restauranteId, 0L);
+    }
+    
+    public void invalidar(Long restauranteId) {
+        versoes.merge(restauranteId, 1L, Long::sum);
+        cache.invalidateAll(List.of(
+            new ChaveCardapio(restauranteId, null),
+            new ChaveCardapio(restauranteId, true),
+            new ChaveCardapio(restauranteId, false)));
+    }
+    
+    public void limpar() {
+        cache.invalidateAll();
+    }
+    
+    @TransactionalEventListener
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        invalidar(evento.restauranteId());
+        if (evento.restauranteAnteriorId() != null && !Objects.equals(evento.restauranteAnteriorId(), evento.restauranteId())) {
+            invalidar(evento.restauranteAnteriorId());
+        }
+    }
+    
+    // O cardápio traz o nome do restaurante
+    @TransactionalEventListener
+    public void aoAlterarRestaurante(RestauranteAlteradoEvent evento) {
+        invalidar(evento.restauranteId());
+    }
+    
+    public EstatisticasCacheDTO estatisticas() {
+        // Descartes são processados de forma assíncrona; aplica os pendentes antes de medir
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return new EstatisticasCacheDTO(
+            cache.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.evictionCount(),
+            stats.hitRate());
+    }
+    
+    private Cardapio montar(String etag, List<ProdutoResponseDTO> produtos) {
+        List<ProdutoResponseDTO> lista = List.copyOf(produtos);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(lista));
+            return new Cardapio(etag, lista, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Não foi possível serializar o cardápio", e);
+        }
+    }
+    
+    private static byte[] gzip(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+    
+    private static String filtro(Boolean disponivel) {
+        return disponivel == null ? "todos" : disponivel ? "disponiveis" : "indisponiveis";
+    }
+    
+    private record ChaveCardapio(Long restauranteId, Boolean disponivel) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.cache;
+
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+
+import java.util.List;
+
+/**
+ * Cardápio de um restaurante já serializado (resposta completa em JSON, pura e em gzip).
+ * O ETag é nulo quando o cardápio foi montado fora do cache.
+ */
+public record Cardapio(String etag, List<ProdutoResponseDTO> produtos, byte[] json, byte[] gzip) {
+    
+    public static final String SUFIXO_GZIP = "-gz";
+    
+    // Cada codificação tem o seu ETag forte: "x" para JSON puro, "x-gz" para gzip
+    public String etag(boolean comGzip) {
+        if (etag == null || !comGzip) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + SUFIXO_GZIP + "\"";
+    }
+    
+    // If-None-Match usa comparação fraca e pode trazer uma lista de ETags ou "*"
+    public boolean correspondeA(String ifNoneMatch) {
+        if (etag == null || ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String tag = candidato.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag(false)) || tag.equals(etag(true))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings, seguro para uso concorrente. Responde "com certeza não contém"
+ * ou "talvez contenha"; nunca há falso negativo para um valor adicionado. Usa hashing duplo
+ * (h1 + i * h2) sobre um hash de 64 bits para derivar as k posições.
+ */
+public class FiltroBloom {
+    
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int numeroHashes;
+    private final long capacidade;
+    private final AtomicLong inseridos = new AtomicLong();
+    
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade < 1 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade ou taxa de falso positivo inválida");
+        }
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.min(Integer.MAX_VALUE - 8, (Math.max(m, 64) + 63) / 64);
+        this.bits = new AtomicLongArray(palavras);
+        this.totalBits = (long) palavras * 64;
+        this.numeroHashes = Math.max(1, (int) Math.round((double) totalBits / capacidade * Math.log(2)));
+        this.capacidade = capacidade;
+    }
+    
+    public void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean alterou = false;
+        for (int i = 0; i < numeroHashes; i++) {
+            long posicao = Integer.toUnsignedLong(h1 + i * h2) % totalBits;
+            int palavra = (int) (posicao >>> 6);
+            long mascara = 1L << posicao;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+                alterou = true;
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+        if (alterou) {
+            inseridos.incrementAndGet();
+        }
+    }
+    
+    public boolean podeConter(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numeroHashes; i++) {
+            long posicao = Integer.toUnsignedLong(h1 + i * h2) % totalBits;
+            if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Valores distintos adicionados (aproximado: um valor cujos bits já estavam todos ligados não conta)
+    public long getInseridos() {
+        return inseridos.get();
+    }
+    
+    public long getCapacidade() {
+        return capacidade;
+    }
+    
+    public int getNumeroHashes() {
+        return numeroHashes;
+    }
+    
+    // Probabilidade teórica de falso positivo com a ocupação atual: (1 - e^(-k*n/m))^k
+    public double taxaFalsoPositivoEstimada() {
+        double ocupacao = 1 - Math.exp(-(double) numeroHashes * inseridos.get() / totalBits);
+        return Math.pow(ocupacao, numeroHashes);
+    }
+    
+    // FNV-1a de 64 bits seguido do finalizador do SplitMix64 para espalhar os bits
+    private static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return hash;
+    }
+}
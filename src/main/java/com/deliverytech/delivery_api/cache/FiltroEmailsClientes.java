@@ -0,0 +1,115 @@
+package com.deliverytech.delivery_api.cache;
+
+import com.deliverytech.delivery_api.dto.EstatisticasFiltroBloomDTO;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom sobre clientes.email, usado para dispensar a consulta de unicidade quando
+ * o email com certeza ainda não existe. A constraint única do banco continua sendo a garantia
+ * final. Montado quando a aplicação sobe e atualizado a cada cadastro ou troca de email.
+ */
+@Component
+public class FiltroEmailsClientes {
+    
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+    
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final long capacidadeMinima;
+    
+    private volatile FiltroBloom filtro;
+    // Recebe também os emails adicionados enquanto um novo filtro está sendo montado
+    private volatile FiltroBloom emConstrucao;
+    private final AtomicBoolean reconstruindo = new AtomicBoolean();
+    
+    private final LongAdder negativos = new LongAdder();
+    private final LongAdder positivos = new LongAdder();
+    private final LongAdder falsosPositivos = new LongAdder();
+    
+    public FiltroEmailsClientes(ClienteRepository clienteRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${delivery.clientes.filtro-email.capacidade:1000000}") long capacidadeMinima) {
+        this.clienteRepository = clienteRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.capacidadeMinima = capacidadeMinima;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        if (!reconstruindo.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long total = clienteRepository.count();
+            FiltroBloom novo = new FiltroBloom(Math.max(capacidadeMinima, total * 2), TAXA_FALSO_POSITIVO);
+            emConstrucao = novo;
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<String> emails = clienteRepository.streamEmails()) {
+                    emails.forEach(novo::adicionar);
+                }
+            });
+            filtro = novo;
+        } finally {
+            emConstrucao = null;
+            reconstruindo.set(false);
+        }
+    }
+    
+    // false significa que o email com certeza não está cadastrado
+    public boolean podeExistir(String email) {
+        FiltroBloom atual = filtro;
+        if (atual == null || atual.podeConter(email)) {
+            positivos.increment();
+            return true;
+        }
+        negativos.increment();
+        return false;
+    }
+    
+    // Chamado quando podeExistir respondeu true mas o banco não tinha o email
+    public void registrarFalsoPositivo() {
+        falsosPositivos.increment();
+    }
+    
+    // Deve ser chamado antes do commit do novo email, para que nenhuma consulta posterior o perca
+    public void adicionar(String email) {
+        FiltroBloom atual = filtro;
+        if (atual != null) {
+            atual.adicionar(email);
+            // Acima da capacidade a taxa de falso positivo sobe rápido: remonta com o dobro
+            if (atual.getInseridos() > atual.getCapacidade() && !reconstruindo.get()) {
+                Thread.ofVirtual().name("filtro-emails-clientes").start(this::reconstruir);
+            }
+        }
+        FiltroBloom novo = emConstrucao;
+        if (novo != null) {
+            novo.adicionar(email);
+        }
+    }
+    
+    public EstatisticasFiltroBloomDTO estatisticas() {
+        FiltroBloom atual = filtro;
+        long fp = falsosPositivos.sum();
+        long verdadeirosNegativos = negativos.sum();
+        double taxaObservada = fp + verdadeirosNegativos == 0 ? 0.0 : (double) fp / (fp + verdadeirosNegativos);
+        return new EstatisticasFiltroBloomDTO(
+            atual != null ? atual.getInseridos() : 0L,
+            atual != null ? atual.getCapacidade() : 0L,
+            verdadeirosNegativos,
+            positivos.sum(),
+            fp,
+            taxaObservada,
+            atual != null ? atual.taxaFalsoPositivoEstimada() : 0.0);
+    }
+}
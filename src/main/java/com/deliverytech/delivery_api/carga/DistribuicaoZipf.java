@@ -0,0 +1,42 @@
+package com.deliverytech.delivery_api.carga;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sorteia posições de 1 a n com probabilidade proporcional a 1/posição^expoente: poucos itens
+ * concentram a maior parte dos sorteios, como restaurantes e produtos populares na vida real.
+ * A distribuição acumulada é calculada uma vez; cada sorteio é uma busca binária.
+ */
+public class DistribuicaoZipf {
+    
+    private final double[] acumulada;
+    
+    public DistribuicaoZipf(int n, double expoente) {
+        if (n < 1 || expoente < 0) {
+            throw new IllegalArgumentException("n deve ser positivo e o expoente não negativo");
+        }
+        acumulada = new double[n];
+        double soma = 0;
+        for (int i = 0; i < n; i++) {
+            soma += 1.0 / Math.pow(i + 1, expoente);
+            acumulada[i] = soma;
+        }
+        for (int i = 0; i < n; i++) {
+            acumulada[i] /= soma;
+        }
+    }
+    
+    // Posição sorteada, de 1 a n (1 é a mais provável)
+    public int sortear(RandomGenerator random) {
+        int indice = Arrays.binarySearch(acumulada, random.nextDouble());
+        if (indice < 0) {
+            indice = -indice - 1;
+        }
+        return Math.min(indice, acumulada.length - 1) + 1;
+    }
+    
+    public int tamanho() {
+        return acumulada.length;
+    }
+}
@@ -0,0 +1,282 @@
+package com.deliverytech.delivery_api.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Driver de carga em malha fechada contra a API em execução: cada conexão virtual espera a
+ * resposta antes de enviar a próxima requisição. Mistura criação de pedidos, navegação de
+ * cardápios (com If-None-Match) e relatórios, escolhendo clientes e restaurantes por Zipf como
+ * a massa do {@link GeradorMassaDados}, e imprime os percentis de latência por operação.
+ *
+ * <pre>
+ * java -cp ... com.deliverytech.delivery_api.carga.DriverCarga --url=http://localhost:8080 \
+ *     --conexoes=64 --duracao=60 --aquecimento=10 --clientes=100000 --restaurantes=5000
+ * </pre>
+ */
+public class DriverCarga {
+    
+    enum Operacao { CRIAR_PEDIDO, CARDAPIO, RELATORIO }
+    
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+    
+    private final Map<String, String> opcoes;
+    private final String url;
+    private final int conexoes;
+    private final long duracaoNanos;
+    private final long aquecimentoNanos;
+    private final DistribuicaoZipf zipfClientes;
+    private final DistribuicaoZipf zipfRestaurantes;
+    private final int[] pesosAcumulados;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Produtos disponíveis e ETag do último cardápio visto de cada restaurante
+    private final Map<Integer, CardapioConhecido> cardapios = new ConcurrentHashMap<>();
+    
+    record CardapioConhecido(String etag, long[] produtos) {}
+    
+    DriverCarga(Map<String, String> opcoes) {
+        this.opcoes = opcoes;
+        this.url = opcao("url", "http://localhost:8080");
+        this.conexoes = Integer.parseInt(opcao("conexoes", "32"));
+        this.duracaoNanos = Duration.ofSeconds(Long.parseLong(opcao("duracao", "60"))).toNanos();
+        this.aquecimentoNanos = Duration.ofSeconds(Long.parseLong(opcao("aquecimento", "10"))).toNanos();
+        double expoente = Double.parseDouble(opcao("expoente-zipf", "1.0"));
+        this.zipfClientes = new DistribuicaoZipf(Integer.parseInt(opcao("clientes", "10000")), expoente);
+        this.zipfRestaurantes = new DistribuicaoZipf(Integer.parseInt(opcao("restaurantes", "500")), expoente);
+        
+        int criar = Integer.parseInt(opcao("peso-criar", "25"));
+        int cardapio = Integer.parseInt(opcao("peso-cardapio", "65"));
+        int relatorio = Integer.parseInt(opcao("peso-relatorio", "10"));
+        this.pesosAcumulados = new int[] {criar, criar + cardapio, criar + cardapio + relatorio};
+        
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --nome=valor)");
+            }
+            opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new DriverCarga(opcoes).executar();
+    }
+    
+    void executar() throws Exception {
+        System.out.printf("Carga em %s: %d conexões, %d s de aquecimento + %d s de medição%n",
+            url, conexoes, Duration.ofNanos(aquecimentoNanos).toSeconds(), Duration.ofNanos(duracaoNanos).toSeconds());
+        
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimentoNanos;
+        long fim = inicioMedicao + duracaoNanos;
+        
+        List<Future<Resultados>> futuros = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < conexoes; i++) {
+                long semente = Long.parseLong(opcao("semente", "42")) + i;
+                futuros.add(executor.submit(() -> conexao(new SplittableRandom(semente), inicioMedicao, fim)));
+            }
+        }
+        
+        Resultados total = new Resultados();
+        for (Future<Resultados> futuro : futuros) {
+            total.somar(futuro.get());
+        }
+        total.imprimir(duracaoNanos);
+    }
+    
+    // Uma conexão em malha fechada; só registra o que terminar depois do aquecimento
+    private Resultados conexao(SplittableRandom random, long inicioMedicao, long fim) {
+        Resultados resultados = new Resultados();
+        while (System.nanoTime() < fim) {
+            Operacao operacao = sortearOperacao(random);
+            long antes = System.nanoTime();
+            int status;
+            try {
+                status = switch (operacao) {
+                    case CRIAR_PEDIDO -> criarPedido(random);
+                    case CARDAPIO -> consultarCardapio(zipfRestaurantes.sortear(random));
+                    case RELATORIO -> consultarRelatorio(random);
+                };
+            } catch (Exception e) {
+                status = -1;
+            }
+            long depois = System.nanoTime();
+            if (depois >= inicioMedicao && depois < fim) {
+                resultados.registrar(operacao, depois - antes, status);
+            }
+        }
+        return resultados;
+    }
+    
+    private Operacao sortearOperacao(SplittableRandom random) {
+        int sorteio = random.nextInt(pesosAcumulados[2]);
+        if (sorteio < pesosAcumulados[0]) {
+            return Operacao.CRIAR_PEDIDO;
+        }
+        return sorteio < pesosAcumulados[1] ? Operacao.CARDAPIO : Operacao.RELATORIO;
+    }
+    
+    private int criarPedido(SplittableRandom random) throws Exception {
+        int restauranteId = zipfRestaurantes.sortear(random);
+        CardapioConhecido cardapio = cardapios.get(restauranteId);
+        if (cardapio == null) {
+            // Primeiro pedido no restaurante: aprende o cardápio antes
+            consultarCardapio(restauranteId);
+            cardapio = cardapios.get(restauranteId);
+        }
+        if (cardapio == null || cardapio.produtos().length == 0) {
+            return -1;
+        }
+        
+        StringBuilder itens = new StringBuilder();
+        int quantidadeItens = 1 + random.nextInt(Math.min(3, cardapio.produtos().length));
+        for (int i = 0; i < quantidadeItens; i++) {
+            if (i > 0) {
+                itens.append(',');
+            }
+            itens.append("{\"produtoId\":").append(cardapio.produtos()[random.nextInt(cardapio.produtos().length)])
+                .append(",\"quantidade\":").append(1 + random.nextInt(3)).append('}');
+        }
+        String corpo = "{\"clienteId\":" + zipfClientes.sortear(random) + ",\"restauranteId\":" + restauranteId +
+            ",\"enderecoEntrega\":\"Rua da Carga, " + random.nextInt(1, 3000) + "\",\"itens\":[" + itens + "]}";
+        
+        HttpRequest requisicao = requisicao("/api/pedidos")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(corpo))
+            .build();
+        return http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+    
+    private int consultarCardapio(int restauranteId) throws Exception {
+        CardapioConhecido conhecido = cardapios.get(restauranteId);
+        HttpRequest.Builder builder = requisicao("/api/produtos/restaurantes/" + restauranteId + "/produtos");
+        if (conhecido != null && conhecido.etag() != null) {
+            builder.header("If-None-Match", conhecido.etag());
+        }
+        HttpResponse<byte[]> resposta = http.send(builder.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() == 200) {
+            cardapios.put(restauranteId, new CardapioConhecido(
+                resposta.headers().firstValue("ETag").orElse(null), produtosDisponiveis(resposta.body())));
+        }
+        return resposta.statusCode();
+    }
+    
+    private long[] produtosDisponiveis(byte[] corpo) throws Exception {
+        JsonNode produtos = objectMapper.readTree(corpo).path("data");
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode produto : produtos) {
+            if (produto.path("disponivel").asBoolean(false)) {
+                ids.add(produto.path("id").asLong());
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    private int consultarRelatorio(SplittableRandom random) throws Exception {
+        String caminho = random.nextBoolean()
+            ? "/api/relatorios/vendas-por-restaurante"
+            : "/api/relatorios/produtos-mais-vendidos?limite=10";
+        return http.send(requisicao(caminho).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+    
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create(url + caminho)).timeout(Duration.ofSeconds(30));
+    }
+    
+    private String opcao(String nome, String padrao) {
+        return opcoes.getOrDefault(nome, padrao);
+    }
+    
+    // Latências (em nanossegundos) e status por operação, acumulados sem sincronização por conexão
+    static class Resultados {
+        private final Map<Operacao, long[]> latencias = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, Integer> quantidades = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, Map<Integer, Integer>> erros = new EnumMap<>(Operacao.class);
+        
+        void registrar(Operacao operacao, long nanos, int status) {
+            long[] amostras = latencias.computeIfAbsent(operacao, o -> new long[1024]);
+            int quantidade = quantidades.getOrDefault(operacao, 0);
+            if (quantidade == amostras.length) {
+                amostras = Arrays.copyOf(amostras, amostras.length * 2);
+                latencias.put(operacao, amostras);
+            }
+            amostras[quantidade] = nanos;
+            quantidades.put(operacao, quantidade + 1);
+            // 304 é o caminho feliz do cardápio com ETag
+            if (status < 200 || status >= 400) {
+                erros.computeIfAbsent(operacao, o -> new TreeMap<>()).merge(status, 1, Integer::sum);
+            }
+        }
+        
+        void somar(Resultados outro) {
+            outro.quantidades.forEach((operacao, quantidade) -> {
+                long[] amostras = outro.latencias.get(operacao);
+                for (int i = 0; i < quantidade; i++) {
+                    registrar(operacao, amostras[i], 200);
+                }
+            });
+            outro.erros.forEach((operacao, porStatus) -> porStatus.forEach((status, quantidade) ->
+                erros.computeIfAbsent(operacao, o -> new TreeMap<>()).merge(status, quantidade, Integer::sum)));
+        }
+        
+        void imprimir(long duracaoNanos) {
+            double segundos = duracaoNanos / 1e9;
+            System.out.printf(Locale.ROOT, "%n%-14s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operacao", "total", "req/s", "erros", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Operacao operacao : Operacao.values()) {
+                int quantidade = quantidades.getOrDefault(operacao, 0);
+                if (quantidade == 0) {
+                    continue;
+                }
+                long[] ordenadas = Arrays.copyOf(latencias.get(operacao), quantidade);
+                Arrays.sort(ordenadas);
+                Map<Integer, Integer> porStatus = erros.getOrDefault(operacao, Map.of());
+                int totalErros = porStatus.values().stream().mapToInt(Integer::intValue).sum();
+                
+                StringBuilder linha = new StringBuilder(String.format(Locale.ROOT, "%-14s %9d %9.1f %7d",
+                    operacao.name().toLowerCase(), quantidade, quantidade / segundos, totalErros));
+                for (double percentil : PERCENTIS) {
+                    linha.append(String.format(Locale.ROOT, " %9.2f", percentil(ordenadas, percentil) / 1e6));
+                }
+                linha.append(String.format(Locale.ROOT, " %9.2f", ordenadas[quantidade - 1] / 1e6));
+                System.out.println(linha);
+                if (!porStatus.isEmpty()) {
+                    // -1 indica falha antes de haver resposta (conexão, timeout, cardápio vazio)
+                    System.out.println("    erros por status: " + porStatus);
+                }
+            }
+        }
+        
+        // Percentil pelo método nearest-rank
+        static long percentil(long[] ordenadas, double percentil) {
+            int posicao = (int) Math.ceil(percentil / 100 * ordenadas.length);
+            return ordenadas[Math.max(0, posicao - 1)];
+        }
+    }
+}
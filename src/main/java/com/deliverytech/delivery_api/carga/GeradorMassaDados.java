@@ -0,0 +1,300 @@
+package com.deliverytech.delivery_api.carga;
+
+import com.deliverytech.delivery_api.geo.GeocodificadorCep;
+import com.deliverytech.delivery_api.service.ResumoVendasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Popula o banco com uma massa grande e reproduzível (mesma semente, mesmos dados) para testes de
+ * carga. Os inserts vão direto por JDBC em batch, sem passar pelo JPA; a popularidade de
+ * clientes, restaurantes e produtos segue uma distribuição de Zipf. Roda antes dos índices em
+ * memória serem montados (CommandLineRunner executa antes do ApplicationReadyEvent) e só se o
+ * banco estiver vazio.
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.carga.habilitada", havingValue = "true")
+public class GeradorMassaDados implements CommandLineRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GeradorMassaDados.class);
+    
+    // Mesmo allocationSize dos @SequenceGenerator de Pedido e ItemPedido
+    private static final int TAMANHO_ALOCACAO_SEQUENCIA = 50;
+    
+    private static final String[] CATEGORIAS = {
+        "Pizza", "Hambúrguer", "Japonesa", "Chinesa", "Brasileira",
+        "Italiana", "Mexicana", "Árabe", "Doces", "Bebidas"
+    };
+    
+    private static final String[] PALAVRAS = {
+        "Pizza", "Calabresa", "Margherita", "Frango", "Catupiry", "Hambúrguer", "Bacon", "Cheddar",
+        "Sushi", "Salmão", "Temaki", "Yakisoba", "Feijoada", "Picanha", "Lasanha", "Bolonhesa",
+        "Burrito", "Taco", "Esfiha", "Kibe", "Brigadeiro", "Pudim", "Açaí", "Suco", "Refrigerante",
+        "Especial", "Tradicional", "Grande", "Média", "Individual", "Vegano", "Picante"
+    };
+    
+    private static final String[] STATUS = {"PENDENTE", "CONFIRMADO", "PREPARANDO", "SAIU_PARA_ENTREGA", "ENTREGUE", "CANCELADO"};
+    // Pesos acumulados dos status acima: a maior parte do histórico já foi entregue
+    private static final int[] PESOS_STATUS = {2, 4, 6, 8, 95, 100};
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final GeocodificadorCep geocodificador;
+    private final ResumoVendasService resumoVendasService;
+    private final int clientes;
+    private final int restaurantes;
+    private final int produtos;
+    private final int pedidos;
+    private final int tamanhoLote;
+    private final long semente;
+    private final double expoenteZipf;
+    private final int dias;
+    
+    public GeradorMassaDados(JdbcTemplate jdbcTemplate,
+                             GeocodificadorCep geocodificador,
+                             ResumoVendasService resumoVendasService,
+                             @Value("${delivery.carga.clientes:10000}") int clientes,
+                             @Value("${delivery.carga.restaurantes:500}") int restaurantes,
+                             @Value("${delivery.carga.produtos:20000}") int produtos,
+                             @Value("${delivery.carga.pedidos:100000}") int pedidos,
+                             @Value("${delivery.carga.tamanho-lote:5000}") int tamanhoLote,
+                             @Value("${delivery.carga.semente:42}") long semente,
+                             @Value("${delivery.carga.expoente-zipf:1.0}") double expoenteZipf,
+                             @Value("${delivery.carga.dias:365}") int dias) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.geocodificador = geocodificador;
+        this.resumoVendasService = resumoVendasService;
+        this.clientes = clientes;
+        this.restaurantes = restaurantes;
+        this.produtos = Math.max(produtos, restaurantes);
+        this.pedidos = pedidos;
+        this.tamanhoLote = tamanhoLote;
+        this.semente = semente;
+        this.expoenteZipf = expoenteZipf;
+        this.dias = dias;
+    }
+    
+    @Override
+    public void run(String... args) {
+        Long existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes", Long.class);
+        if (existentes != null && existentes > 0) {
+            logger.info("Banco já possui {} clientes; geração de massa ignorada", existentes);
+            return;
+        }
+        
+        logger.info("Gerando massa: {} clientes, {} restaurantes, {} produtos, {} pedidos (semente {})",
+            clientes, restaurantes, produtos, pedidos, semente);
+        long inicio = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(semente);
+        // Ordenados para que a massa não dependa da ordem de iteração do mapa de prefixos
+        List<String> prefixos = geocodificador.getPrefixos().keySet().stream().sorted().toList();
+        
+        int[] taxasEntrega = inserirRestaurantes(random, prefixos);
+        int[] precos = inserirProdutos(random);
+        inserirClientes(random, prefixos);
+        inserirPedidos(random, taxasEntrega, precos);
+        reiniciarGeradoresDeId();
+        resumoVendasService.reconstruir();
+        
+        logger.info("Massa gerada em {} s", (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+    
+    // Devolve a taxa de entrega de cada restaurante (em centavos), usada no total dos pedidos
+    private int[] inserirRestaurantes(SplittableRandom random, List<String> prefixos) {
+        int[] taxas = new int[restaurantes + 1];
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        Lote lote = new Lote("restaurantes",
+            "INSERT INTO restaurantes (id, nome, categoria, endereco, cep, taxa_entrega, tempo_entrega, avaliacao, ativo, data_cadastro) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int id = 1; id <= restaurantes; id++) {
+            String categoria = CATEGORIAS[random.nextInt(CATEGORIAS.length)];
+            taxas[id] = 300 + random.nextInt(900);
+            int tempoMinimo = 20 + 5 * random.nextInt(6);
+            lote.adicionar(id, categoria + " " + palavra(random) + " " + id, categoria, endereco(random), cep(random, prefixos),
+                centavos(taxas[id]), tempoMinimo + "-" + (tempoMinimo + 15) + " min",
+                BigDecimal.valueOf(30 + random.nextInt(21), 1), random.nextInt(100) < 95, agora);
+        }
+        lote.concluir();
+        return taxas;
+    }
+    
+    // Produtos ficam em faixas contíguas de IDs por restaurante; devolve o preço (em centavos) de cada um
+    private int[] inserirProdutos(SplittableRandom random) {
+        int[] precos = new int[produtos + 1];
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        Lote lote = new Lote("produtos",
+            "INSERT INTO produtos (id, nome, descricao, preco, categoria, disponivel, restaurante_id, data_cadastro) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int id = 1; id <= produtos; id++) {
+            precos[id] = 500 + random.nextInt(9500);
+            lote.adicionar(id, palavra(random) + " " + palavra(random), "Com " + palavra(random) + " e " + palavra(random),
+                centavos(precos[id]), CATEGORIAS[random.nextInt(CATEGORIAS.length)], random.nextInt(100) < 90,
+                restauranteDoProduto(id), agora);
+        }
+        lote.concluir();
+        return precos;
+    }
+    
+    private void inserirClientes(SplittableRandom random, List<String> prefixos) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        Lote lote = new Lote("clientes",
+            "INSERT INTO clientes (id, nome, email, telefone, endereco, cep, ativo, data_cadastro) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int id = 1; id <= clientes; id++) {
+            lote.adicionar(id, "Cliente " + id, "cliente" + id + "@exemplo.com",
+                String.format("119%08d", random.nextInt(100_000_000)), endereco(random), cep(random, prefixos),
+                random.nextInt(100) < 95, agora);
+        }
+        lote.concluir();
+    }
+    
+    private void inserirPedidos(SplittableRandom random, int[] taxasEntrega, int[] precos) {
+        DistribuicaoZipf zipfClientes = new DistribuicaoZipf(clientes, expoenteZipf);
+        DistribuicaoZipf zipfRestaurantes = new DistribuicaoZipf(restaurantes, expoenteZipf);
+        DistribuicaoZipf zipfProdutos = new DistribuicaoZipf(produtos / restaurantes, expoenteZipf);
+        LocalDateTime inicioHistorico = LocalDate.now().minusDays(dias).atStartOfDay();
+        long segundosHistorico = dias * 86_400L;
+        
+        Lote lotePedidos = new Lote("pedidos",
+            "INSERT INTO pedidos (id, cliente_id, restaurante_id, endereco_entrega, status, subtotal, taxa_entrega, total, " +
+            "data_criacao, data_atualizacao, versao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        Lote loteItens = new Lote("itens_pedido",
+            "INSERT INTO itens_pedido (id, pedido_id, produto_id, quantidade, preco_unitario, subtotal) VALUES (?, ?, ?, ?, ?, ?)");
+        lotePedidos.seguidoPor(loteItens);
+        
+        long itemId = 1;
+        for (int id = 1; id <= pedidos; id++) {
+            int restauranteId = zipfRestaurantes.sortear(random);
+            int primeiroProduto = (restauranteId - 1) * (produtos / restaurantes);
+            int itens = 1 + random.nextInt(4);
+            
+            long subtotal = 0;
+            List<Object[]> linhasItens = new ArrayList<>(itens);
+            for (int i = 0; i < itens; i++) {
+                int produtoId = primeiroProduto + zipfProdutos.sortear(random);
+                int quantidade = 1 + random.nextInt(3);
+                long subtotalItem = (long) precos[produtoId] * quantidade;
+                subtotal += subtotalItem;
+                linhasItens.add(new Object[] {itemId++, id, produtoId, quantidade, centavos(precos[produtoId]), centavos(subtotalItem)});
+            }
+            
+            LocalDateTime criacao = inicioHistorico.plusSeconds(random.nextLong(segundosHistorico));
+            String status = status(random);
+            Timestamp atualizacao = "PENDENTE".equals(status) ? null : Timestamp.valueOf(criacao.plusMinutes(10 + random.nextInt(80)));
+            lotePedidos.adicionar(id, zipfClientes.sortear(random), restauranteId, endereco(random), status,
+                centavos(subtotal), centavos(taxasEntrega[restauranteId]), centavos(subtotal + taxasEntrega[restauranteId]),
+                Timestamp.valueOf(criacao), atualizacao);
+            linhasItens.forEach(loteItens::adicionar);
+        }
+        lotePedidos.concluir();
+    }
+    
+    // Os IDs foram gravados explicitamente: os geradores precisam continuar depois do maior ID
+    private void reiniciarGeradoresDeId() {
+        jdbcTemplate.execute("ALTER TABLE clientes ALTER COLUMN id RESTART WITH " + (clientes + 1));
+        jdbcTemplate.execute("ALTER TABLE restaurantes ALTER COLUMN id RESTART WITH " + (restaurantes + 1));
+        jdbcTemplate.execute("ALTER TABLE produtos ALTER COLUMN id RESTART WITH " + (produtos + 1));
+        // Com o otimizador pooled o Hibernate usa os IDs (valor - alocação + 1) até o valor lido
+        Long itens = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM itens_pedido", Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE pedidos_seq RESTART WITH " + (pedidos + TAMANHO_ALOCACAO_SEQUENCIA));
+        jdbcTemplate.execute("ALTER SEQUENCE itens_pedido_seq RESTART WITH " + (itens + TAMANHO_ALOCACAO_SEQUENCIA));
+    }
+    
+    private int restauranteDoProduto(int produtoId) {
+        return Math.min(restaurantes, (produtoId - 1) / (produtos / restaurantes) + 1);
+    }
+    
+    private static String status(SplittableRandom random) {
+        int sorteio = random.nextInt(100);
+        for (int i = 0; i < PESOS_STATUS.length; i++) {
+            if (sorteio < PESOS_STATUS[i]) {
+                return STATUS[i];
+            }
+        }
+        return STATUS[STATUS.length - 1];
+    }
+    
+    private static String palavra(SplittableRandom random) {
+        return PALAVRAS[random.nextInt(PALAVRAS.length)];
+    }
+    
+    private static String endereco(SplittableRandom random) {
+        return "Rua " + palavra(random) + ", " + (1 + random.nextInt(3000));
+    }
+    
+    // CEP atendido pela tabela de geocodificação: prefixo conhecido completado com dígitos aleatórios
+    private static String cep(SplittableRandom random, List<String> prefixos) {
+        StringBuilder digitos = new StringBuilder(prefixos.get(random.nextInt(prefixos.size())));
+        while (digitos.length() < 8) {
+            digitos.append(random.nextInt(10));
+        }
+        return digitos.substring(0, 5) + "-" + digitos.substring(5, 8);
+    }
+    
+    private static BigDecimal centavos(long valor) {
+        return BigDecimal.valueOf(valor, 2);
+    }
+    
+    // Acumula linhas e as envia em batch JDBC a cada tamanhoLote, cada envio em sua própria transação
+    private class Lote {
+        private final String tabela;
+        private final String sql;
+        private final List<Object[]> linhas = new ArrayList<>(tamanhoLote);
+        private Lote seguinte;
+        private boolean acompanhaAnterior;
+        private long total;
+        private long proximoRegistro = 1_000_000;
+        
+        Lote(String tabela, String sql) {
+            this.tabela = tabela;
+            this.sql = sql;
+        }
+        
+        // O lote seguinte (chave estrangeira para este) é enviado logo depois deste, nunca sozinho
+        void seguidoPor(Lote seguinte) {
+            this.seguinte = seguinte;
+            seguinte.acompanhaAnterior = true;
+        }
+        
+        void adicionar(Object... linha) {
+            linhas.add(linha);
+            if (linhas.size() >= tamanhoLote && !acompanhaAnterior) {
+                enviar();
+            }
+        }
+        
+        void concluir() {
+            enviar();
+            logger.info("{}: {} linhas inseridas", tabela, total);
+            if (seguinte != null) {
+                logger.info("{}: {} linhas inseridas", seguinte.tabela, seguinte.total);
+            }
+        }
+        
+        private void enviar() {
+            if (!linhas.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, linhas);
+                total += linhas.size();
+                linhas.clear();
+                if (total >= proximoRegistro) {
+                    logger.info("{}: {} linhas", tabela, total);
+                    proximoRegistro += 1_000_000;
+                }
+            }
+            if (seguinte != null) {
+                seguinte.enviar();
+            }
+        }
+    }
+}
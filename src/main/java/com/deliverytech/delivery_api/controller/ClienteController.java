@@ -2,19 +2,29 @@ package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.ClienteDTO;
 import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
+import com.deliverytech.delivery_api.dto.CursorCliente;
+import com.deliverytech.delivery_api.dto.PagedResponse;
 import com.deliverytech.delivery_api.service.ClienteService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/clientes")
 public class ClienteController {
 
+	private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
 	private final ClienteService clienteService;
 
 	public ClienteController(ClienteService clienteService) {
@@ -35,10 +45,47 @@ public class ClienteController {
 		return ResponseEntity.ok(response);
 	}
 
+	// Paginação por número de página; com o parâmetro cursor (vazio na primeira página) usa keyset por id, sem COUNT
 	@GetMapping
-	public ResponseEntity<List<ClienteResponseDTO>> listarAtivos() {
-		List<ClienteResponseDTO> response = clienteService.listarClientesAtivos();
-		return ResponseEntity.ok(response);
+	public ResponseEntity<PagedResponse<ClienteResponseDTO>> listar(
+			@RequestParam(defaultValue = "true") boolean apenasAtivos,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) String cursor) {
+		int tamanho = Math.min(Math.max(size, 1), TAMANHO_MAXIMO_PAGINA);
+		if (cursor != null) {
+			return ResponseEntity.ok(listarPorCursor(apenasAtivos, cursor, tamanho));
+		}
+
+		Page<ClienteResponseDTO> clientes = clienteService.listar(apenasAtivos,
+			PageRequest.of(Math.max(page, 0), tamanho, Sort.by("id")));
+
+		PagedResponse.PageInfo pageInfo = new PagedResponse.PageInfo(
+			clientes.getNumber(),
+			clientes.getSize(),
+			clientes.getTotalElements(),
+			clientes.getTotalPages()
+		);
+
+		String baseUrl = "/api/clientes?apenasAtivos=" + apenasAtivos + "&size=" + tamanho + "&page=";
+		PagedResponse.NavigationLinks links = new PagedResponse.NavigationLinks(
+			baseUrl + 0,
+			baseUrl + Math.max(clientes.getTotalPages() - 1, 0),
+			clientes.hasNext() ? baseUrl + (clientes.getNumber() + 1) : null,
+			clientes.hasPrevious() ? baseUrl + (clientes.getNumber() - 1) : null
+		);
+
+		return ResponseEntity.ok(new PagedResponse<>(clientes.getContent(), pageInfo, links));
+	}
+
+	// Exportação completa como array JSON, escrita em streaming
+	@GetMapping("/exportar")
+	public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "false") boolean apenasAtivos) {
+		StreamingResponseBody corpo = saida -> clienteService.exportar(apenasAtivos, saida);
+		return ResponseEntity.ok()
+			.contentType(MediaType.APPLICATION_JSON)
+			.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clientes.json\"")
+			.body(corpo);
 	}
 
 	@PutMapping("/{id}")
@@ -58,6 +105,21 @@ public class ClienteController {
 		ClienteResponseDTO response = clienteService.buscarClientePorEmail(email);
 		return ResponseEntity.ok(response);
 	}
-}
 
+	private PagedResponse<ClienteResponseDTO> listarPorCursor(boolean apenasAtivos, String cursor, int size) {
+		CursorCliente posicao = cursor.isBlank() ? null : CursorCliente.decodificar(cursor);
+		Slice<ClienteResponseDTO> clientes = clienteService.listarPorCursor(apenasAtivos, posicao, size);
+
+		PagedResponse.PageInfo pageInfo = new PagedResponse.PageInfo(null, size, null, null);
 
+		String baseUrl = "/api/clientes?apenasAtivos=" + apenasAtivos + "&size=" + size + "&cursor=";
+		String next = null;
+		if (clientes.hasNext()) {
+			ClienteResponseDTO ultimo = clientes.getContent().get(clientes.getNumberOfElements() - 1);
+			next = baseUrl + new CursorCliente(ultimo.getId()).codificar();
+		}
+
+		PagedResponse.NavigationLinks links = new PagedResponse.NavigationLinks(baseUrl, null, next, null);
+		return new PagedResponse<>(clientes.getContent(), pageInfo, links);
+	}
+}
@@ -1,12 +1,28 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.cache.CacheCardapio;
+import com.deliverytech.delivery_api.cache.FiltroEmailsClientes;
+import com.deliverytech.delivery_api.dto.DesempenhoDTO;
+import com.deliverytech.delivery_api.dto.RelatorioSqlDTO;
+import com.deliverytech.delivery_api.metricas.CapturaConsultas;
+import com.deliverytech.delivery_api.metricas.RegistroMetricas;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
+@RequiredArgsConstructor
 public class HealthController {
+    
+    private final CacheCardapio cacheCardapio;
+    private final FiltroEmailsClientes filtroEmailsClientes;
+    private final RegistroMetricas registroMetricas;
+    private final CapturaConsultas capturaConsultas;
 
     @GetMapping("/health")
     public Map<String, String> health() {
@@ -18,6 +34,37 @@ public class HealthController {
         );
     }
 
+    @GetMapping("/health/cache")
+    public Map<String, Object> cache() {
+        return Map.of(
+            "cardapio", cacheCardapio.estatisticas(),
+            "emailsClientes", filtroEmailsClientes.estatisticas()
+        );
+    }
+
+    @GetMapping("/health/perf")
+    public DesempenhoDTO perf() {
+        return registroMetricas.desempenho();
+    }
+
+    @GetMapping("/health/sql")
+    public RelatorioSqlDTO sql(@RequestParam(required = false) Integer limite) {
+        return capturaConsultas.relatorio(limite);
+    }
+
+    // Zera as estatísticas, por exemplo entre o aquecimento e a medição de um teste de carga
+    @DeleteMapping("/health/sql")
+    public ResponseEntity<Void> limparSql() {
+        capturaConsultas.limpar();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Formato texto do Prometheus (scrape)
+    @GetMapping(value = "/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public String metrics() {
+        return registroMetricas.prometheus();
+    }
+
     @GetMapping("/info")
     public AppInfo info() {
         return new AppInfo(
@@ -3,10 +3,18 @@ package com.deliverytech.delivery_api.controller;
 import com.deliverytech.delivery_api.dto.ApiResponse;
 import com.deliverytech.delivery_api.dto.CalcularPedidoDTO;
 import com.deliverytech.delivery_api.dto.CalcularPedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.CursorPedido;
 import com.deliverytech.delivery_api.dto.PagedResponse;
 import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoLoteDTO;
 import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.ResultadoLoteDTO;
+import com.deliverytech.delivery_api.dto.StatusPedidoEventoDTO;
+import com.deliverytech.delivery_api.exception.ValidationException;
 import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.service.IdempotenciaPedidoService;
+import com.deliverytech.delivery_api.service.NotificacaoPedidoService;
+import com.deliverytech.delivery_api.service.PedidoLoteService;
 import com.deliverytech.delivery_api.service.PedidoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,10 +27,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
 import java.util.List;
@@ -34,25 +45,54 @@ import java.util.List;
 public class PedidoController {
     
     private final PedidoService service;
+    private final IdempotenciaPedidoService idempotenciaService;
+    private final PedidoLoteService loteService;
+    private final NotificacaoPedidoService notificacaoService;
     
     @PostMapping
-    @Operation(summary = "Criar pedido", description = "Cria um novo pedido no sistema")
+    @Operation(summary = "Criar pedido", description = "Cria um novo pedido no sistema. Com o header Idempotency-Key, " +
+        "repetições da mesma requisição devolvem o pedido original (header Idempotent-Replayed: true) em vez de criar outro")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Pedido criado com sucesso",
             content = @Content(schema = @Schema(implementation = PedidoResponseDTO.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dados inválidos"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Cliente, restaurante ou produto não encontrado"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Erro de negócio (restaurante inativo, produto indisponível, etc)")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Erro de negócio (restaurante inativo, produto indisponível, etc) ou Idempotency-Key já usada com outro pedido")
     })
     public ResponseEntity<ApiResponse<PedidoResponseDTO>> criar(
-            @Valid @RequestBody PedidoDTO dto) {
-        PedidoResponseDTO response = service.criar(dto);
+            @Valid @RequestBody PedidoDTO dto,
+            @Parameter(description = "Chave única por tentativa lógica de pedido (até 100 caracteres)", example = "3f1c2a9e-7b7d-4c55-9a41-0d7f1f6e2b10")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        PedidoResponseDTO response;
+        boolean repetido = false;
+        if (idempotencyKey != null) {
+            IdempotenciaPedidoService.Resultado resultado =
+                idempotenciaService.executar(idempotencyKey, dto, () -> service.criar(dto));
+            response = resultado.pedido();
+            repetido = resultado.repetido();
+        } else {
+            response = service.criar(dto);
+        }
         return ResponseEntity
             .status(HttpStatus.CREATED)
             .location(URI.create("/api/pedidos/" + response.getId()))
+            .header("Idempotent-Replayed", String.valueOf(repetido))
             .body(ApiResponse.success(response, "Pedido criado com sucesso"));
     }
     
+    @PostMapping("/lote")
+    @Operation(summary = "Criar pedidos em lote", description = "Cria até 1000 pedidos em uma única requisição. " +
+        "Cada pedido é validado e gravado de forma independente; o resultado informa, na ordem do lote, o ID criado ou o erro de cada um")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lote processado (pode conter falhas individuais)",
+            content = @Content(schema = @Schema(implementation = ResultadoLoteDTO.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Lote vazio ou com mais de 1000 pedidos")
+    })
+    public ResponseEntity<ApiResponse<ResultadoLoteDTO>> criarEmLote(@Valid @RequestBody PedidoLoteDTO dto) {
+        ResultadoLoteDTO response = loteService.criar(dto.getPedidos());
+        return ResponseEntity.ok(ApiResponse.success(response, "Lote processado"));
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pedido por ID", description = "Retorna um pedido específico pelo ID com todos os detalhes")
     @ApiResponses({
@@ -68,7 +108,8 @@ public class PedidoController {
     }
     
     @GetMapping
-    @Operation(summary = "Listar pedidos", description = "Lista pedidos com filtros opcionais e paginação")
+    @Operation(summary = "Listar pedidos", description = "Lista pedidos com filtros opcionais e paginação. " +
+        "Com o parâmetro cursor (vazio na primeira página) usa paginação por cursor, mais recentes primeiro, sem contagem total")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de pedidos retornada com sucesso")
     })
@@ -82,7 +123,13 @@ public class PedidoController {
             @Parameter(description = "Campo para ordenação", example = "dataCriacao")
             @RequestParam(defaultValue = "dataCriacao") String sortBy,
             @Parameter(description = "Direção da ordenação", example = "DESC")
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @Parameter(description = "Cursor opaco retornado em links.next (vazio para a primeira página)")
+            @RequestParam(required = false) String cursor) {
+        
+        if (cursor != null) {
+            return ResponseEntity.ok(listarPorCursor(status, cursor, size));
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("DESC") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -169,6 +216,54 @@ public class PedidoController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar status do pedido", description = "Stream SSE com as mudanças de status do pedido (evento status). " +
+        "Ao reconectar, o header Last-Event-ID reenvia os eventos perdidos; se o histórico não os cobre mais, chega o evento resincronizar")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stream de eventos aberto",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = StatusPedidoEventoDTO.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    public SseEmitter acompanharPedido(
+            @Parameter(description = "ID do pedido", example = "1", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "ID do último evento recebido", example = "42")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return notificacaoService.acompanharPedido(id, ultimoEventoId(ultimoEventoId));
+    }
+    
+    @GetMapping(value = "/restaurantes/{restauranteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar pedidos do restaurante", description = "Stream SSE com as mudanças de status dos pedidos de um restaurante, " +
+        "com retomada pelo header Last-Event-ID")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stream de eventos aberto",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = StatusPedidoEventoDTO.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+    })
+    public SseEmitter acompanharRestaurante(
+            @Parameter(description = "ID do restaurante", example = "1", required = true)
+            @PathVariable Long restauranteId,
+            @Parameter(description = "ID do último evento recebido", example = "42")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return notificacaoService.acompanharRestaurante(restauranteId, ultimoEventoId(ultimoEventoId));
+    }
+    
+    @GetMapping(value = "/clientes/{clienteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar pedidos do cliente", description = "Stream SSE com as mudanças de status dos pedidos de um cliente, " +
+        "com retomada pelo header Last-Event-ID")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stream de eventos aberto",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = StatusPedidoEventoDTO.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Cliente não encontrado")
+    })
+    public SseEmitter acompanharCliente(
+            @Parameter(description = "ID do cliente", example = "1", required = true)
+            @PathVariable Long clienteId,
+            @Parameter(description = "ID do último evento recebido", example = "42")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return notificacaoService.acompanharCliente(clienteId, ultimoEventoId(ultimoEventoId));
+    }
+    
     @PostMapping("/calcular")
     @Operation(summary = "Calcular total do pedido", description = "Calcula o total de um pedido sem salvá-lo no sistema")
     @ApiResponses({
@@ -182,5 +277,32 @@ public class PedidoController {
         CalcularPedidoResponseDTO response = service.calcular(dto);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    private PagedResponse<PedidoResponseDTO> listarPorCursor(Pedido.StatusPedido status, String cursor, int size) {
+        CursorPedido posicao = cursor.isBlank() ? null : CursorPedido.decodificar(cursor);
+        Slice<PedidoResponseDTO> pedidos = service.listarPorCursor(status, posicao, size);
+        
+        PagedResponse.PageInfo pageInfo = new PagedResponse.PageInfo(null, size, null, null);
+        
+        String baseUrl = "/api/pedidos?status=" + (status != null ? status : "") + "&size=" + size + "&cursor=";
+        String next = null;
+        if (pedidos.hasNext()) {
+            PedidoResponseDTO ultimo = pedidos.getContent().get(pedidos.getNumberOfElements() - 1);
+            next = baseUrl + new CursorPedido(ultimo.getDataCriacao(), ultimo.getId()).codificar();
+        }
+        
+        PagedResponse.NavigationLinks links = new PagedResponse.NavigationLinks(baseUrl, null, next, null);
+        return new PagedResponse<>(pedidos.getContent(), pageInfo, links);
+    }
+    
+    private static Long ultimoEventoId(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Last-Event-ID inválido: " + valor, e);
+        }
+    }
 }
-
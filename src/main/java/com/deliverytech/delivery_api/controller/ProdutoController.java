@@ -1,8 +1,10 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.cache.Cardapio;
 import com.deliverytech.delivery_api.dto.ApiResponse;
 import com.deliverytech.delivery_api.dto.ProdutoDTO;
 import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.dto.SugestaoDTO;
 import com.deliverytech.delivery_api.service.ProdutoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,7 +14,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -101,17 +105,38 @@ public class ProdutoController {
     }
     
     @GetMapping("/restaurantes/{restauranteId}/produtos")
-    @Operation(summary = "Buscar produtos de um restaurante", description = "Retorna todos os produtos de um restaurante específico")
+    @Operation(summary = "Buscar produtos de um restaurante", description = "Retorna todos os produtos de um restaurante específico. A resposta é pré-serializada (e comprimida com gzip quando aceito) e traz um ETag; com If-None-Match correspondente, responde 304 sem corpo")
     @ApiResponses({
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Cardápio não mudou desde o ETag informado")
     })
-    public ResponseEntity<ApiResponse<List<ProdutoResponseDTO>>> buscarPorRestaurante(
+    public ResponseEntity<byte[]> buscarPorRestaurante(
             @Parameter(description = "ID do restaurante", example = "1", required = true)
             @PathVariable Long restauranteId,
             @Parameter(description = "Filtrar por disponibilidade", example = "true")
-            @RequestParam(required = false) Boolean disponivel) {
-        List<ProdutoResponseDTO> response = service.buscarPorRestaurante(restauranteId, disponivel);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(required = false) Boolean disponivel,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Cardapio cardapio = service.cardapio(restauranteId, disponivel);
+        boolean comGzip = aceitaGzip(acceptEncoding);
+        
+        if (cardapio.correspondeA(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(cardapio.etag(comGzip))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+        
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cardapio.etag() != null) {
+            resposta.eTag(cardapio.etag(comGzip));
+        }
+        if (comGzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cardapio.gzip());
+        }
+        return resposta.body(cardapio.json());
     }
     
     @GetMapping("/categoria/{categoria}")
@@ -126,16 +151,60 @@ public class ProdutoController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocompletar produtos", description = "Sugere produtos disponíveis cujo nome tem uma palavra começando pelo prefixo, ordenados por popularidade")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso")
+    })
+    public ResponseEntity<ApiResponse<List<SugestaoDTO>>> autocompletar(
+            @Parameter(description = "Prefixo digitado", example = "piz", required = true)
+            @RequestParam String prefixo,
+            @Parameter(description = "Quantidade máxima de sugestões (padrão e máximo 10)", example = "5")
+            @RequestParam(required = false) Integer limite) {
+        List<SugestaoDTO> response = service.autocompletar(prefixo, limite);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar produtos por nome", description = "Busca produtos pelo nome (busca parcial)")
+    @Operation(summary = "Buscar produtos por texto", description = "Busca textual em nome, descrição e categoria (sem acentos, por prefixo de palavra), com resultados ordenados por relevância")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso")
     })
     public ResponseEntity<ApiResponse<List<ProdutoResponseDTO>>> buscarPorNome(
-            @Parameter(description = "Nome do produto (busca parcial)", example = "Pizza", required = true)
-            @RequestParam String nome) {
-        List<ProdutoResponseDTO> response = service.buscarPorNome(nome);
+            @Parameter(description = "Texto da busca", example = "Pizza", required = true)
+            @RequestParam String nome,
+            @Parameter(description = "Filtrar por restaurante (opcional)", example = "1")
+            @RequestParam(required = false) Long restauranteId,
+            @Parameter(description = "Filtrar por disponibilidade (opcional)", example = "true")
+            @RequestParam(required = false) Boolean disponivel,
+            @Parameter(description = "Quantidade máxima de resultados (padrão 20, máximo 100)", example = "20")
+            @RequestParam(required = false) Integer limite) {
+        List<ProdutoResponseDTO> response = service.buscarPorNome(nome, restauranteId, disponivel, limite);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    // Aceita gzip se listado em Accept-Encoding (ou via "*") sem q=0
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.trim().split(";");
+            String codificacao = partes[0].trim();
+            if (!codificacao.equalsIgnoreCase("gzip") && !codificacao.equals("*")) {
+                continue;
+            }
+            boolean recusado = false;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].replace(" ", "");
+                if (parametro.matches("q=0(\\.0{0,3})?")) {
+                    recusado = true;
+                }
+            }
+            if (!recusado) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
-
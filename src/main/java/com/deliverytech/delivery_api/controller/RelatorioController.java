@@ -1,19 +1,29 @@
 package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.ApiResponse;
+import com.deliverytech.delivery_api.dto.PedidoPeriodoDTO;
+import com.deliverytech.delivery_api.dto.RelatorioClientesDTO;
+import com.deliverytech.delivery_api.dto.RelatorioProdutosDTO;
+import com.deliverytech.delivery_api.dto.RelatorioVendasDTO;
+import com.deliverytech.delivery_api.exception.ValidationException;
 import com.deliverytech.delivery_api.service.RelatorioService;
+import com.deliverytech.delivery_api.service.RelatorioService.FormatoExportacao;
+import com.deliverytech.delivery_api.service.ResumoVendasService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/relatorios")
@@ -22,20 +32,21 @@ import java.util.Map;
 public class RelatorioController {
     
     private final RelatorioService service;
+    private final ResumoVendasService resumoVendasService;
     
     @GetMapping("/vendas-por-restaurante")
-    @Operation(summary = "Vendas por restaurante", description = "Retorna relatório de vendas agrupadas por restaurante")
+    @Operation(summary = "Vendas por restaurante", description = "Retorna relatório de vendas agrupadas por restaurante (a data de início é arredondada para a hora cheia)")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso")
     })
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> vendasPorRestaurante(
+    public ResponseEntity<ApiResponse<List<RelatorioVendasDTO>>> vendasPorRestaurante(
             @Parameter(description = "Data de início (formato: yyyy-MM-ddTHH:mm:ss)", example = "2024-01-01T00:00:00")
             @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
             @Parameter(description = "Data de fim (formato: yyyy-MM-ddTHH:mm:ss)", example = "2024-01-31T23:59:59")
             @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim) {
-        List<Map<String, Object>> response = service.vendasPorRestaurante(dataInicio, dataFim);
+        List<RelatorioVendasDTO> response = service.vendasPorRestaurante(dataInicio, dataFim);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
@@ -44,10 +55,10 @@ public class RelatorioController {
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso")
     })
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> produtosMaisVendidos(
+    public ResponseEntity<ApiResponse<List<RelatorioProdutosDTO>>> produtosMaisVendidos(
             @Parameter(description = "Limite de resultados (opcional)", example = "10")
             @RequestParam(required = false) Integer limite) {
-        List<Map<String, Object>> response = service.produtosMaisVendidos(limite);
+        List<RelatorioProdutosDTO> response = service.produtosMaisVendidos(limite);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
@@ -56,10 +67,10 @@ public class RelatorioController {
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso")
     })
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> clientesAtivos(
+    public ResponseEntity<ApiResponse<List<RelatorioClientesDTO>>> clientesAtivos(
             @Parameter(description = "Limite de resultados (opcional)", example = "10")
             @RequestParam(required = false) Integer limite) {
-        List<Map<String, Object>> response = service.clientesAtivos(limite);
+        List<RelatorioClientesDTO> response = service.clientesAtivos(limite);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
@@ -68,15 +79,59 @@ public class RelatorioController {
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso")
     })
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> pedidosPorPeriodo(
+    public ResponseEntity<ApiResponse<List<PedidoPeriodoDTO>>> pedidosPorPeriodo(
             @Parameter(description = "Data de início (formato: yyyy-MM-ddTHH:mm:ss)", example = "2024-01-01T00:00:00")
             @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
             @Parameter(description = "Data de fim (formato: yyyy-MM-ddTHH:mm:ss)", example = "2024-01-31T23:59:59")
             @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim) {
-        List<Map<String, Object>> response = service.pedidosPorPeriodo(dataInicio, dataFim);
+        List<PedidoPeriodoDTO> response = service.pedidosPorPeriodo(dataInicio, dataFim);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    @GetMapping("/pedidos-por-periodo/exportar")
+    @Operation(summary = "Exportar pedidos por período", description = "Exporta os pedidos do período em streaming, no formato NDJSON (uma linha JSON por pedido) ou CSV")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Formato inválido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarPedidosPorPeriodo(
+            @Parameter(description = "Data de início (formato: yyyy-MM-ddTHH:mm:ss)", example = "2024-01-01T00:00:00")
+            @RequestParam(required = false) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+            @Parameter(description = "Data de fim (formato: yyyy-MM-ddTHH:mm:ss)", example = "2024-01-31T23:59:59")
+            @RequestParam(required = false) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+            @Parameter(description = "Formato da exportação (ndjson ou csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacao formatoExportacao = switch (formato.toLowerCase()) {
+            case "ndjson" -> FormatoExportacao.NDJSON;
+            case "csv" -> FormatoExportacao.CSV;
+            default -> throw new ValidationException("Formato de exportação inválido: " + formato + " (use ndjson ou csv)");
+        };
+        
+        MediaType mediaType = formatoExportacao == FormatoExportacao.CSV
+            ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+            : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String arquivo = "pedidos." + formatoExportacao.name().toLowerCase();
+        
+        StreamingResponseBody corpo = saida ->
+            service.exportarPedidosPorPeriodo(dataInicio, dataFim, formatoExportacao, saida);
+        
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+            .body(corpo);
+    }
+    
+    @PostMapping("/resumos/reconstruir")
+    @Operation(summary = "Reconstruir resumos de vendas", description = "Recalcula do zero os resumos por hora usados pelos relatórios de vendas")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Resumos reconstruídos com sucesso")
+    })
+    public ResponseEntity<ApiResponse<Long>> reconstruirResumos() {
+        long buckets = resumoVendasService.reconstruir();
+        return ResponseEntity.ok(ApiResponse.success(buckets, "Resumos de vendas reconstruídos"));
+    }
 }
-
@@ -4,6 +4,8 @@ import com.deliverytech.delivery_api.dto.ApiResponse;
 import com.deliverytech.delivery_api.dto.PagedResponse;
 import com.deliverytech.delivery_api.dto.RestauranteDTO;
 import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.dto.SugestaoDTO;
+import com.deliverytech.delivery_api.dto.TabelaTaxaEntregaDTO;
 import com.deliverytech.delivery_api.service.RestauranteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -163,10 +165,12 @@ public class RestauranteController {
     }
     
     @GetMapping("/{id}/taxa-entrega/{cep}")
-    @Operation(summary = "Calcular taxa de entrega", description = "Calcula a taxa de entrega para um CEP específico")
+    @Operation(summary = "Calcular taxa de entrega", description = "Calcula a taxa de entrega para um CEP pela distância até o restaurante, conforme a tabela de faixas (sem faixas, usa a taxa fixa)")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Taxa calculada com sucesso"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "CEP inválido ou fora da área atendida"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Restaurante não encontrado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "CEP fora da área de entrega do restaurante")
     })
     public ResponseEntity<ApiResponse<BigDecimal>> calcularTaxaEntrega(
             @Parameter(description = "ID do restaurante", example = "1", required = true)
@@ -177,15 +181,62 @@ public class RestauranteController {
         return ResponseEntity.ok(ApiResponse.success(taxa));
     }
     
+    @GetMapping("/{id}/faixas-taxa")
+    @Operation(summary = "Listar faixas de taxa de entrega", description = "Retorna a tabela de taxa de entrega por distância do restaurante")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Faixas retornadas com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+    })
+    public ResponseEntity<ApiResponse<TabelaTaxaEntregaDTO>> listarFaixasTaxa(
+            @Parameter(description = "ID do restaurante", example = "1", required = true)
+            @PathVariable Long id) {
+        TabelaTaxaEntregaDTO response = service.listarFaixasTaxa(id);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PutMapping("/{id}/faixas-taxa")
+    @Operation(summary = "Atualizar faixas de taxa de entrega", description = "Substitui a tabela de taxa de entrega por distância do restaurante (lista vazia volta a usar a taxa fixa)")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Faixas atualizadas com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Faixas inválidas"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+    })
+    public ResponseEntity<ApiResponse<TabelaTaxaEntregaDTO>> atualizarFaixasTaxa(
+            @Parameter(description = "ID do restaurante", example = "1", required = true)
+            @PathVariable Long id,
+            @Valid @RequestBody TabelaTaxaEntregaDTO dto) {
+        TabelaTaxaEntregaDTO response = service.atualizarFaixasTaxa(id, dto);
+        return ResponseEntity.ok(ApiResponse.success(response, "Faixas de taxa de entrega atualizadas"));
+    }
+    
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocompletar restaurantes", description = "Sugere restaurantes ativos cujo nome tem uma palavra começando pelo prefixo, ordenados por popularidade")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso")
+    })
+    public ResponseEntity<ApiResponse<List<SugestaoDTO>>> autocompletar(
+            @Parameter(description = "Prefixo digitado", example = "piz", required = true)
+            @RequestParam String prefixo,
+            @Parameter(description = "Quantidade máxima de sugestões (padrão e máximo 10)", example = "5")
+            @RequestParam(required = false) Integer limite) {
+        List<SugestaoDTO> response = service.autocompletar(prefixo, limite);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
     @GetMapping("/proximos/{cep}")
-    @Operation(summary = "Buscar restaurantes próximos", description = "Retorna restaurantes próximos a um CEP específico")
+    @Operation(summary = "Buscar restaurantes próximos", description = "Retorna os restaurantes ativos mais próximos de um CEP, ordenados por distância")
     @ApiResponses({
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de restaurantes retornada com sucesso")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de restaurantes retornada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "CEP inválido ou fora da área atendida")
     })
     public ResponseEntity<ApiResponse<List<RestauranteResponseDTO>>> buscarProximos(
             @Parameter(description = "CEP para busca", example = "01310-100", required = true)
-            @PathVariable String cep) {
-        List<RestauranteResponseDTO> response = service.buscarProximos(cep);
+            @PathVariable String cep,
+            @Parameter(description = "Raio máximo em km (opcional)", example = "5")
+            @RequestParam(required = false) Double raioKm,
+            @Parameter(description = "Quantidade máxima de restaurantes (opcional)", example = "10")
+            @RequestParam(required = false) Integer limite) {
+        List<RestauranteResponseDTO> response = service.buscarProximos(cep, raioKm, limite);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 }
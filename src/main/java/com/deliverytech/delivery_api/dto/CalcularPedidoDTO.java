@@ -1,5 +1,6 @@
 package com.deliverytech.delivery_api.dto;
 
+import com.deliverytech.delivery_api.validation.ValidCEP;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -21,6 +22,10 @@ public class CalcularPedidoDTO {
     @Schema(description = "ID do restaurante", example = "1", required = true)
     private Long restauranteId;
     
+    @ValidCEP
+    @Schema(description = "CEP de entrega, usado no cálculo da taxa de entrega", example = "01310-100")
+    private String cepEntrega;
+    
     @Valid
     @NotNull(message = "Itens são obrigatórios")
     @Schema(description = "Lista de itens do pedido", required = true)
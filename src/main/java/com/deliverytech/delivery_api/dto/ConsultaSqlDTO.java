@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Execuções acumuladas de uma consulta desde o início da aplicação (ou da última limpeza)")
+public class ConsultaSqlDTO {
+    
+    @Schema(description = "Consulta (JPQL, SQL nativo ou SQL gerado pelo Hibernate)", example = "SELECT p.status FROM Pedido p WHERE p.id = :id")
+    private String consulta;
+    
+    @Schema(description = "Número de execuções", example = "1500")
+    private Long execucoes;
+    
+    @Schema(description = "Tempo total de execução em milissegundos", example = "820")
+    private Long tempoTotalMs;
+    
+    @Schema(description = "Tempo médio de execução em milissegundos", example = "0")
+    private Long tempoMedioMs;
+    
+    @Schema(description = "Maior tempo de execução em milissegundos", example = "35")
+    private Long tempoMaxMs;
+    
+    @Schema(description = "Total de linhas retornadas", example = "1500")
+    private Long linhas;
+}
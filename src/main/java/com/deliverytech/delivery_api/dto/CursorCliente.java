@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.dto;
+
+import com.deliverytech.delivery_api.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Id do último cliente de uma página, codificado de forma opaca para o cliente da API
+public record CursorCliente(Long id) {
+    
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static CursorCliente decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new CursorCliente(Long.valueOf(valor));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Cursor inválido", e);
+        }
+    }
+}
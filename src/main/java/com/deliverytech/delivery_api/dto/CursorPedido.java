@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.dto;
+
+import com.deliverytech.delivery_api.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição (dataCriacao, id) do último pedido de uma página, codificada de forma opaca para o cliente
+public record CursorPedido(LocalDateTime dataCriacao, Long id) {
+    
+    public String codificar() {
+        String valor = dataCriacao + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static CursorPedido decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new CursorPedido(
+                LocalDateTime.parse(valor.substring(0, separador)),
+                Long.valueOf(valor.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Cursor inválido", e);
+        }
+    }
+}
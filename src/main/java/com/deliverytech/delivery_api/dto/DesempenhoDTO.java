@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumo de desempenho da API, com endpoints e services ordenados pelo tempo total consumido")
+public class DesempenhoDTO {
+    
+    @Schema(description = "Requisições em andamento agora", example = "3")
+    private Integer emAndamento;
+    
+    @Schema(description = "Maior número de requisições simultâneas observado", example = "64")
+    private Integer picoEmAndamento;
+    
+    @Schema(description = "Métricas por método de controller")
+    private List<DesempenhoEndpointDTO> endpoints;
+    
+    @Schema(description = "Métricas por método de service")
+    private List<DesempenhoServicoDTO> servicos;
+}
@@ -0,0 +1,55 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Latência, tráfego e consultas ao banco de um método de controller desde o início da aplicação")
+public class DesempenhoEndpointDTO {
+    
+    @Schema(description = "Controller e método", example = "PedidoController.criar")
+    private String endpoint;
+    
+    @Schema(description = "Requisições concluídas", example = "1200")
+    private Long requisicoes;
+    
+    @Schema(description = "Respostas 4xx", example = "12")
+    private Long errosCliente;
+    
+    @Schema(description = "Respostas 5xx", example = "0")
+    private Long errosServidor;
+    
+    @Schema(description = "Latência mediana em milissegundos", example = "3.2")
+    private Double p50Ms;
+    
+    @Schema(description = "Percentil 90 da latência em milissegundos", example = "8.1")
+    private Double p90Ms;
+    
+    @Schema(description = "Percentil 99 da latência em milissegundos", example = "21.5")
+    private Double p99Ms;
+    
+    @Schema(description = "Percentil 99,9 da latência em milissegundos", example = "48.0")
+    private Double p999Ms;
+    
+    @Schema(description = "Maior latência em milissegundos", example = "112.7")
+    private Double maxMs;
+    
+    @Schema(description = "Tempo total gasto no endpoint em milissegundos", example = "4200.0")
+    private Double totalMs;
+    
+    @Schema(description = "Média de bytes recebidos por requisição", example = "310.0")
+    private Double mediaBytesRequisicao;
+    
+    @Schema(description = "Média de bytes enviados por resposta", example = "1480.0")
+    private Double mediaBytesResposta;
+    
+    @Schema(description = "Média de comandos SQL por requisição", example = "3.0")
+    private Double mediaConsultas;
+    
+    @Schema(description = "Maior número de comandos SQL em uma requisição", example = "5")
+    private Long maxConsultas;
+}
@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Latência de um método público de service desde o início da aplicação")
+public class DesempenhoServicoDTO {
+    
+    @Schema(description = "Service e método", example = "PedidoService.criar")
+    private String metodo;
+    
+    @Schema(description = "Chamadas concluídas", example = "1200")
+    private Long chamadas;
+    
+    @Schema(description = "Chamadas que terminaram com exceção", example = "4")
+    private Long falhas;
+    
+    @Schema(description = "Latência mediana em milissegundos", example = "2.1")
+    private Double p50Ms;
+    
+    @Schema(description = "Percentil 99 da latência em milissegundos", example = "15.0")
+    private Double p99Ms;
+    
+    @Schema(description = "Maior latência em milissegundos", example = "80.3")
+    private Double maxMs;
+    
+    @Schema(description = "Tempo total gasto no método em milissegundos", example = "2520.0")
+    private Double totalMs;
+}
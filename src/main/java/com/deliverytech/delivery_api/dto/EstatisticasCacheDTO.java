@@ -0,0 +1,28 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estatísticas de um cache em memória")
+public class EstatisticasCacheDTO {
+    
+    @Schema(description = "Número aproximado de entradas", example = "120")
+    private Long entradas;
+    
+    @Schema(description = "Leituras atendidas pelo cache", example = "9500")
+    private Long acertos;
+    
+    @Schema(description = "Leituras que precisaram carregar do banco", example = "500")
+    private Long falhas;
+    
+    @Schema(description = "Entradas descartadas por limite de tamanho", example = "3")
+    private Long descartes;
+    
+    @Schema(description = "Proporção de acertos (0 a 1)", example = "0.95")
+    private Double taxaAcerto;
+}
@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estatísticas de um filtro de Bloom")
+public class EstatisticasFiltroBloomDTO {
+    
+    @Schema(description = "Valores inseridos no filtro", example = "150000")
+    private Long inseridos;
+    
+    @Schema(description = "Capacidade para a qual o filtro foi dimensionado", example = "1000000")
+    private Long capacidade;
+    
+    @Schema(description = "Consultas respondidas só pelo filtro (valor com certeza ausente)", example = "9800")
+    private Long negativos;
+    
+    @Schema(description = "Consultas que precisaram ir ao banco", example = "200")
+    private Long positivos;
+    
+    @Schema(description = "Consultas ao banco que não encontraram o valor", example = "90")
+    private Long falsosPositivos;
+    
+    @Schema(description = "Taxa de falso positivo observada entre valores ausentes (0 a 1)", example = "0.009")
+    private Double taxaFalsoPositivo;
+    
+    @Schema(description = "Taxa de falso positivo teórica com a ocupação atual (0 a 1)", example = "0.0002")
+    private Double taxaFalsoPositivoEstimada;
+}
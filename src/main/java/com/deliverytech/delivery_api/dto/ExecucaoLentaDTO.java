@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Execução de consulta acima do limite de lentidão")
+public class ExecucaoLentaDTO {
+    
+    @Schema(description = "Consulta executada", example = "SELECT p.id FROM Pedido p WHERE p.status = :status")
+    private String consulta;
+    
+    @Schema(description = "Tempo de execução em milissegundos", example = "340")
+    private Long tempoMs;
+    
+    @Schema(description = "Linhas retornadas", example = "20")
+    private Integer linhas;
+    
+    @Schema(description = "Método de service que originou a consulta", example = "PedidoService.listar")
+    private String origem;
+    
+    @Schema(description = "Momento da execução", example = "2024-01-15T19:30:00")
+    private LocalDateTime dataHora;
+}
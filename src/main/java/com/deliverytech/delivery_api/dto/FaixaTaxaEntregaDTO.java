@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Faixa de distância da tabela de taxa de entrega")
+public class FaixaTaxaEntregaDTO {
+    
+    @NotNull(message = "Distância máxima é obrigatória")
+    @Positive(message = "Distância máxima deve ser positiva")
+    @DecimalMax(value = "1000.00", message = "Distância máxima não pode exceder 1000 km")
+    @Schema(description = "Distância máxima atendida pela faixa, em km", example = "5.00", required = true)
+    private BigDecimal distanciaMaximaKm;
+    
+    @NotNull(message = "Taxa é obrigatória")
+    @PositiveOrZero(message = "Taxa deve ser positiva ou zero")
+    @DecimalMax(value = "100.00", message = "Taxa de entrega não pode exceder R$ 100,00")
+    @Schema(description = "Taxa cobrada na faixa", example = "7.50", required = true)
+    private BigDecimal taxa;
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery_api.dto;
 
+import com.deliverytech.delivery_api.validation.ValidCEP;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
@@ -30,6 +31,10 @@ public class PedidoDTO {
     @Schema(description = "Endereço de entrega", example = "Rua A, 123", required = true)
     private String enderecoEntrega;
     
+    @ValidCEP
+    @Schema(description = "CEP de entrega, usado no cálculo da taxa de entrega", example = "01310-100")
+    private String cepEntrega;
+    
     @Valid
     @NotNull(message = "Itens são obrigatórios")
     @NotEmpty(message = "Pedido deve conter pelo menos um item")
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Os pedidos do lote são validados um a um no processamento, para que um pedido inválido
+// apareça como falha no resultado em vez de rejeitar o lote inteiro
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO para criação de pedidos em lote")
+public class PedidoLoteDTO {
+    
+    @NotEmpty(message = "O lote deve conter pelo menos um pedido")
+    @Size(max = 1000, message = "O lote não pode ter mais de 1000 pedidos")
+    @Schema(description = "Pedidos do lote", required = true)
+    private List<PedidoDTO> pedidos;
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery_api.dto;
+
+import com.deliverytech.delivery_api.model.Pedido.StatusPedido;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Linha do relatório de pedidos por período")
+public class PedidoPeriodoDTO {
+    
+    @Schema(description = "ID do pedido", example = "1")
+    private Long pedidoId;
+    
+    @Schema(description = "Nome do cliente", example = "João Silva")
+    private String clienteNome;
+    
+    @Schema(description = "Nome do restaurante", example = "Pizza Express")
+    private String restauranteNome;
+    
+    @Schema(description = "Status do pedido", example = "ENTREGUE")
+    private StatusPedido status;
+    
+    @Schema(description = "Total do pedido", example = "76.80")
+    private BigDecimal total;
+    
+    @Schema(description = "Data de criação")
+    private LocalDateTime dataCriacao;
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.dto;
+
+import java.math.BigDecimal;
+
+public interface RelatorioClientesDTO {
+    
+    Long getClienteId();
+    
+    String getClienteNome();
+    
+    Long getTotalPedidos();
+    
+    BigDecimal getTotalGasto();
+}
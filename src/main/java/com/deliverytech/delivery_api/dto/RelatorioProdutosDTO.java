@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.dto;
+
+import java.math.BigDecimal;
+
+public interface RelatorioProdutosDTO {
+    
+    Long getProdutoId();
+    
+    String getProdutoNome();
+    
+    Long getQuantidadeVendida();
+    
+    BigDecimal getTotalVendido();
+}
@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Relatório de consultas SQL: totais do Hibernate, consultas por tempo total e execuções mais lentas")
+public class RelatorioSqlDTO {
+    
+    @Schema(description = "Limite a partir do qual uma execução é considerada lenta, em milissegundos", example = "100")
+    private Long limiteLentaMs;
+    
+    @Schema(description = "Execuções acima do limite", example = "7")
+    private Long execucoesLentas;
+    
+    @Schema(description = "Consultas executadas", example = "52000")
+    private Long consultasExecutadas;
+    
+    @Schema(description = "Comandos JDBC preparados (consultas, inserts, updates e deletes)", example = "61000")
+    private Long comandosPreparados;
+    
+    @Schema(description = "Entidades carregadas do banco", example = "180000")
+    private Long entidadesCarregadas;
+    
+    @Schema(description = "Entidades inseridas, atualizadas ou removidas", example = "9000")
+    private Long entidadesAlteradas;
+    
+    @Schema(description = "Consultas ordenadas pelo tempo total de execução")
+    private List<ConsultaSqlDTO> consultas;
+    
+    @Schema(description = "Execuções mais lentas, da mais lenta para a mais rápida")
+    private List<ExecucaoLentaDTO> maisLentas;
+}
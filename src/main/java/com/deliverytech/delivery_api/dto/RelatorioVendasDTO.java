@@ -6,8 +6,9 @@ public interface RelatorioVendasDTO {
     
     Long getRestauranteId();
     
-    String getNomeRestaurante();
+    String getRestauranteNome();
     
     BigDecimal getTotalVendas();
+    
+    Long getQuantidadePedidos();
 }
-
@@ -0,0 +1,51 @@
+package com.deliverytech.delivery_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado do processamento de um lote de pedidos")
+public class ResultadoLoteDTO {
+    
+    @Schema(description = "Pedidos recebidos", example = "200")
+    private Integer total;
+    
+    @Schema(description = "Pedidos criados", example = "198")
+    private Integer sucessos;
+    
+    @Schema(description = "Pedidos rejeitados", example = "2")
+    private Integer falhas;
+    
+    @Schema(description = "Resultado de cada pedido, na ordem do lote")
+    private List<ItemResultado> resultados;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Resultado de um pedido do lote")
+    public static class ItemResultado {
+        @Schema(description = "Posição do pedido no lote (0-indexed)", example = "0")
+        private Integer indice;
+        
+        @Schema(description = "Indica se o pedido foi criado", example = "true")
+        private Boolean sucesso;
+        
+        @Schema(description = "ID do pedido criado", example = "1")
+        private Long pedidoId;
+        
+        @Schema(description = "Total do pedido criado", example = "45.90")
+        private BigDecimal total;
+        
+        @Schema(description = "Motivo da falha", example = "Restaurante está inativo")
+        private String erro;
+    }
+}
@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.dto;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mudança de status de pedido enviada pelos streams de eventos")
+public class StatusPedidoEventoDTO {
+    
+    @Schema(description = "ID do pedido", example = "1")
+    private Long pedidoId;
+    
+    @Schema(description = "ID do cliente", example = "1")
+    private Long clienteId;
+    
+    @Schema(description = "ID do restaurante", example = "1")
+    private Long restauranteId;
+    
+    @Schema(description = "Novo status do pedido", example = "CONFIRMADO")
+    private Pedido.StatusPedido status;
+    
+    @Schema(description = "Data e hora da mudança")
+    private LocalDateTime dataHora;
+}
@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Sugestão de autocompletar")
+public class SugestaoDTO {
+    
+    @Schema(description = "ID do produto ou restaurante", example = "1")
+    private Long id;
+    
+    @Schema(description = "Nome sugerido", example = "Pizza Margherita")
+    private String nome;
+    
+    @Schema(description = "Popularidade (unidades vendidas para produtos, pedidos para restaurantes)", example = "42")
+    private Long popularidade;
+}
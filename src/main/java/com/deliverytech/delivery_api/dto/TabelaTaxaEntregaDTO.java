@@ -0,0 +1,25 @@
+package com.deliverytech.delivery_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tabela de taxa de entrega por distância de um restaurante")
+public class TabelaTaxaEntregaDTO {
+    
+    @Valid
+    @NotNull(message = "Faixas são obrigatórias")
+    @Size(max = 20, message = "Tabela deve ter no máximo 20 faixas")
+    @Schema(description = "Faixas de distância (vazia = usa a taxa fixa do restaurante)", required = true)
+    private List<FaixaTaxaEntregaDTO> faixas = new ArrayList<>();
+}
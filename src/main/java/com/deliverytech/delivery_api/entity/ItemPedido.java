@@ -1,106 +0,0 @@
-package com.deliverytech.delivery_api.entity;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.Table;
-import java.math.BigDecimal;
-
-@Entity
-@Table(name = "itens_pedido")
-public class ItemPedido {
-
-	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Long id;
-
-	@ManyToOne(optional = false)
-	@JoinColumn(name = "pedido_id", nullable = false)
-	private Pedido pedido;
-
-	@ManyToOne(optional = false)
-	@JoinColumn(name = "produto_id", nullable = false)
-	private Produto produto;
-
-	@Column(nullable = false)
-	private Integer quantidade;
-
-	@Column(name = "preco_unitario", nullable = false)
-	private BigDecimal precoUnitario;
-
-	@Column(name = "subtotal", nullable = false)
-	private BigDecimal subtotal;
-
-	public ItemPedido() {}
-
-	public ItemPedido(Pedido pedido, Produto produto, Integer quantidade) {
-		this.pedido = pedido;
-		this.produto = produto;
-		this.quantidade = quantidade;
-		this.precoUnitario = produto.getPreco();
-		this.subtotal = precoUnitario.multiply(BigDecimal.valueOf(quantidade));
-	}
-
-	public Long getId() {
-		return id;
-	}
-
-	public void setId(Long id) {
-		this.id = id;
-	}
-
-	public Pedido getPedido() {
-		return pedido;
-	}
-
-	public void setPedido(Pedido pedido) {
-		this.pedido = pedido;
-	}
-
-	public Produto getProduto() {
-		return produto;
-	}
-
-	public void setProduto(Produto produto) {
-		this.produto = produto;
-		this.precoUnitario = produto.getPreco();
-		calcularSubtotal();
-	}
-
-	public Integer getQuantidade() {
-		return quantidade;
-	}
-
-	public void setQuantidade(Integer quantidade) {
-		this.quantidade = quantidade;
-		calcularSubtotal();
-	}
-
-	public BigDecimal getPrecoUnitario() {
-		return precoUnitario;
-	}
-
-	public void setPrecoUnitario(BigDecimal precoUnitario) {
-		this.precoUnitario = precoUnitario;
-		calcularSubtotal();
-	}
-
-	public BigDecimal getSubtotal() {
-		return subtotal;
-	}
-
-	public void setSubtotal(BigDecimal subtotal) {
-		this.subtotal = subtotal;
-	}
-
-	private void calcularSubtotal() {
-		if (precoUnitario != null && quantidade != null) {
-			this.subtotal = precoUnitario.multiply(BigDecimal.valueOf(quantidade));
-		}
-	}
-}
-
@@ -1,85 +0,0 @@
-package com.deliverytech.delivery_api.entity;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
-import java.math.BigDecimal;
-
-@Entity
-@Table(name = "restaurantes")
-public class Restaurante {
-
-	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Long id;
-
-	@Column(nullable = false)
-	private String nome;
-
-	@Column(nullable = false)
-	private String categoria;
-
-	@Column(nullable = false)
-	private boolean ativo = true;
-
-	@Column(precision = 3, scale = 2)
-	private BigDecimal avaliacao;
-
-	@Column(name = "taxa_entrega", nullable = false, precision = 10, scale = 2)
-	private BigDecimal taxaEntrega = BigDecimal.ZERO;
-
-	public Restaurante() {}
-
-	public Long getId() {
-		return id;
-	}
-
-	public void setId(Long id) {
-		this.id = id;
-	}
-
-	public String getNome() {
-		return nome;
-	}
-
-	public void setNome(String nome) {
-		this.nome = nome;
-	}
-
-	public String getCategoria() {
-		return categoria;
-	}
-
-	public void setCategoria(String categoria) {
-		this.categoria = categoria;
-	}
-
-	public boolean isAtivo() {
-		return ativo;
-	}
-
-	public void setAtivo(boolean ativo) {
-		this.ativo = ativo;
-	}
-
-	public BigDecimal getAvaliacao() {
-		return avaliacao;
-	}
-
-	public void setAvaliacao(BigDecimal avaliacao) {
-		this.avaliacao = avaliacao;
-	}
-
-	public BigDecimal getTaxaEntrega() {
-		return taxaEntrega;
-	}
-
-	public void setTaxaEntrega(BigDecimal taxaEntrega) {
-		this.taxaEntrega = taxaEntrega;
-	}
-}
-
-
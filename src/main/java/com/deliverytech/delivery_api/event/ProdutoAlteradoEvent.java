@@ -0,0 +1,6 @@
+package com.deliverytech.delivery_api.event;
+
+// Publicado quando um produto é cadastrado, atualizado, removido ou muda de disponibilidade.
+// restauranteAnteriorId só difere de restauranteId quando o produto troca de restaurante.
+public record ProdutoAlteradoEvent(Long produtoId, Long restauranteId, Long restauranteAnteriorId) {
+}
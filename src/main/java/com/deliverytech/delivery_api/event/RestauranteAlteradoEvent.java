@@ -0,0 +1,5 @@
+package com.deliverytech.delivery_api.event;
+
+// Publicado quando um restaurante é cadastrado, atualizado ou muda de status
+public record RestauranteAlteradoEvent(Long restauranteId, String cep, boolean ativo) {
+}
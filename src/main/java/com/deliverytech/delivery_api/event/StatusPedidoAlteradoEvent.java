@@ -0,0 +1,10 @@
+package com.deliverytech.delivery_api.event;
+
+import com.deliverytech.delivery_api.model.Pedido.StatusPedido;
+
+import java.time.LocalDateTime;
+
+// Publicado quando um pedido muda de status (inclusive cancelamento)
+public record StatusPedidoAlteradoEvent(Long pedidoId, Long clienteId, Long restauranteId,
+                                        StatusPedido status, LocalDateTime dataHora) {
+}
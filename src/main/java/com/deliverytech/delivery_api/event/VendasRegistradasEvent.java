@@ -0,0 +1,7 @@
+package com.deliverytech.delivery_api.event;
+
+import java.util.Map;
+
+// Publicado quando as vendas de um pedido entram (sinal 1) ou saem (sinal -1) dos resumos
+public record VendasRegistradasEvent(Long restauranteId, Map<Long, Long> quantidadePorProduto, int sinal) {
+}
@@ -2,7 +2,9 @@ package com.deliverytech.delivery_api.exception;
 
 import com.deliverytech.delivery_api.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,6 +17,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+// Os erros saem sempre em JSON, mesmo quando o cliente pediu outro formato (ex.: streams SSE)
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
@@ -31,7 +34,7 @@ public class GlobalExceptionHandler {
             null,
             null
         );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
     
     @ExceptionHandler(BusinessException.class)
@@ -47,7 +50,7 @@ public class GlobalExceptionHandler {
             null,
             null
         );
-        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
     
     @ExceptionHandler(ConflictException.class)
@@ -63,7 +66,24 @@ public class GlobalExceptionHandler {
             null,
             null
         );
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+    
+    // Atualização feita sobre uma versão desatualizada do registro
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, 
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            "Registro alterado por outra requisição; tente novamente",
+            request.getRequestURI(),
+            null,
+            null
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
     
     @ExceptionHandler(ValidationException.class)
@@ -79,7 +99,7 @@ public class GlobalExceptionHandler {
             null,
             null
         );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
     
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -108,7 +128,7 @@ public class GlobalExceptionHandler {
             validationErrors
         );
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
     
     @ExceptionHandler(Exception.class)
@@ -124,7 +144,7 @@ public class GlobalExceptionHandler {
             null,
             null
         );
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
 }
 
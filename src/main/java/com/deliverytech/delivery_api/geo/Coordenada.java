@@ -0,0 +1,20 @@
+package com.deliverytech.delivery_api.geo;
+
+public record Coordenada(double latitude, double longitude) {
+    
+    public static final double RAIO_TERRA_KM = 6371.0088;
+    
+    // Distância de haversine em quilômetros
+    public double distanciaKm(Coordenada outra) {
+        return distanciaKm(latitude, longitude, outra.latitude, outra.longitude);
+    }
+    
+    public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.deliverytech.delivery_api.geo;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Geocodifica CEPs pelo prefixo mais longo presente na tabela de centroides
+ * {@code geo/cep-prefixos.csv}, carregada uma única vez na inicialização.
+ */
+@Component
+public class GeocodificadorCep {
+    
+    private static final String TABELA = "geo/cep-prefixos.csv";
+    
+    private final Map<String, Coordenada> prefixos;
+    private final int maiorPrefixo;
+    
+    public GeocodificadorCep() {
+        this.prefixos = Collections.unmodifiableMap(carregar());
+        this.maiorPrefixo = prefixos.keySet().stream().mapToInt(String::length).max().orElse(0);
+    }
+    
+    public Optional<Coordenada> localizar(String cep) {
+        String prefixo = prefixo(cep);
+        return prefixo != null ? Optional.of(prefixos.get(prefixo)) : Optional.empty();
+    }
+    
+    // Prefixo da tabela que atende o CEP (null se o CEP for inválido ou não atendido)
+    public String prefixo(String cep) {
+        String digitos = normalizar(cep);
+        if (digitos == null) {
+            return null;
+        }
+        for (int tamanho = Math.min(maiorPrefixo, digitos.length()); tamanho > 0; tamanho--) {
+            String prefixo = digitos.substring(0, tamanho);
+            if (prefixos.containsKey(prefixo)) {
+                return prefixo;
+            }
+        }
+        return null;
+    }
+    
+    public Map<String, Coordenada> getPrefixos() {
+        return prefixos;
+    }
+    
+    // Mantém apenas os dígitos; CEPs válidos têm 8
+    public static String normalizar(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        String digitos = cep.replaceAll("\\D", "");
+        return digitos.length() == 8 ? digitos : null;
+    }
+    
+    private static Map<String, Coordenada> carregar() {
+        Map<String, Coordenada> tabela = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ClassPathResource(TABELA).getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                if (linha.isBlank() || linha.startsWith("#") || linha.startsWith("prefixo")) {
+                    continue;
+                }
+                String[] campos = linha.split(",");
+                tabela.put(campos[0].trim(), new Coordenada(
+                    Double.parseDouble(campos[1].trim()),
+                    Double.parseDouble(campos[2].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível carregar " + TABELA, e);
+        }
+        return tabela;
+    }
+}
@@ -0,0 +1,230 @@
+package com.deliverytech.delivery_api.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Índice espacial em grade fixa (células de {@code tamanhoCelulaGraus} graus) para consultas
+ * de vizinhos mais próximos e por raio. Leituras concorrentes; escritas exclusivas.
+ */
+public class IndiceEspacial {
+    
+    private static final double KM_POR_GRAU = Math.PI * Coordenada.RAIO_TERRA_KM / 180.0;
+    
+    private final double tamanhoCelulaGraus;
+    private final Map<Long, List<Ponto>> celulas = new HashMap<>();
+    private final Map<Long, Ponto> pontos = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public IndiceEspacial(double tamanhoCelulaGraus) {
+        if (tamanhoCelulaGraus <= 0) {
+            throw new IllegalArgumentException("Tamanho de célula deve ser positivo");
+        }
+        this.tamanhoCelulaGraus = tamanhoCelulaGraus;
+    }
+    
+    public record Vizinho(long id, double distanciaKm) {
+    }
+    
+    private record Ponto(long id, double latitude, double longitude, long celula) {
+    }
+    
+    public void atualizar(long id, Coordenada coordenada) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            long celula = chave(linha(coordenada.latitude()), coluna(coordenada.longitude()));
+            Ponto ponto = new Ponto(id, coordenada.latitude(), coordenada.longitude(), celula);
+            pontos.put(id, ponto);
+            celulas.computeIfAbsent(celula, c -> new ArrayList<>()).add(ponto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            celulas.clear();
+            pontos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return pontos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // k vizinhos mais próximos (limitados a raioMaximoKm), em ordem crescente de distância
+    public List<Vizinho> maisProximos(Coordenada origem, int k, double raioMaximoKm) {
+        if (k <= 0) {
+            return List.of();
+        }
+        // Max-heap com os k melhores candidatos até agora
+        PriorityQueue<Vizinho> melhores = new PriorityQueue<>(
+            Comparator.comparingDouble(Vizinho::distanciaKm).reversed());
+        
+        lock.readLock().lock();
+        try {
+            int linhaOrigem = linha(origem.latitude());
+            int colunaOrigem = coluna(origem.longitude());
+            
+            for (int anel = 0; ; anel++) {
+                // Grade esparsa: quando o anel já cobre mais células do que as ocupadas, varre as ocupadas
+                long celulasNoQuadrado = (2L * anel + 1) * (2L * anel + 1);
+                if (celulasNoQuadrado > celulas.size()) {
+                    melhores.clear();
+                    for (List<Ponto> celula : celulas.values()) {
+                        considerar(celula, origem, k, raioMaximoKm, melhores);
+                    }
+                    break;
+                }
+                
+                visitarAnel(linhaOrigem, colunaOrigem, anel, celula -> considerar(celula, origem, k, raioMaximoKm, melhores));
+                
+                // Qualquer ponto fora do quadrado visitado está a pelo menos esta distância
+                double limiteInferiorKm = anel * menorLadoCelulaKm(origem.latitude(), anel);
+                if (limiteInferiorKm > raioMaximoKm) {
+                    break;
+                }
+                if (melhores.size() == k && melhores.peek().distanciaKm() <= limiteInferiorKm) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        List<Vizinho> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return resultado;
+    }
+    
+    // Todos os pontos a até raioKm da origem, em ordem crescente de distância
+    public List<Vizinho> noRaio(Coordenada origem, double raioKm) {
+        List<Vizinho> resultado = new ArrayList<>();
+        
+        lock.readLock().lock();
+        try {
+            double latMin = origem.latitude() - raioKm / KM_POR_GRAU;
+            double latMax = origem.latitude() + raioKm / KM_POR_GRAU;
+            double cosLat = Math.max(0.01, Math.cos(Math.toRadians(Math.max(Math.abs(latMin), Math.abs(latMax)))));
+            double deltaLon = raioKm / (KM_POR_GRAU * cosLat);
+            
+            int linhaMin = linha(latMin), linhaMax = linha(latMax);
+            int colunaMin = coluna(origem.longitude() - deltaLon), colunaMax = coluna(origem.longitude() + deltaLon);
+            long celulasNaCaixa = (long) (linhaMax - linhaMin + 1) * (colunaMax - colunaMin + 1);
+            
+            if (celulasNaCaixa > celulas.size()) {
+                for (List<Ponto> celula : celulas.values()) {
+                    coletar(celula, origem, raioKm, resultado);
+                }
+            } else {
+                for (int l = linhaMin; l <= linhaMax; l++) {
+                    for (int c = colunaMin; c <= colunaMax; c++) {
+                        List<Ponto> celula = celulas.get(chave(l, c));
+                        if (celula != null) {
+                            coletar(celula, origem, raioKm, resultado);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        resultado.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return resultado;
+    }
+    
+    private void considerar(List<Ponto> celula, Coordenada origem, int k, double raioMaximoKm,
+                            PriorityQueue<Vizinho> melhores) {
+        for (Ponto ponto : celula) {
+            double distancia = Coordenada.distanciaKm(origem.latitude(), origem.longitude(), ponto.latitude(), ponto.longitude());
+            if (distancia > raioMaximoKm) {
+                continue;
+            }
+            if (melhores.size() < k) {
+                melhores.add(new Vizinho(ponto.id(), distancia));
+            } else if (distancia < melhores.peek().distanciaKm()) {
+                melhores.poll();
+                melhores.add(new Vizinho(ponto.id(), distancia));
+            }
+        }
+    }
+    
+    private void coletar(List<Ponto> celula, Coordenada origem, double raioKm, List<Vizinho> resultado) {
+        for (Ponto ponto : celula) {
+            double distancia = Coordenada.distanciaKm(origem.latitude(), origem.longitude(), ponto.latitude(), ponto.longitude());
+            if (distancia <= raioKm) {
+                resultado.add(new Vizinho(ponto.id(), distancia));
+            }
+        }
+    }
+    
+    private void visitarAnel(int linhaOrigem, int colunaOrigem, int anel, Consumer<List<Ponto>> visitante) {
+        for (int l = linhaOrigem - anel; l <= linhaOrigem + anel; l++) {
+            boolean borda = l == linhaOrigem - anel || l == linhaOrigem + anel;
+            int passo = borda || anel == 0 ? 1 : 2 * anel;
+            for (int c = colunaOrigem - anel; c <= colunaOrigem + anel; c += passo) {
+                List<Ponto> celula = celulas.get(chave(l, c));
+                if (celula != null) {
+                    visitante.accept(celula);
+                }
+            }
+        }
+    }
+    
+    // Menor dimensão (em km) das células até o anel informado; a largura em longitude encolhe com a latitude
+    private double menorLadoCelulaKm(double latitude, int anel) {
+        double latitudeExtrema = Math.min(89.0, Math.abs(latitude) + (anel + 1) * tamanhoCelulaGraus);
+        double altura = tamanhoCelulaGraus * KM_POR_GRAU;
+        double largura = altura * Math.cos(Math.toRadians(latitudeExtrema));
+        return Math.min(altura, largura);
+    }
+    
+    private void removerSemLock(long id) {
+        Ponto anterior = pontos.remove(id);
+        if (anterior != null) {
+            List<Ponto> celula = celulas.get(anterior.celula());
+            celula.removeIf(p -> p.id() == id);
+            if (celula.isEmpty()) {
+                celulas.remove(anterior.celula());
+            }
+        }
+    }
+    
+    private int linha(double latitude) {
+        return (int) Math.floor(latitude / tamanhoCelulaGraus);
+    }
+    
+    private int coluna(double longitude) {
+        return (int) Math.floor(longitude / tamanhoCelulaGraus);
+    }
+    
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xffffffffL);
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.delivery_api.geo;
+
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Restaurantes ativos geocodificados pelo CEP, mantidos em memória para a busca por proximidade.
+ * Carregado quando a aplicação sobe e atualizado após o commit de cada alteração de restaurante.
+ */
+@Component
+public class IndiceRestaurantes {
+    
+    private final RestauranteRepository repository;
+    private final GeocodificadorCep geocodificador;
+    private final IndiceEspacial indice;
+    private final double raioPadraoKm;
+    private final int limitePadrao;
+    
+    public IndiceRestaurantes(RestauranteRepository repository,
+                              GeocodificadorCep geocodificador,
+                              @Value("${delivery.geo.tamanho-celula-graus:0.05}") double tamanhoCelulaGraus,
+                              @Value("${delivery.geo.raio-padrao-km:10}") double raioPadraoKm,
+                              @Value("${delivery.geo.limite-padrao:20}") int limitePadrao) {
+        this.repository = repository;
+        this.geocodificador = geocodificador;
+        this.indice = new IndiceEspacial(tamanhoCelulaGraus);
+        this.raioPadraoKm = raioPadraoKm;
+        this.limitePadrao = limitePadrao;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        indice.limpar();
+        for (Restaurante restaurante : repository.findByAtivo(true)) {
+            indexar(restaurante.getId(), restaurante.getCep(), true);
+        }
+    }
+    
+    @TransactionalEventListener
+    public void aoAlterarRestaurante(RestauranteAlteradoEvent evento) {
+        indexar(evento.restauranteId(), evento.cep(), evento.ativo());
+    }
+    
+    public List<IndiceEspacial.Vizinho> buscarProximos(Coordenada origem, Integer limite, Double raioKm) {
+        return indice.maisProximos(origem,
+            limite != null && limite > 0 ? limite : limitePadrao,
+            raioKm != null && raioKm > 0 ? raioKm : raioPadraoKm);
+    }
+    
+    private void indexar(Long id, String cep, boolean ativo) {
+        geocodificador.localizar(cep)
+            .filter(coordenada -> ativo)
+            .ifPresentOrElse(
+                coordenada -> indice.atualizar(id, coordenada),
+                () -> indice.remover(id));
+    }
+}
@@ -0,0 +1,42 @@
+package com.deliverytech.delivery_api.geo;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distâncias pré-calculadas entre todos os pares de prefixos de CEP da tabela de centroides,
+ * para que a cotação de frete seja uma leitura de array.
+ */
+@Component
+public class MatrizDistancias {
+    
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final double[][] distanciasKm;
+    
+    public MatrizDistancias(GeocodificadorCep geocodificador) {
+        List<Map.Entry<String, Coordenada>> prefixos = List.copyOf(geocodificador.getPrefixos().entrySet());
+        int total = prefixos.size();
+        distanciasKm = new double[total][total];
+        for (int i = 0; i < total; i++) {
+            indices.put(prefixos.get(i).getKey(), i);
+            for (int j = 0; j < i; j++) {
+                double distancia = prefixos.get(i).getValue().distanciaKm(prefixos.get(j).getValue());
+                distanciasKm[i][j] = distancia;
+                distanciasKm[j][i] = distancia;
+            }
+        }
+    }
+    
+    // Distância entre os centroides dos dois prefixos (NaN se algum não estiver na tabela)
+    public double distanciaKm(String prefixoOrigem, String prefixoDestino) {
+        Integer origem = indices.get(prefixoOrigem);
+        Integer destino = indices.get(prefixoDestino);
+        if (origem == null || destino == null) {
+            return Double.NaN;
+        }
+        return distanciasKm[origem][destino];
+    }
+}
@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.mapper;
+
+import com.deliverytech.delivery_api.dto.ClienteDTO;
+import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversões entre Cliente e seus DTOs, campo a campo e sem reflexão.
+ */
+@Component
+public class ClienteMapper {
+    
+    public Cliente toEntity(ClienteDTO dto) {
+        Cliente cliente = new Cliente();
+        atualizar(cliente, dto);
+        return cliente;
+    }
+    
+    // Copia para a entidade apenas os campos editáveis pelo cliente
+    public void atualizar(Cliente cliente, ClienteDTO dto) {
+        cliente.setNome(dto.getNome());
+        cliente.setEmail(dto.getEmail());
+        cliente.setTelefone(dto.getTelefone());
+        cliente.setEndereco(dto.getEndereco());
+    }
+    
+    public ClienteResponseDTO toResponseDTO(Cliente cliente) {
+        ClienteResponseDTO dto = new ClienteResponseDTO();
+        dto.setId(cliente.getId());
+        dto.setNome(cliente.getNome());
+        dto.setEmail(cliente.getEmail());
+        dto.setTelefone(cliente.getTelefone());
+        dto.setEndereco(cliente.getEndereco());
+        dto.setAtivo(Boolean.TRUE.equals(cliente.getAtivo()));
+        return dto;
+    }
+}
@@ -0,0 +1,130 @@
+package com.deliverytech.delivery_api.metricas;
+
+import com.deliverytech.delivery_api.dto.ConsultaSqlDTO;
+import com.deliverytech.delivery_api.dto.ExecucaoLentaDTO;
+import com.deliverytech.delivery_api.dto.RelatorioSqlDTO;
+import com.deliverytech.delivery_api.metricas.RankingConsultasLentas.ExecucaoLenta;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Captura estruturada das consultas SQL no lugar do show-sql: as estatísticas do Hibernate
+ * agregam execuções, tempo total/máximo e linhas por consulta, e cada execução acima do limite
+ * entra no ranking de lentas com o método de service que a originou. As demais são registradas
+ * no log só por amostragem. O Hibernate só mede consultas de leitura, em milissegundos.
+ */
+@Component
+public class CapturaConsultas implements StatisticsFactory, HibernatePropertiesCustomizer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CapturaConsultas.class);
+    
+    private static final String ORIGEM_DESCONHECIDA = "desconhecida";
+    
+    private final long limiteLentaMs;
+    private final double amostragem;
+    private final int tamanhoRanking;
+    private final RankingConsultasLentas lentas;
+    private final LongAdder execucoesLentas = new LongAdder();
+    private volatile StatisticsImplementor estatisticas;
+    
+    public CapturaConsultas(@Value("${delivery.sql.limite-lenta:PT0.1S}") Duration limiteLenta,
+                            @Value("${delivery.sql.amostragem:0.01}") double amostragem,
+                            @Value("${delivery.sql.ranking:20}") int tamanhoRanking) {
+        this.limiteLentaMs = limiteLenta.toMillis();
+        this.amostragem = amostragem;
+        this.tamanhoRanking = tamanhoRanking;
+        this.lentas = new RankingConsultasLentas(tamanhoRanking);
+    }
+    
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATS_BUILDER, this);
+    }
+    
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        StatisticsImplementor novas = new StatisticsImpl(sessionFactory) {
+            @Override
+            public void queryExecuted(String consulta, int linhas, long tempoMs) {
+                super.queryExecuted(consulta, linhas, tempoMs);
+                execucao(consulta, linhas, tempoMs);
+            }
+        };
+        estatisticas = novas;
+        return novas;
+    }
+    
+    void execucao(String consulta, int linhas, long tempoMs) {
+        if (tempoMs >= limiteLentaMs) {
+            String origem = TemporizadorServicos.metodoAtual().orElse(ORIGEM_DESCONHECIDA);
+            execucoesLentas.increment();
+            lentas.registrar(new ExecucaoLenta(consulta, tempoMs, linhas, origem, LocalDateTime.now()));
+            logger.warn("consulta_lenta tempo_ms={} linhas={} origem={} sql=\"{}\"", tempoMs, linhas, origem, umaLinha(consulta));
+        } else if (logger.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < amostragem) {
+            logger.info("consulta_amostra tempo_ms={} linhas={} origem={} sql=\"{}\"", tempoMs, linhas,
+                TemporizadorServicos.metodoAtual().orElse(ORIGEM_DESCONHECIDA), umaLinha(consulta));
+        }
+    }
+    
+    // Consultas ordenadas pelo tempo total e as execuções mais lentas
+    public RelatorioSqlDTO relatorio(Integer limite) {
+        int quantidade = limite != null && limite > 0 ? limite : tamanhoRanking;
+        StatisticsImplementor atuais = estatisticas;
+        List<ConsultaSqlDTO> consultas = atuais == null ? List.of() : Arrays.stream(atuais.getQueries())
+            .map(consulta -> consulta(consulta, atuais.getQueryStatistics(consulta)))
+            .sorted(Comparator.comparingLong(ConsultaSqlDTO::getTempoTotalMs).reversed())
+            .limit(quantidade)
+            .toList();
+        List<ExecucaoLentaDTO> maisLentas = lentas.listar().stream()
+            .limit(quantidade)
+            .map(execucao -> new ExecucaoLentaDTO(execucao.sql(), execucao.tempoMs(), execucao.linhas(),
+                execucao.origem(), execucao.dataHora()))
+            .toList();
+        
+        return new RelatorioSqlDTO(
+            limiteLentaMs,
+            execucoesLentas.sum(),
+            atuais == null ? 0 : atuais.getQueryExecutionCount(),
+            atuais == null ? 0 : atuais.getPrepareStatementCount(),
+            atuais == null ? 0 : atuais.getEntityLoadCount(),
+            atuais == null ? 0 : atuais.getEntityInsertCount() + atuais.getEntityUpdateCount() + atuais.getEntityDeleteCount(),
+            consultas,
+            maisLentas);
+    }
+    
+    public void limpar() {
+        StatisticsImplementor atuais = estatisticas;
+        if (atuais != null) {
+            atuais.clear();
+        }
+        lentas.limpar();
+        execucoesLentas.reset();
+    }
+    
+    private static ConsultaSqlDTO consulta(String consulta, QueryStatistics estatisticas) {
+        return new ConsultaSqlDTO(consulta, estatisticas.getExecutionCount(), estatisticas.getExecutionTotalTime(),
+            estatisticas.getExecutionAvgTime(), estatisticas.getExecutionMaxTime(), estatisticas.getExecutionRowCount());
+    }
+    
+    private static String umaLinha(String sql) {
+        return sql.replaceAll("\\s+", " ").replace("\"", "'").trim();
+    }
+}
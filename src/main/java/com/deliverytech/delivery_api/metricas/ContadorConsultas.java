@@ -0,0 +1,43 @@
+package com.deliverytech.delivery_api.metricas;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread da requisição (um batch JDBC conta
+ * uma vez). Só conta entre {@link #iniciar()} e {@link #encerrar()}; consultas feitas em outras
+ * threads (@Async, corpo de respostas em streaming) ficam de fora.
+ */
+@Component
+public class ContadorConsultas implements StatementInspector, HibernatePropertiesCustomizer {
+    
+    private static final ThreadLocal<int[]> CONTAGEM = new ThreadLocal<>();
+    
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        int[] contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem[0]++;
+        }
+        return sql;
+    }
+    
+    static void iniciar() {
+        CONTAGEM.set(new int[1]);
+    }
+    
+    static int encerrar() {
+        int[] contagem = CONTAGEM.get();
+        CONTAGEM.remove();
+        return contagem == null ? 0 : contagem[0];
+    }
+}
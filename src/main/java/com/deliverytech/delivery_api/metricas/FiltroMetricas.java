@@ -0,0 +1,244 @@
+package com.deliverytech.delivery_api.metricas;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Mede cada requisição HTTP: latência, bytes de entrada e saída e comandos SQL, agrupados pelo
+ * método de controller que a atendeu. Respostas assíncronas (streaming) são registradas quando
+ * o processamento assíncrono termina.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class FiltroMetricas extends OncePerRequestFilter {
+    
+    private final RegistroMetricas registro;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        RequisicaoContada requisicao = new RequisicaoContada(request);
+        RespostaContada resposta = new RespostaContada(response);
+        registro.requisicaoIniciada();
+        ContadorConsultas.iniciar();
+        boolean assincrona = false;
+        try {
+            chain.doFilter(requisicao, resposta);
+            assincrona = requisicao.isAsyncStarted();
+        } finally {
+            int consultas = ContadorConsultas.encerrar();
+            if (assincrona) {
+                requisicao.getAsyncContext().addListener(new ConclusaoAssincrona(requisicao, resposta, inicio, consultas));
+            } else {
+                concluir(requisicao, resposta, inicio, consultas);
+            }
+        }
+    }
+    
+    private void concluir(RequisicaoContada requisicao, RespostaContada resposta, long inicio, int consultas) {
+        registro.requisicaoConcluida(endpoint(requisicao), System.nanoTime() - inicio, resposta.getStatus(),
+            requisicao.bytesLidos(), resposta.bytesEscritos, consultas);
+    }
+    
+    // Nome estável e de cardinalidade limitada: o método do controller, não a URL
+    private static String endpoint(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        }
+        return RegistroMetricas.NAO_MAPEADO;
+    }
+    
+    private final class ConclusaoAssincrona implements AsyncListener {
+        private final RequisicaoContada requisicao;
+        private final RespostaContada resposta;
+        private final long inicio;
+        private final int consultas;
+        private boolean registrada;
+        
+        private ConclusaoAssincrona(RequisicaoContada requisicao, RespostaContada resposta, long inicio, int consultas) {
+            this.requisicao = requisicao;
+            this.resposta = resposta;
+            this.inicio = inicio;
+            this.consultas = consultas;
+        }
+        
+        @Override
+        public synchronized void onComplete(AsyncEvent event) {
+            if (!registrada) {
+                registrada = true;
+                concluir(requisicao, resposta, inicio, consultas);
+            }
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+    
+    private static final class RequisicaoContada extends HttpServletRequestWrapper {
+        private ServletInputStream entrada;
+        private long bytesContados;
+        
+        private RequisicaoContada(HttpServletRequest request) {
+            super(request);
+        }
+        
+        // Content-Length quando informado (o corpo pode não ter sido lido); senão, o que foi lido
+        private long bytesLidos() {
+            long declarado = getContentLengthLong();
+            return declarado >= 0 ? declarado : bytesContados;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (entrada == null) {
+                ServletInputStream original = super.getInputStream();
+                entrada = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int lido = original.read();
+                        if (lido >= 0) {
+                            bytesContados++;
+                        }
+                        return lido;
+                    }
+                    
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int lidos = original.read(b, off, len);
+                        if (lidos > 0) {
+                            bytesContados += lidos;
+                        }
+                        return lidos;
+                    }
+                    
+                    @Override
+                    public boolean isFinished() {
+                        return original.isFinished();
+                    }
+                    
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+                    
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        original.setReadListener(listener);
+                    }
+                };
+            }
+            return entrada;
+        }
+    }
+    
+    private static final class RespostaContada extends HttpServletResponseWrapper {
+        private ServletOutputStream saida;
+        private PrintWriter escritor;
+        private volatile long bytesEscritos;
+        
+        private RespostaContada(HttpServletResponse response) {
+            super(response);
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (saida == null) {
+                ServletOutputStream original = super.getOutputStream();
+                saida = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        original.write(b);
+                        bytesEscritos++;
+                    }
+                    
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        original.write(b, off, len);
+                        bytesEscritos += len;
+                    }
+                    
+                    @Override
+                    public void flush() throws IOException {
+                        original.flush();
+                    }
+                    
+                    @Override
+                    public void close() throws IOException {
+                        original.close();
+                    }
+                    
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+                    
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        original.setWriteListener(listener);
+                    }
+                };
+            }
+            return saida;
+        }
+        
+        // Pelo writer conta caracteres (igual a bytes para ASCII); as respostas JSON usam o output stream
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                escritor = new PrintWriter(new FilterWriter(super.getWriter()) {
+                    @Override
+                    public void write(int c) throws IOException {
+                        super.write(c);
+                        bytesEscritos++;
+                    }
+                    
+                    @Override
+                    public void write(char[] cbuf, int off, int len) throws IOException {
+                        super.write(cbuf, off, len);
+                        bytesEscritos += len;
+                    }
+                    
+                    @Override
+                    public void write(String str, int off, int len) throws IOException {
+                        super.write(str, off, len);
+                        bytesEscritos += len;
+                    }
+                });
+            }
+            return escritor;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery_api.metricas;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em microssegundos com baldes log-lineares, no estilo do HdrHistogram:
+ * valores abaixo de 128 µs são exatos e, acima disso, cada potência de 2 é dividida em 64 baldes
+ * (erro relativo de até ~1,6%). Memória fixa (~14 KB) de 1 µs a 1 hora, sem travas no registro.
+ */
+public class HistogramaLatencia {
+    
+    private static final int BITS_SUBBALDE = 7;
+    private static final int SUBBALDES = 1 << BITS_SUBBALDE;
+    private static final int METADE = SUBBALDES / 2;
+    private static final long MAXIMO_RASTREAVEL = TimeUnit.HOURS.toMicros(1);
+    
+    private final AtomicLongArray contagens = new AtomicLongArray(indice(MAXIMO_RASTREAVEL) + 1);
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+    
+    public void registrarNanos(long nanos) {
+        registrar(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+    
+    public void registrar(long micros) {
+        long valor = Math.max(0, micros);
+        contagens.incrementAndGet(indice(Math.min(valor, MAXIMO_RASTREAVEL)));
+        soma.add(valor);
+        if (valor > maximo.get()) {
+            maximo.accumulateAndGet(valor, Math::max);
+        }
+    }
+    
+    // Cópia das contagens para calcular vários percentis sobre o mesmo estado
+    public Instantaneo instantaneo() {
+        long[] copia = new long[contagens.length()];
+        long total = 0;
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = contagens.get(i);
+            total += copia[i];
+        }
+        return new Instantaneo(copia, total, soma.sum(), maximo.get());
+    }
+    
+    static int indice(long valor) {
+        if (valor < SUBBALDES) {
+            return (int) valor;
+        }
+        int deslocamento = 64 - Long.numberOfLeadingZeros(valor) - BITS_SUBBALDE;
+        return SUBBALDES + (deslocamento - 1) * METADE + (int) (valor >>> deslocamento) - METADE;
+    }
+    
+    // Maior valor que cai no mesmo balde do índice
+    static long maiorValorEquivalente(int indice) {
+        if (indice < SUBBALDES) {
+            return indice;
+        }
+        int deslocamento = (indice - SUBBALDES) / METADE + 1;
+        long mantissa = (indice - SUBBALDES) % METADE + METADE;
+        return ((mantissa + 1) << deslocamento) - 1;
+    }
+    
+    public record Instantaneo(long[] contagens, long quantidade, long somaMicros, long maximoMicros) {
+        
+        // Percentil (0 a 100) em microssegundos; 0 quando não há registros
+        public long percentil(double percentil) {
+            if (quantidade == 0) {
+                return 0;
+            }
+            long alvo = Math.max(1, (long) Math.ceil(percentil / 100 * quantidade));
+            long acumulado = 0;
+            for (int i = 0; i < contagens.length; i++) {
+                acumulado += contagens[i];
+                if (acumulado >= alvo) {
+                    return Math.min(maiorValorEquivalente(i), maximoMicros);
+                }
+            }
+            return maximoMicros;
+        }
+        
+        public double mediaMicros() {
+            return quantidade == 0 ? 0 : (double) somaMicros / quantidade;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.delivery_api.metricas;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Guarda as N execuções mais lentas vistas até agora (heap de mínimo: a mais rápida das guardadas
+ * sai quando chega uma mais lenta). Só é chamado para execuções acima do limite, então a trava é
+ * disputada raramente.
+ */
+public class RankingConsultasLentas {
+    
+    private static final Comparator<ExecucaoLenta> POR_TEMPO = Comparator.comparingLong(ExecucaoLenta::tempoMs);
+    
+    private final int tamanho;
+    private final PriorityQueue<ExecucaoLenta> maisLentas;
+    
+    public RankingConsultasLentas(int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O ranking deve ter ao menos uma posição");
+        }
+        this.tamanho = tamanho;
+        this.maisLentas = new PriorityQueue<>(tamanho + 1, POR_TEMPO);
+    }
+    
+    public synchronized void registrar(ExecucaoLenta execucao) {
+        if (maisLentas.size() < tamanho) {
+            maisLentas.add(execucao);
+        } else if (execucao.tempoMs() > maisLentas.peek().tempoMs()) {
+            maisLentas.poll();
+            maisLentas.add(execucao);
+        }
+    }
+    
+    // Da mais lenta para a mais rápida
+    public synchronized List<ExecucaoLenta> listar() {
+        return maisLentas.stream().sorted(POR_TEMPO.reversed()).toList();
+    }
+    
+    public synchronized void limpar() {
+        maisLentas.clear();
+    }
+    
+    public record ExecucaoLenta(String sql, long tempoMs, int linhas, String origem, LocalDateTime dataHora) {}
+}
@@ -0,0 +1,218 @@
+package com.deliverytech.delivery_api.metricas;
+
+import com.deliverytech.delivery_api.dto.DesempenhoDTO;
+import com.deliverytech.delivery_api.dto.DesempenhoEndpointDTO;
+import com.deliverytech.delivery_api.dto.DesempenhoServicoDTO;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Métricas em memória por método de controller (alimentadas pelo {@link FiltroMetricas}) e por
+ * método de service (alimentadas pelo {@link TemporizadorServicos}), acumuladas desde o início
+ * da aplicação. Exportadas no formato texto do Prometheus e como resumo em /health/perf.
+ */
+@Component
+public class RegistroMetricas {
+    
+    // Requisições que não chegaram a um controller (404, recursos estáticos) ficam juntas
+    static final String NAO_MAPEADO = "nao_mapeado";
+    
+    private static final double[] QUANTIS = {0.5, 0.9, 0.99, 0.999};
+    
+    private final Map<String, MetricasEndpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<Method, MetricasServico> servicos = new ConcurrentHashMap<>();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger picoEmAndamento = new AtomicInteger();
+    
+    void requisicaoIniciada() {
+        int atual = emAndamento.incrementAndGet();
+        if (atual > picoEmAndamento.get()) {
+            picoEmAndamento.accumulateAndGet(atual, Math::max);
+        }
+    }
+    
+    void requisicaoConcluida(String endpoint, long nanos, int status, long bytesRequisicao, long bytesResposta, int consultas) {
+        emAndamento.decrementAndGet();
+        MetricasEndpoint metricas = endpoints.computeIfAbsent(endpoint, e -> new MetricasEndpoint());
+        metricas.latencia.registrarNanos(nanos);
+        metricas.bytesRequisicao.add(Math.max(0, bytesRequisicao));
+        metricas.bytesResposta.add(bytesResposta);
+        metricas.consultas.add(consultas);
+        if (consultas > metricas.maxConsultas.get()) {
+            metricas.maxConsultas.accumulateAndGet(consultas, Math::max);
+        }
+        if (status >= 500) {
+            metricas.errosServidor.increment();
+        } else if (status >= 400) {
+            metricas.errosCliente.increment();
+        }
+    }
+    
+    void chamadaServico(Method metodo, long nanos, boolean falhou) {
+        MetricasServico metricas = servicos.get(metodo);
+        if (metricas == null) {
+            metricas = servicos.computeIfAbsent(metodo,
+                m -> new MetricasServico(nome(m)));
+        }
+        metricas.latencia.registrarNanos(nanos);
+        if (falhou) {
+            metricas.falhas.increment();
+        }
+    }
+    
+    static String nome(Method metodo) {
+        return metodo.getDeclaringClass().getSimpleName() + "." + metodo.getName();
+    }
+    
+    public int emAndamento() {
+        return emAndamento.get();
+    }
+    
+    public DesempenhoDTO desempenho() {
+        List<DesempenhoEndpointDTO> porEndpoint = endpoints.entrySet().stream()
+            .map(entrada -> resumo(entrada.getKey(), entrada.getValue()))
+            .sorted(Comparator.comparingDouble(DesempenhoEndpointDTO::getTotalMs).reversed())
+            .toList();
+        List<DesempenhoServicoDTO> porServico = servicos.values().stream()
+            .map(RegistroMetricas::resumo)
+            .sorted(Comparator.comparingDouble(DesempenhoServicoDTO::getTotalMs).reversed())
+            .toList();
+        return new DesempenhoDTO(emAndamento.get(), picoEmAndamento.get(), porEndpoint, porServico);
+    }
+    
+    private static DesempenhoEndpointDTO resumo(String endpoint, MetricasEndpoint metricas) {
+        HistogramaLatencia.Instantaneo latencia = metricas.latencia.instantaneo();
+        long quantidade = latencia.quantidade();
+        return new DesempenhoEndpointDTO(endpoint, quantidade,
+            metricas.errosCliente.sum(), metricas.errosServidor.sum(),
+            ms(latencia.percentil(50)), ms(latencia.percentil(90)), ms(latencia.percentil(99)),
+            ms(latencia.percentil(99.9)), ms(latencia.maximoMicros()), ms(latencia.somaMicros()),
+            media(metricas.bytesRequisicao.sum(), quantidade), media(metricas.bytesResposta.sum(), quantidade),
+            media(metricas.consultas.sum(), quantidade), metricas.maxConsultas.get());
+    }
+    
+    private static DesempenhoServicoDTO resumo(MetricasServico metricas) {
+        HistogramaLatencia.Instantaneo latencia = metricas.latencia.instantaneo();
+        return new DesempenhoServicoDTO(metricas.nome, latencia.quantidade(), metricas.falhas.sum(),
+            ms(latencia.percentil(50)), ms(latencia.percentil(99)), ms(latencia.maximoMicros()),
+            ms(latencia.somaMicros()));
+    }
+    
+    // Formato de exposição em texto do Prometheus (version 0.0.4)
+    public String prometheus() {
+        StringBuilder saida = new StringBuilder(8192);
+        
+        cabecalho(saida, "delivery_http_requisicoes_em_andamento", "gauge", "Requisições HTTP em andamento");
+        saida.append("delivery_http_requisicoes_em_andamento ").append(emAndamento.get()).append('\n');
+        cabecalho(saida, "delivery_http_requisicoes_em_andamento_pico", "gauge", "Maior número de requisições HTTP simultâneas");
+        saida.append("delivery_http_requisicoes_em_andamento_pico ").append(picoEmAndamento.get()).append('\n');
+        
+        Map<String, HistogramaLatencia.Instantaneo> latenciasEndpoint = new TreeMap<>();
+        endpoints.forEach((endpoint, metricas) -> latenciasEndpoint.put(endpoint, metricas.latencia.instantaneo()));
+        resumoPrometheus(saida, "delivery_http_latencia_segundos", "Latência das requisições por método de controller",
+            "endpoint", latenciasEndpoint);
+        
+        cabecalho(saida, "delivery_http_erros_total", "counter", "Respostas de erro por método de controller e classe de status");
+        Map<String, MetricasEndpoint> ordenados = new TreeMap<>(endpoints);
+        ordenados.forEach((endpoint, metricas) -> {
+            amostra(saida, "delivery_http_erros_total", "endpoint", endpoint, "status", "4xx", metricas.errosCliente.sum());
+            amostra(saida, "delivery_http_erros_total", "endpoint", endpoint, "status", "5xx", metricas.errosServidor.sum());
+        });
+        contadorPorEndpoint(saida, ordenados, "delivery_http_requisicao_bytes_total", "Bytes recebidos no corpo das requisições",
+            metricas -> metricas.bytesRequisicao.sum());
+        contadorPorEndpoint(saida, ordenados, "delivery_http_resposta_bytes_total", "Bytes enviados no corpo das respostas",
+            metricas -> metricas.bytesResposta.sum());
+        contadorPorEndpoint(saida, ordenados, "delivery_http_consultas_banco_total", "Comandos SQL executados na thread das requisições",
+            metricas -> metricas.consultas.sum());
+        
+        Map<String, HistogramaLatencia.Instantaneo> latenciasServico = new TreeMap<>();
+        servicos.values().forEach(metricas -> latenciasServico.put(metricas.nome, metricas.latencia.instantaneo()));
+        resumoPrometheus(saida, "delivery_servico_latencia_segundos", "Latência dos métodos públicos de service",
+            "metodo", latenciasServico);
+        cabecalho(saida, "delivery_servico_falhas_total", "counter", "Chamadas de service que terminaram com exceção");
+        servicos.values().stream().sorted(Comparator.comparing(m -> m.nome)).forEach(metricas ->
+            amostra(saida, "delivery_servico_falhas_total", "metodo", metricas.nome, null, null, metricas.falhas.sum()));
+        
+        return saida.toString();
+    }
+    
+    private static void resumoPrometheus(StringBuilder saida, String nome, String ajuda, String rotulo,
+                                         Map<String, HistogramaLatencia.Instantaneo> latencias) {
+        cabecalho(saida, nome, "summary", ajuda);
+        latencias.forEach((valor, latencia) -> {
+            for (double quantil : QUANTIS) {
+                saida.append(nome).append('{').append(rotulo).append("=\"").append(valor)
+                    .append("\",quantile=\"").append(quantil).append("\"} ")
+                    .append(segundos(latencia.percentil(quantil * 100))).append('\n');
+            }
+            saida.append(nome).append("_sum{").append(rotulo).append("=\"").append(valor).append("\"} ")
+                .append(segundos(latencia.somaMicros())).append('\n');
+            saida.append(nome).append("_count{").append(rotulo).append("=\"").append(valor).append("\"} ")
+                .append(latencia.quantidade()).append('\n');
+        });
+    }
+    
+    private static void contadorPorEndpoint(StringBuilder saida, Map<String, MetricasEndpoint> ordenados, String nome,
+                                            String ajuda, ToLongFunction<MetricasEndpoint> valor) {
+        cabecalho(saida, nome, "counter", ajuda);
+        ordenados.forEach((endpoint, metricas) ->
+            amostra(saida, nome, "endpoint", endpoint, null, null, valor.applyAsLong(metricas)));
+    }
+    
+    private static void cabecalho(StringBuilder saida, String nome, String tipo, String ajuda) {
+        saida.append("# HELP ").append(nome).append(' ').append(ajuda).append('\n');
+        saida.append("# TYPE ").append(nome).append(' ').append(tipo).append('\n');
+    }
+    
+    private static void amostra(StringBuilder saida, String nome, String rotulo, String valorRotulo,
+                                String rotuloExtra, String valorExtra, long valor) {
+        saida.append(nome).append('{').append(rotulo).append("=\"").append(valorRotulo).append('"');
+        if (rotuloExtra != null) {
+            saida.append(',').append(rotuloExtra).append("=\"").append(valorExtra).append('"');
+        }
+        saida.append("} ").append(valor).append('\n');
+    }
+    
+    private static String segundos(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1e6);
+    }
+    
+    private static double ms(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+    
+    private static double media(long soma, long quantidade) {
+        return quantidade == 0 ? 0 : Math.round(soma * 10.0 / quantidade) / 10.0;
+    }
+    
+    private static final class MetricasEndpoint {
+        private final HistogramaLatencia latencia = new HistogramaLatencia();
+        private final LongAdder bytesRequisicao = new LongAdder();
+        private final LongAdder bytesResposta = new LongAdder();
+        private final LongAdder consultas = new LongAdder();
+        private final AtomicLong maxConsultas = new AtomicLong();
+        private final LongAdder errosCliente = new LongAdder();
+        private final LongAdder errosServidor = new LongAdder();
+    }
+    
+    private static final class MetricasServico {
+        private final String nome;
+        private final HistogramaLatencia latencia = new HistogramaLatencia();
+        private final LongAdder falhas = new LongAdder();
+        
+        private MetricasServico(String nome) {
+            this.nome = nome;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.deliverytech.delivery_api.metricas;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Mede a latência dos métodos públicos dos beans do pacote service. Chamadas internas
+ * (this.metodo()) não passam pelo proxy e entram no tempo do método que as chamou. O método em
+ * execução na thread fica disponível como origem das consultas SQL capturadas.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TemporizadorServicos {
+    
+    // Método de service mais interno em execução na thread
+    private static final ThreadLocal<Method> METODO_ATUAL = new ThreadLocal<>();
+    
+    private final RegistroMetricas registro;
+    
+    static Optional<String> metodoAtual() {
+        return Optional.ofNullable(METODO_ATUAL.get()).map(RegistroMetricas::nome);
+    }
+    
+    @Around("execution(public * com.deliverytech.delivery_api.service..*.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Method anterior = METODO_ATUAL.get();
+        METODO_ATUAL.set(metodo);
+        long inicio = System.nanoTime();
+        boolean falhou = true;
+        try {
+            Object resultado = joinPoint.proceed();
+            falhou = false;
+            return resultado;
+        } finally {
+            registro.chamadaServico(metodo, System.nanoTime() - inicio, falhou);
+            if (anterior == null) {
+                METODO_ATUAL.remove();
+            } else {
+                METODO_ATUAL.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Resposta original de um POST /api/pedidos, guardada pela chave de idempotência enviada pelo cliente
+@Entity
+@Table(name = "chaves_idempotencia", indexes = @Index(name = "idx_chaves_idempotencia_data", columnList = "data_criacao"))
+@Data
+@NoArgsConstructor
+public class ChaveIdempotencia implements Persistable<String> {
+    
+    @Id
+    @Column(length = 100)
+    private String chave;
+    
+    // SHA-256 do corpo da requisição, para detectar a mesma chave usada com outro pedido
+    @Column(name = "hash_requisicao", nullable = false, length = 64)
+    private String hashRequisicao;
+    
+    @Column(name = "pedido_id", nullable = false)
+    private Long pedidoId;
+    
+    @Lob
+    @Column(nullable = false)
+    private String resposta;
+    
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+    
+    // Sempre INSERT ao salvar uma chave nova (nunca merge), para que a PK detecte a concorrência
+    @Transient
+    private boolean nova = true;
+    
+    public ChaveIdempotencia(String chave, String hashRequisicao, Long pedidoId, String resposta, LocalDateTime dataCriacao) {
+        this.chave = chave;
+        this.hashRequisicao = hashRequisicao;
+        this.pedidoId = pedidoId;
+        this.resposta = resposta;
+        this.dataCriacao = dataCriacao;
+    }
+    
+    @Override
+    public String getId() {
+        return chave;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+    
+    @PostLoad
+    void marcarCarregada() {
+        nova = false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Faixa da tabela de taxa de entrega de um restaurante: até distanciaMaximaKm cobra-se taxa
+@Entity
+@Table(name = "faixas_taxa_entrega",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"restaurante_id", "distancia_maxima_km"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaixaTaxaEntrega {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurante_id", nullable = false)
+    private Restaurante restaurante;
+    
+    @Column(name = "distancia_maxima_km", nullable = false, precision = 6, scale = 2)
+    private BigDecimal distanciaMaximaKm;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal taxa;
+}
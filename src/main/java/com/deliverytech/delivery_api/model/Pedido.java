@@ -11,14 +11,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "pedidos")
+@Table(name = "pedidos", indexes = @Index(name = "idx_pedidos_data_criacao_id", columnList = "data_criacao, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Pedido {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -54,6 +55,11 @@ public class Pedido {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
     
+    // Controle otimista de concorrência entre atualizações do mesmo pedido
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+    
     public enum StatusPedido {
         PENDENTE, CONFIRMADO, PREPARANDO, SAIU_PARA_ENTREGA, ENTREGUE, CANCELADO
     }
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Contadores de vendas por hora, mantidos a cada criação/cancelamento de pedido
+@Entity
+@Table(name = "resumos_vendas",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"tipo", "referencia_id", "periodo"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoVendas {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoResumo tipo;
+    
+    @Column(name = "referencia_id", nullable = false)
+    private Long referenciaId;
+    
+    @Column(nullable = false)
+    private LocalDateTime periodo;
+    
+    @Column(name = "quantidade_pedidos", nullable = false)
+    private Long quantidadePedidos = 0L;
+    
+    @Column(name = "quantidade_itens", nullable = false)
+    private Long quantidadeItens = 0L;
+    
+    @Column(name = "valor_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorTotal = BigDecimal.ZERO;
+    
+    public enum TipoResumo {
+        RESTAURANTE, PRODUTO, CLIENTE
+    }
+}
@@ -0,0 +1,112 @@
+package com.deliverytech.delivery_api.notificacao;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Um assinante do barramento, com buffer próprio e limitado. Quem publica só enfileira (nunca
+ * espera pela rede); o envio roda numa tarefa do executor, uma por vez por assinante, o que
+ * mantém a ordem dos eventos. Se o buffer enche, o assinante está lento demais: a assinatura é
+ * encerrada e o cliente retoma do último evento recebido via Last-Event-ID.
+ */
+public final class Assinatura {
+    
+    // Escrita efetiva no canal do assinante (o stream SSE, no caso da API)
+    public interface Envio {
+        void enviar(Notificacao notificacao) throws Exception;
+        
+        default void encerrar() {
+        }
+    }
+    
+    private final Topico topico;
+    private final Long chave;
+    private final ArrayBlockingQueue<Notificacao> fila;
+    private final Envio envio;
+    private final Executor executor;
+    private final Consumer<Assinatura> aoEncerrar;
+    private final AtomicBoolean agendada = new AtomicBoolean();
+    private final AtomicBoolean encerrada = new AtomicBoolean();
+    
+    Assinatura(Topico topico, Long chave, int capacidade, Envio envio, Executor executor,
+               Consumer<Assinatura> aoEncerrar) {
+        this.topico = topico;
+        this.chave = chave;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.envio = envio;
+        this.executor = executor;
+        this.aoEncerrar = aoEncerrar;
+    }
+    
+    public Topico topico() {
+        return topico;
+    }
+    
+    public Long chave() {
+        return chave;
+    }
+    
+    public boolean ativa() {
+        return !encerrada.get();
+    }
+    
+    boolean oferecer(Notificacao notificacao) {
+        if (encerrada.get()) {
+            return false;
+        }
+        if (!fila.offer(notificacao)) {
+            encerrar();
+            return false;
+        }
+        agendar();
+        return true;
+    }
+    
+    // Heartbeat só quando não há nada pendente: havendo eventos na fila, eles já mantêm a conexão viva
+    void oferecerSeOcioso(Notificacao notificacao) {
+        if (fila.isEmpty()) {
+            oferecer(notificacao);
+        }
+    }
+    
+    public void encerrar() {
+        if (encerrada.compareAndSet(false, true)) {
+            fila.clear();
+            aoEncerrar.accept(this);
+            // Fechar o canal pode envolver I/O: fica fora da thread de quem publicou
+            try {
+                executor.execute(envio::encerrar);
+            } catch (RejectedExecutionException e) {
+                // Executor já desligado (aplicação encerrando)
+                envio.encerrar();
+            }
+        }
+    }
+    
+    private void agendar() {
+        if (agendada.compareAndSet(false, true)) {
+            executor.execute(this::drenar);
+        }
+    }
+    
+    private void drenar() {
+        try {
+            Notificacao notificacao;
+            while (!encerrada.get() && (notificacao = fila.poll()) != null) {
+                envio.enviar(notificacao);
+            }
+        } catch (Exception e) {
+            // Conexão caída: o cliente retoma pelo Last-Event-ID ao reconectar
+            encerrar();
+        } finally {
+            agendada.set(false);
+            // Algo pode ter chegado entre o último poll e a liberação da flag
+            if (!fila.isEmpty() && !encerrada.get()) {
+                agendar();
+            }
+        }
+    }
+}
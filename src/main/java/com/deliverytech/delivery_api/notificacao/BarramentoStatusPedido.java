@@ -0,0 +1,144 @@
+package com.deliverytech.delivery_api.notificacao;
+
+import com.deliverytech.delivery_api.dto.StatusPedidoEventoDTO;
+import com.deliverytech.delivery_api.event.StatusPedidoAlteradoEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Barramento em memória das mudanças de status de pedido, alimentado após o commit de cada
+ * transição. Cada evento recebe um ID sequencial e é entregue aos assinantes do pedido, do
+ * restaurante e do cliente; os últimos eventos ficam num histórico circular para que quem
+ * reconecta com Last-Event-ID receba o que perdeu. Os IDs recomeçam quando a aplicação sobe:
+ * um Last-Event-ID à frente do último publicado leva o cliente a resincronizar.
+ */
+@Component
+public class BarramentoStatusPedido {
+    
+    private final int capacidadeBuffer;
+    private final Notificacao[] historico;
+    private final Map<Topico, Map<Long, Set<Assinatura>>> assinantes = new EnumMap<>(Topico.class);
+    private final Set<Assinatura> todas = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private long ultimoId;
+    
+    public BarramentoStatusPedido(@Value("${delivery.sse.buffer:256}") int capacidadeBuffer,
+                                  @Value("${delivery.sse.historico:10000}") int tamanhoHistorico) {
+        this.capacidadeBuffer = capacidadeBuffer;
+        this.historico = new Notificacao[tamanhoHistorico];
+        for (Topico topico : Topico.values()) {
+            assinantes.put(topico, new ConcurrentHashMap<>());
+        }
+    }
+    
+    @TransactionalEventListener
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        publicar(new StatusPedidoEventoDTO(evento.pedidoId(), evento.clienteId(), evento.restauranteId(),
+            evento.status(), evento.dataHora()));
+    }
+    
+    // Sob o mesmo lock da assinatura: quem assina durante uma publicação recebe o evento pelo
+    // histórico ou pelo buffer, nunca pelos dois nem por nenhum. Enfileirar não bloqueia.
+    public synchronized long publicar(StatusPedidoEventoDTO evento) {
+        Notificacao notificacao = new Notificacao(++ultimoId, Notificacao.STATUS, evento);
+        historico[posicao(ultimoId)] = notificacao;
+        for (Topico topico : Topico.values()) {
+            Set<Assinatura> interessados = assinantes.get(topico).get(topico.chave(evento));
+            if (interessados != null) {
+                for (Assinatura assinatura : interessados) {
+                    assinatura.oferecer(notificacao);
+                }
+            }
+        }
+        return ultimoId;
+    }
+    
+    /**
+     * Registra um assinante de um tópico. Com ultimoIdRecebido, reenvia antes os eventos do
+     * tópico publicados depois dele; se o histórico já não os cobre (ou se eles não cabem no
+     * buffer), envia um único evento de resincronização.
+     */
+    public Assinatura assinar(Topico topico, Long chave, Long ultimoIdRecebido, Assinatura.Envio envio) {
+        Assinatura assinatura = new Assinatura(topico, chave, capacidadeBuffer, envio, executor, this::remover);
+        
+        synchronized (this) {
+            if (ultimoIdRecebido != null) {
+                reenviar(assinatura, topico, chave, ultimoIdRecebido);
+            }
+            todas.add(assinatura);
+            assinantes.get(topico).compute(chave, (id, conjunto) -> {
+                Set<Assinatura> atual = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+                atual.add(assinatura);
+                return atual;
+            });
+        }
+        return assinatura;
+    }
+    
+    @Scheduled(fixedDelayString = "${delivery.sse.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Assinatura assinatura : todas) {
+            assinatura.oferecerSeOcioso(Notificacao.HEARTBEAT);
+        }
+    }
+    
+    public int assinaturasAtivas() {
+        return todas.size();
+    }
+    
+    public synchronized long ultimoId() {
+        return ultimoId;
+    }
+    
+    @PreDestroy
+    public void encerrar() {
+        for (Assinatura assinatura : List.copyOf(todas)) {
+            assinatura.encerrar();
+        }
+        executor.close();
+    }
+    
+    private void remover(Assinatura assinatura) {
+        todas.remove(assinatura);
+        assinantes.get(assinatura.topico()).computeIfPresent(assinatura.chave(), (id, conjunto) -> {
+            conjunto.remove(assinatura);
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+    }
+    
+    private void reenviar(Assinatura assinatura, Topico topico, Long chave, long ultimoIdRecebido) {
+        long maisAntigo = Math.max(1, ultimoId - historico.length + 1);
+        if (ultimoIdRecebido > ultimoId || ultimoIdRecebido < maisAntigo - 1) {
+            assinatura.oferecer(new Notificacao(ultimoId, Notificacao.RESINCRONIZAR, null));
+            return;
+        }
+        List<Notificacao> perdidas = new ArrayList<>();
+        for (long id = ultimoIdRecebido + 1; id <= ultimoId; id++) {
+            Notificacao notificacao = historico[posicao(id)];
+            if (chave.equals(topico.chave(notificacao.dados()))) {
+                if (perdidas.size() == capacidadeBuffer) {
+                    assinatura.oferecer(new Notificacao(ultimoId, Notificacao.RESINCRONIZAR, null));
+                    return;
+                }
+                perdidas.add(notificacao);
+            }
+        }
+        perdidas.forEach(assinatura::oferecer);
+    }
+    
+    private int posicao(long id) {
+        return (int) ((id - 1) % historico.length);
+    }
+}
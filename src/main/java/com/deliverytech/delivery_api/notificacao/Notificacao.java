@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.notificacao;
+
+import com.deliverytech.delivery_api.dto.StatusPedidoEventoDTO;
+
+/**
+ * Mensagem entregue a um assinante. Eventos de status levam o ID sequencial usado no
+ * Last-Event-ID; o heartbeat não tem ID nem nome e vira um comentário no stream.
+ */
+public record Notificacao(Long id, String evento, StatusPedidoEventoDTO dados) {
+    
+    public static final String STATUS = "status";
+    
+    // O histórico não cobre mais o ponto de retomada: o cliente deve recarregar o estado atual
+    public static final String RESINCRONIZAR = "resincronizar";
+    
+    static final Notificacao HEARTBEAT = new Notificacao(null, null, null);
+    
+    public boolean heartbeat() {
+        return evento == null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.notificacao;
+
+import com.deliverytech.delivery_api.dto.StatusPedidoEventoDTO;
+
+import java.util.function.Function;
+
+// Recortes assináveis do fluxo de status: um pedido, os pedidos de um restaurante ou de um cliente
+public enum Topico {
+    PEDIDO(StatusPedidoEventoDTO::getPedidoId),
+    RESTAURANTE(StatusPedidoEventoDTO::getRestauranteId),
+    CLIENTE(StatusPedidoEventoDTO::getClienteId);
+    
+    private final Function<StatusPedidoEventoDTO, Long> chave;
+    
+    Topico(Function<StatusPedidoEventoDTO, Long> chave) {
+        this.chave = chave;
+    }
+    
+    public Long chave(StatusPedidoEventoDTO evento) {
+        return chave.apply(evento);
+    }
+}
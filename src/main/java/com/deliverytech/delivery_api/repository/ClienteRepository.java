@@ -1,14 +1,33 @@
 package com.deliverytech.delivery_api.repository;
 
 import com.deliverytech.delivery_api.model.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByEmail(String email);
     boolean existsByEmail(String email);
+    Page<Cliente> findByAtivoTrue(Pageable pageable);
+    
+    // Usada para montar o filtro de Bloom de emails
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.email FROM Cliente c")
+    Stream<String> streamEmails();
+    
+    // Paginação por cursor (keyset) sobre o id, usada também na exportação em lotes
+    @Query("SELECT c FROM Cliente c WHERE c.id > :id AND (:apenasAtivos = false OR c.ativo = true) ORDER BY c.id")
+    List<Cliente> findPaginaApos(@Param("id") Long id, @Param("apenasAtivos") boolean apenasAtivos, Limit limit);
 }
-
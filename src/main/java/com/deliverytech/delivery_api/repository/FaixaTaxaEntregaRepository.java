@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.FaixaTaxaEntrega;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FaixaTaxaEntregaRepository extends JpaRepository<FaixaTaxaEntrega, Long> {
+    List<FaixaTaxaEntrega> findByRestauranteIdOrderByDistanciaMaximaKm(Long restauranteId);
+    
+    @Query("SELECT f FROM FaixaTaxaEntrega f ORDER BY f.restaurante.id, f.distanciaMaximaKm")
+    List<FaixaTaxaEntrega> findAllOrdenadas();
+    
+    @Modifying
+    @Query("DELETE FROM FaixaTaxaEntrega f WHERE f.restaurante.id = :restauranteId")
+    void excluirPorRestaurante(@Param("restauranteId") Long restauranteId);
+}
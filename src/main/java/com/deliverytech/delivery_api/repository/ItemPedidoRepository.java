@@ -1,6 +1,6 @@
 package com.deliverytech.delivery_api.repository;
 
-import com.deliverytech.delivery_api.entity.ItemPedido;
+import com.deliverytech.delivery_api.model.ItemPedido;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,7 +28,7 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
            "LIMIT :limit", nativeQuery = true)
     List<Object[]> findRankingClientesPorPedidos(@Param("limit") int limit);
     
-    @Query(value = "SELECT r.categoria, SUM(p.valor_total) as faturamentoTotal " +
+    @Query(value = "SELECT r.categoria, SUM(p.total) as faturamentoTotal " +
            "FROM pedidos p " +
            "JOIN itens_pedido ip ON p.id = ip.pedido_id " +
            "JOIN produtos pr ON ip.produto_id = pr.id " +
@@ -1,14 +1,26 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.PedidoPeriodoDTO;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.Pedido.StatusPedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
@@ -17,5 +29,73 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     List<Pedido> findByStatus(StatusPedido status);
     List<Pedido> findByDataCriacaoBetween(LocalDateTime inicio, LocalDateTime fim);
     Page<Pedido> findByStatus(StatusPedido status, Pageable pageable);
+    
+    // Transição de status em um único UPDATE, só se o status atual estiver entre os permitidos;
+    // incrementa a versão para que quem tenha o pedido carregado perceba a alteração
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novoStatus, p.dataAtualizacao = :agora, p.versao = p.versao + 1 " +
+           "WHERE p.id = :id AND p.status IN :permitidos")
+    int atualizarStatusSeEm(@Param("id") Long id,
+                            @Param("novoStatus") StatusPedido novoStatus,
+                            @Param("permitidos") Collection<StatusPedido> permitidos,
+                            @Param("agora") LocalDateTime agora);
+    
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedido> findStatusById(@Param("id") Long id);
+    
+    // Leituras com cliente, restaurante e itens/produtos carregados na mesma consulta
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> findComDetalhesById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    List<Pedido> findComDetalhesByIdIn(Collection<Long> ids);
+    
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    List<Pedido> findComDetalhesByClienteId(Long clienteId);
+    
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    List<Pedido> findComDetalhesByRestauranteId(Long restauranteId);
+    
+    // Paginação em duas fases: primeiro a página de IDs (paginada no banco), depois os detalhes
+    @Query(value = "SELECT p.id FROM Pedido p",
+           countQuery = "SELECT COUNT(p) FROM Pedido p")
+    Page<Long> findIds(Pageable pageable);
+    
+    @Query(value = "SELECT p.id FROM Pedido p WHERE p.status = :status",
+           countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.status = :status")
+    Page<Long> findIdsByStatus(@Param("status") StatusPedido status, Pageable pageable);
+    
+    // Paginação por cursor (keyset) sobre (dataCriacao, id), sem OFFSET nem COUNT
+    @Query("SELECT p.id FROM Pedido p WHERE (:status IS NULL OR p.status = :status) " +
+           "ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<Long> findIdsMaisRecentes(@Param("status") StatusPedido status, Limit limit);
+    
+    @Query("SELECT p.id FROM Pedido p WHERE (:status IS NULL OR p.status = :status) " +
+           "AND (p.dataCriacao < :dataCriacao OR (p.dataCriacao = :dataCriacao AND p.id < :id)) " +
+           "ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<Long> findIdsAnterioresA(@Param("status") StatusPedido status,
+                                  @Param("dataCriacao") LocalDateTime dataCriacao,
+                                  @Param("id") Long id,
+                                  Limit limit);
+    
+    // Leitura forward-only para exportação: projeção em DTO (nada fica no contexto de persistência)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.deliverytech.delivery_api.dto.PedidoPeriodoDTO(p.id, c.nome, r.nome, p.status, p.total, p.dataCriacao) " +
+           "FROM Pedido p JOIN p.cliente c JOIN p.restaurante r " +
+           "ORDER BY p.dataCriacao, p.id")
+    Stream<PedidoPeriodoDTO> streamPedidos();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.deliverytech.delivery_api.dto.PedidoPeriodoDTO(p.id, c.nome, r.nome, p.status, p.total, p.dataCriacao) " +
+           "FROM Pedido p JOIN p.cliente c JOIN p.restaurante r " +
+           "WHERE p.dataCriacao BETWEEN :inicio AND :fim " +
+           "ORDER BY p.dataCriacao, p.id")
+    Stream<PedidoPeriodoDTO> streamPedidosPorPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 }
-
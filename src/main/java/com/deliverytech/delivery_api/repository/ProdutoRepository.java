@@ -1,16 +1,46 @@
 package com.deliverytech.delivery_api.repository;
 
 import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.search.DocumentoProduto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     List<Produto> findByRestauranteId(Long restauranteId);
     List<Produto> findByRestauranteIdAndDisponivel(Long restauranteId, Boolean disponivel);
     List<Produto> findByCategoria(String categoria);
-    List<Produto> findByNomeContainingIgnoreCase(String nome);
+    
+    // Cardápio de um restaurante, opcionalmente filtrado por disponibilidade
+    @Query("SELECT p FROM Produto p JOIN FETCH p.restaurante r " +
+           "WHERE r.id = :restauranteId AND (:disponivel IS NULL OR p.disponivel = :disponivel) " +
+           "ORDER BY p.id")
+    List<Produto> findCardapio(@Param("restauranteId") Long restauranteId, @Param("disponivel") Boolean disponivel);
+    
+    @Query("SELECT p FROM Produto p JOIN FETCH p.restaurante WHERE p.id IN :ids")
+    List<Produto> findAllByIdComRestaurante(@Param("ids") Collection<Long> ids);
+    
+    // Projeções usadas para montar e atualizar o índice de busca
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.deliverytech.delivery_api.search.DocumentoProduto(p.id, p.restaurante.id, p.nome, p.descricao, p.categoria, p.disponivel) " +
+           "FROM Produto p")
+    Stream<DocumentoProduto> streamDocumentos();
+    
+    @Query("SELECT new com.deliverytech.delivery_api.search.DocumentoProduto(p.id, p.restaurante.id, p.nome, p.descricao, p.categoria, p.disponivel) " +
+           "FROM Produto p WHERE p.id = :id")
+    Optional<DocumentoProduto> findDocumentoById(@Param("id") Long id);
 }
 
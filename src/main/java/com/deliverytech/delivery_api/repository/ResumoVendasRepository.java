@@ -0,0 +1,94 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.dto.RelatorioClientesDTO;
+import com.deliverytech.delivery_api.dto.RelatorioProdutosDTO;
+import com.deliverytech.delivery_api.dto.RelatorioVendasDTO;
+import com.deliverytech.delivery_api.model.ResumoVendas;
+import com.deliverytech.delivery_api.model.ResumoVendas.TipoResumo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ResumoVendasRepository extends JpaRepository<ResumoVendas, Long> {
+    
+    @Modifying
+    @Query(value = "DELETE FROM resumos_vendas", nativeQuery = true)
+    int limpar();
+    
+    @Modifying
+    @Query(value = "INSERT INTO resumos_vendas (tipo, referencia_id, periodo, quantidade_pedidos, quantidade_itens, valor_total) " +
+           "SELECT 'RESTAURANTE', p.restaurante_id, DATE_TRUNC('HOUR', p.data_criacao), COUNT(*), " +
+           "COALESCE(SUM(t.itens), 0), SUM(p.total) " +
+           "FROM pedidos p LEFT JOIN (SELECT pedido_id, SUM(quantidade) AS itens FROM itens_pedido GROUP BY pedido_id) t " +
+           "ON t.pedido_id = p.id WHERE p.status <> 'CANCELADO' " +
+           "GROUP BY p.restaurante_id, DATE_TRUNC('HOUR', p.data_criacao)", nativeQuery = true)
+    int reconstruirPorRestaurante();
+    
+    @Modifying
+    @Query(value = "INSERT INTO resumos_vendas (tipo, referencia_id, periodo, quantidade_pedidos, quantidade_itens, valor_total) " +
+           "SELECT 'CLIENTE', p.cliente_id, DATE_TRUNC('HOUR', p.data_criacao), COUNT(*), " +
+           "COALESCE(SUM(t.itens), 0), SUM(p.total) " +
+           "FROM pedidos p LEFT JOIN (SELECT pedido_id, SUM(quantidade) AS itens FROM itens_pedido GROUP BY pedido_id) t " +
+           "ON t.pedido_id = p.id WHERE p.status <> 'CANCELADO' " +
+           "GROUP BY p.cliente_id, DATE_TRUNC('HOUR', p.data_criacao)", nativeQuery = true)
+    int reconstruirPorCliente();
+    
+    @Modifying
+    @Query(value = "INSERT INTO resumos_vendas (tipo, referencia_id, periodo, quantidade_pedidos, quantidade_itens, valor_total) " +
+           "SELECT 'PRODUTO', i.produto_id, DATE_TRUNC('HOUR', p.data_criacao), COUNT(DISTINCT p.id), " +
+           "SUM(i.quantidade), SUM(i.subtotal) " +
+           "FROM itens_pedido i JOIN pedidos p ON i.pedido_id = p.id WHERE p.status <> 'CANCELADO' " +
+           "GROUP BY i.produto_id, DATE_TRUNC('HOUR', p.data_criacao)", nativeQuery = true)
+    int reconstruirPorProduto();
+    
+    @Query("SELECT r.id AS restauranteId, r.nome AS restauranteNome, " +
+           "SUM(v.valorTotal) AS totalVendas, SUM(v.quantidadePedidos) AS quantidadePedidos " +
+           "FROM ResumoVendas v, Restaurante r " +
+           "WHERE v.tipo = :tipo AND r.id = v.referenciaId " +
+           "GROUP BY r.id, r.nome HAVING SUM(v.quantidadePedidos) > 0")
+    List<RelatorioVendasDTO> somarVendasPorRestaurante(@Param("tipo") TipoResumo tipo);
+    
+    @Query("SELECT r.id AS restauranteId, r.nome AS restauranteNome, " +
+           "SUM(v.valorTotal) AS totalVendas, SUM(v.quantidadePedidos) AS quantidadePedidos " +
+           "FROM ResumoVendas v, Restaurante r " +
+           "WHERE v.tipo = :tipo AND r.id = v.referenciaId AND v.periodo BETWEEN :inicio AND :fim " +
+           "GROUP BY r.id, r.nome HAVING SUM(v.quantidadePedidos) > 0")
+    List<RelatorioVendasDTO> somarVendasPorRestaurantePeriodo(@Param("tipo") TipoResumo tipo,
+                                                             @Param("inicio") LocalDateTime inicio,
+                                                             @Param("fim") LocalDateTime fim);
+    
+    @Query("SELECT p.id AS produtoId, p.nome AS produtoNome, " +
+           "SUM(v.quantidadeItens) AS quantidadeVendida, SUM(v.valorTotal) AS totalVendido " +
+           "FROM ResumoVendas v, Produto p " +
+           "WHERE v.tipo = :tipo AND p.id = v.referenciaId " +
+           "GROUP BY p.id, p.nome HAVING SUM(v.quantidadeItens) > 0 " +
+           "ORDER BY SUM(v.quantidadeItens) DESC, p.id")
+    List<RelatorioProdutosDTO> somarProdutosMaisVendidos(@Param("tipo") TipoResumo tipo, Pageable pageable);
+    
+    @Query("SELECT c.id AS clienteId, c.nome AS clienteNome, " +
+           "SUM(v.quantidadePedidos) AS totalPedidos, SUM(v.valorTotal) AS totalGasto " +
+           "FROM ResumoVendas v, Cliente c " +
+           "WHERE v.tipo = :tipo AND c.id = v.referenciaId " +
+           "GROUP BY c.id, c.nome HAVING SUM(v.quantidadePedidos) > 0 " +
+           "ORDER BY SUM(v.quantidadePedidos) DESC, c.id")
+    List<RelatorioClientesDTO> somarClientesAtivos(@Param("tipo") TipoResumo tipo, Pageable pageable);
+    
+    // Totais acumulados por referência (popularidade usada no autocompletar)
+    @Query("SELECT v.referenciaId AS referenciaId, SUM(v.quantidadePedidos) AS quantidadePedidos, " +
+           "SUM(v.quantidadeItens) AS quantidadeItens " +
+           "FROM ResumoVendas v WHERE v.tipo = :tipo GROUP BY v.referenciaId")
+    List<TotalVendas> somarTotaisPorReferencia(@Param("tipo") TipoResumo tipo);
+    
+    interface TotalVendas {
+        Long getReferenciaId();
+        Long getQuantidadePedidos();
+        Long getQuantidadeItens();
+    }
+}
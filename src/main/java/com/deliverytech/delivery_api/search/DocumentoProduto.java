@@ -0,0 +1,6 @@
+package com.deliverytech.delivery_api.search;
+
+// Campos do produto usados pelos índices de busca (projeção, sem carregar a entidade)
+public record DocumentoProduto(Long id, Long restauranteId, String nome, String descricao,
+                               String categoria, Boolean disponivel) {
+}
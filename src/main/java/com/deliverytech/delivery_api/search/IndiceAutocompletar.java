@@ -0,0 +1,99 @@
+package com.deliverytech.delivery_api.search;
+
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.event.VendasRegistradasEvent;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.ResumoVendas.TipoResumo;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.ResumoVendasRepository;
+import com.deliverytech.delivery_api.repository.ResumoVendasRepository.TotalVendas;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Tries de autocompletar para produtos disponíveis e restaurantes ativos, ordenadas por
+ * popularidade (unidades vendidas / pedidos, vindas dos resumos de vendas).
+ */
+@Component
+public class IndiceAutocompletar {
+    
+    private final ProdutoRepository produtoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ResumoVendasRepository resumoVendasRepository;
+    private final TrieAutocompletar produtos = new TrieAutocompletar();
+    private final TrieAutocompletar restaurantes = new TrieAutocompletar();
+    
+    public IndiceAutocompletar(ProdutoRepository produtoRepository,
+                               RestauranteRepository restauranteRepository,
+                               ResumoVendasRepository resumoVendasRepository) {
+        this.produtoRepository = produtoRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.resumoVendasRepository = resumoVendasRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        produtos.limpar();
+        restaurantes.limpar();
+        
+        for (TotalVendas total : resumoVendasRepository.somarTotaisPorReferencia(TipoResumo.PRODUTO)) {
+            produtos.definirPopularidade(total.getReferenciaId(), total.getQuantidadeItens());
+        }
+        for (TotalVendas total : resumoVendasRepository.somarTotaisPorReferencia(TipoResumo.RESTAURANTE)) {
+            restaurantes.definirPopularidade(total.getReferenciaId(), total.getQuantidadePedidos());
+        }
+        
+        try (Stream<DocumentoProduto> documentos = produtoRepository.streamDocumentos()) {
+            documentos.filter(produto -> Boolean.TRUE.equals(produto.disponivel()))
+                .forEach(produto -> produtos.indexar(produto.id(), produto.nome()));
+        }
+        for (Restaurante restaurante : restauranteRepository.findByAtivo(true)) {
+            restaurantes.indexar(restaurante.getId(), restaurante.getNome());
+        }
+    }
+    
+    @TransactionalEventListener
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        produtoRepository.findDocumentoById(evento.produtoId())
+            .filter(produto -> Boolean.TRUE.equals(produto.disponivel()))
+            .ifPresentOrElse(
+                produto -> produtos.indexar(produto.id(), produto.nome()),
+                () -> produtos.remover(evento.produtoId()));
+    }
+    
+    @TransactionalEventListener
+    public void aoAlterarRestaurante(RestauranteAlteradoEvent evento) {
+        restauranteRepository.findById(evento.restauranteId())
+            .filter(restaurante -> Boolean.TRUE.equals(restaurante.getAtivo()))
+            .ifPresentOrElse(
+                restaurante -> restaurantes.indexar(restaurante.getId(), restaurante.getNome()),
+                () -> restaurantes.remover(evento.restauranteId()));
+    }
+    
+    // Só atualiza contadores em memória: roda fora da thread da requisição que criou o pedido
+    @Async
+    @TransactionalEventListener
+    public void aoRegistrarVendas(VendasRegistradasEvent evento) {
+        restaurantes.somarPopularidade(evento.restauranteId(), evento.sinal());
+        evento.quantidadePorProduto().forEach((produtoId, quantidade) ->
+            produtos.somarPopularidade(produtoId, evento.sinal() * quantidade));
+    }
+    
+    public List<TrieAutocompletar.Sugestao> sugerirProdutos(String prefixo, int limite) {
+        return produtos.sugerir(prefixo, limite);
+    }
+    
+    public List<TrieAutocompletar.Sugestao> sugerirRestaurantes(String prefixo, int limite) {
+        return restaurantes.sugerir(prefixo, limite);
+    }
+}
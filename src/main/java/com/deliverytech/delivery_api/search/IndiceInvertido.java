@@ -0,0 +1,297 @@
+package com.deliverytech.delivery_api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória com pontuação por IDF x peso do campo. Cada termo da consulta
+ * casa por prefixo (busca enquanto digita) e todos precisam casar (AND). Atualizações são
+ * incrementais: o documento antigo vira lápide e as listas são compactadas quando as lápides
+ * passam dos documentos vivos.
+ */
+public class IndiceInvertido {
+    
+    private static final int MAX_EXPANSOES_PREFIXO = 64;
+    private static final double FATOR_PREFIXO = 0.8;
+    
+    private final NavigableMap<String, Postagens> termos = new TreeMap<>();
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private Documento[] documentos = new Documento[1024];
+    private int proximoSlot;
+    private int removidos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public record Resultado(long id, double pontuacao) {
+    }
+    
+    // grupoId permite filtrar (ex.: restaurante do produto)
+    private record Documento(long id, long grupoId, boolean disponivel, Map<String, Float> pesos) {
+    }
+    
+    private static final class Postagens {
+        private int[] slots = new int[4];
+        private float[] pesos = new float[4];
+        private int tamanho;
+        
+        void adicionar(int slot, float peso) {
+            if (tamanho == slots.length) {
+                slots = Arrays.copyOf(slots, tamanho * 2);
+                pesos = Arrays.copyOf(pesos, tamanho * 2);
+            }
+            slots[tamanho] = slot;
+            pesos[tamanho] = peso;
+            tamanho++;
+        }
+    }
+    
+    public void indexar(long id, long grupoId, boolean disponivel, Map<String, Float> pesos) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            adicionarSemLock(new Documento(id, grupoId, disponivel, Map.copyOf(pesos)));
+            if (removidos > 1024 && removidos > slotPorId.size()) {
+                compactar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            termos.clear();
+            slotPorId.clear();
+            documentos = new Documento[1024];
+            proximoSlot = 0;
+            removidos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<Resultado> buscar(List<String> tokens, Long grupoId, Boolean disponivel, int limite) {
+        if (tokens.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            double totalDocumentos = Math.max(1, slotPorId.size());
+            
+            List<ListaToken> listas = new ArrayList<>();
+            for (String token : tokens) {
+                Map<String, Postagens> casados = expandir(token);
+                if (casados.isEmpty()) {
+                    return List.of();
+                }
+                listas.add(unir(casados, token, totalDocumentos));
+            }
+            
+            // AND: interseção começando pela lista mais curta
+            listas.sort(Comparator.comparingInt(ListaToken::tamanho));
+            ListaToken atual = listas.get(0);
+            for (int k = 1; k < listas.size() && atual.tamanho() > 0; k++) {
+                atual = intersectar(atual, listas.get(k));
+            }
+            
+            // Top-k por pontuação (desempate pelo id, para resultados estáveis)
+            Comparator<Resultado> ranking = Comparator.comparingDouble(Resultado::pontuacao)
+                .thenComparing(Comparator.comparingLong(Resultado::id).reversed());
+            PriorityQueue<Resultado> melhores = new PriorityQueue<>(ranking);
+            for (int i = 0; i < atual.tamanho(); i++) {
+                Documento documento = documentos[atual.slots()[i]];
+                if (documento == null || !aceita(documento, grupoId, disponivel)) {
+                    continue;
+                }
+                double pontuacao = atual.pontuacoes()[i];
+                if (melhores.size() == limite && pontuacao < melhores.peek().pontuacao()) {
+                    continue;
+                }
+                Resultado resultado = new Resultado(documento.id(), pontuacao);
+                if (melhores.size() < limite) {
+                    melhores.add(resultado);
+                } else if (ranking.compare(resultado, melhores.peek()) > 0) {
+                    melhores.poll();
+                    melhores.add(resultado);
+                }
+            }
+            List<Resultado> resultado = new ArrayList<>(melhores);
+            resultado.sort(ranking.reversed());
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Slots em ordem crescente com a pontuação de um token da consulta
+    private record ListaToken(int[] slots, double[] pontuacoes, int tamanho) {
+    }
+    
+    // Une as listas dos termos que casam com o token (ficando com a maior pontuação por documento).
+    // As listas já estão ordenadas por slot, pois slots são atribuídos em ordem crescente.
+    private static ListaToken unir(Map<String, Postagens> casados, String token, double totalDocumentos) {
+        if (casados.size() == 1) {
+            Map.Entry<String, Postagens> termo = casados.entrySet().iterator().next();
+            Postagens postagens = termo.getValue();
+            double fator = idf(postagens, totalDocumentos) * fatorCasamento(termo.getKey(), token);
+            double[] pontuacoes = new double[postagens.tamanho];
+            for (int i = 0; i < postagens.tamanho; i++) {
+                pontuacoes[i] = fator * postagens.pesos[i];
+            }
+            return new ListaToken(postagens.slots, pontuacoes, postagens.tamanho);
+        }
+        
+        int total = 0;
+        for (Postagens postagens : casados.values()) {
+            total += postagens.tamanho;
+        }
+        // slot nos 32 bits altos e pontuação (float positivo) nos baixos: ordenar agrupa por slot
+        long[] chaves = new long[total];
+        int n = 0;
+        for (Map.Entry<String, Postagens> termo : casados.entrySet()) {
+            Postagens postagens = termo.getValue();
+            double fator = idf(postagens, totalDocumentos) * fatorCasamento(termo.getKey(), token);
+            for (int i = 0; i < postagens.tamanho; i++) {
+                float pontuacao = (float) (fator * postagens.pesos[i]);
+                chaves[n++] = ((long) postagens.slots[i] << 32) | Float.floatToIntBits(pontuacao);
+            }
+        }
+        Arrays.sort(chaves);
+        
+        int[] slots = new int[total];
+        double[] pontuacoes = new double[total];
+        int tamanho = 0;
+        for (int i = 0; i < total; i++) {
+            int slot = (int) (chaves[i] >>> 32);
+            double pontuacao = Float.intBitsToFloat((int) chaves[i]);
+            if (tamanho > 0 && slots[tamanho - 1] == slot) {
+                pontuacoes[tamanho - 1] = pontuacao;
+            } else {
+                slots[tamanho] = slot;
+                pontuacoes[tamanho] = pontuacao;
+                tamanho++;
+            }
+        }
+        return new ListaToken(slots, pontuacoes, tamanho);
+    }
+    
+    // Interseção somando pontuações; com listas muito desiguais usa busca binária na maior
+    private static ListaToken intersectar(ListaToken menor, ListaToken maior) {
+        int[] slots = new int[menor.tamanho()];
+        double[] pontuacoes = new double[menor.tamanho()];
+        int tamanho = 0;
+        
+        if (maior.tamanho() > 8L * menor.tamanho()) {
+            int inicio = 0;
+            for (int i = 0; i < menor.tamanho() && inicio < maior.tamanho(); i++) {
+                int posicao = Arrays.binarySearch(maior.slots(), inicio, maior.tamanho(), menor.slots()[i]);
+                if (posicao >= 0) {
+                    slots[tamanho] = menor.slots()[i];
+                    pontuacoes[tamanho++] = menor.pontuacoes()[i] + maior.pontuacoes()[posicao];
+                    inicio = posicao + 1;
+                } else {
+                    inicio = -posicao - 1;
+                }
+            }
+        } else {
+            int i = 0, j = 0;
+            while (i < menor.tamanho() && j < maior.tamanho()) {
+                int a = menor.slots()[i], b = maior.slots()[j];
+                if (a == b) {
+                    slots[tamanho] = a;
+                    pontuacoes[tamanho++] = menor.pontuacoes()[i++] + maior.pontuacoes()[j++];
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return new ListaToken(slots, pontuacoes, tamanho);
+    }
+    
+    private Map<String, Postagens> expandir(String token) {
+        Map<String, Postagens> casados = new HashMap<>();
+        for (Map.Entry<String, Postagens> termo : termos.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            casados.put(termo.getKey(), termo.getValue());
+            if (casados.size() == MAX_EXPANSOES_PREFIXO) {
+                break;
+            }
+        }
+        return casados;
+    }
+    
+    private static double idf(Postagens postagens, double totalDocumentos) {
+        return Math.log(1 + (totalDocumentos - postagens.tamanho + 0.5) / (postagens.tamanho + 0.5));
+    }
+    
+    private static double fatorCasamento(String termo, String token) {
+        return termo.length() == token.length() ? 1.0 : FATOR_PREFIXO;
+    }
+    
+    private static boolean aceita(Documento documento, Long grupoId, Boolean disponivel) {
+        return (grupoId == null || documento.grupoId() == grupoId)
+            && (disponivel == null || documento.disponivel() == disponivel);
+    }
+    
+    private void adicionarSemLock(Documento documento) {
+        if (proximoSlot == documentos.length) {
+            documentos = Arrays.copyOf(documentos, documentos.length * 2);
+        }
+        int slot = proximoSlot++;
+        documentos[slot] = documento;
+        slotPorId.put(documento.id(), slot);
+        documento.pesos().forEach((termo, peso) -> termos.computeIfAbsent(termo, t -> new Postagens()).adicionar(slot, peso));
+    }
+    
+    private void removerSemLock(long id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot != null) {
+            documentos[slot] = null;
+            removidos++;
+        }
+    }
+    
+    // Reconstrói as listas só com os documentos vivos
+    private void compactar() {
+        Documento[] vivos = Arrays.stream(documentos, 0, proximoSlot)
+            .filter(documento -> documento != null)
+            .toArray(Documento[]::new);
+        termos.clear();
+        slotPorId.clear();
+        documentos = new Documento[Math.max(1024, vivos.length * 2)];
+        proximoSlot = 0;
+        removidos = 0;
+        for (Documento documento : vivos) {
+            adicionarSemLock(documento);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.delivery_api.search;
+
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual de produtos sobre nome, descrição e categoria. Carregado quando a aplicação
+ * sobe e atualizado após o commit de cada alteração de produto.
+ */
+@Component
+public class IndiceProdutos {
+    
+    private static final float PESO_NOME = 3.0f;
+    private static final float PESO_CATEGORIA = 2.0f;
+    private static final float PESO_DESCRICAO = 1.0f;
+    
+    private final ProdutoRepository produtoRepository;
+    private final IndiceInvertido indice = new IndiceInvertido();
+    
+    public IndiceProdutos(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        indice.limpar();
+        try (Stream<DocumentoProduto> documentos = produtoRepository.streamDocumentos()) {
+            documentos.forEach(this::indexar);
+        }
+    }
+    
+    @TransactionalEventListener
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        produtoRepository.findDocumentoById(evento.produtoId()).ifPresentOrElse(
+            this::indexar,
+            () -> indice.remover(evento.produtoId()));
+    }
+    
+    public List<IndiceInvertido.Resultado> buscar(String texto, Long restauranteId, Boolean disponivel, int limite) {
+        return indice.buscar(Tokenizador.tokenizar(texto), restauranteId, disponivel, limite);
+    }
+    
+    private void indexar(DocumentoProduto produto) {
+        Map<String, Float> pesos = new HashMap<>();
+        acumular(pesos, produto.nome(), PESO_NOME);
+        acumular(pesos, produto.categoria(), PESO_CATEGORIA);
+        acumular(pesos, produto.descricao(), PESO_DESCRICAO);
+        indice.indexar(produto.id(), produto.restauranteId(), Boolean.TRUE.equals(produto.disponivel()), pesos);
+    }
+    
+    private static void acumular(Map<String, Float> pesos, String texto, float peso) {
+        for (String token : Tokenizador.tokenizar(texto)) {
+            pesos.merge(token, peso, Float::sum);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.deliverytech.delivery_api.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie compactada (radix) para autocompletar nomes. Cada nome é inserido a partir de cada
+ * palavra ("pizza margherita" responde a "piz" e a "marg") e cada nó guarda os K mais
+ * populares da sua subárvore, então uma sugestão custa só a descida pelo prefixo.
+ */
+public class TrieAutocompletar {
+    
+    public static final int K = 10;
+    private static final int MAX_PALAVRAS = 8;
+    
+    private static final Comparator<Sugestao> RANKING = Comparator.comparingLong(Sugestao::popularidade).reversed()
+        .thenComparing(Sugestao::nome)
+        .thenComparingLong(Sugestao::id);
+    
+    private final No raiz = new No("");
+    private final Map<Long, Sugestao> entradas = new HashMap<>();
+    private final Map<Long, List<String>> chavesPorId = new HashMap<>();
+    private final Map<Long, Long> popularidades = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public record Sugestao(long id, String nome, long popularidade) {
+    }
+    
+    private static final class No {
+        private String rotulo;
+        private final Map<Character, No> filhos = new HashMap<>(4);
+        private Set<Long> terminais;
+        private Sugestao[] topo = new Sugestao[0];
+        
+        No(String rotulo) {
+            this.rotulo = rotulo;
+        }
+    }
+    
+    public void indexar(long id, String nome) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            List<String> chaves = chaves(nome);
+            if (chaves.isEmpty()) {
+                return;
+            }
+            entradas.put(id, new Sugestao(id, nome, popularidades.getOrDefault(id, 0L)));
+            chavesPorId.put(id, chaves);
+            for (String chave : chaves) {
+                recalcular(inserir(chave, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // A popularidade é mantida mesmo para ids fora da trie (ex.: produto indisponível)
+    public void definirPopularidade(long id, long popularidade) {
+        lock.writeLock().lock();
+        try {
+            popularidades.put(id, popularidade);
+            reclassificar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void somarPopularidade(long id, long delta) {
+        lock.writeLock().lock();
+        try {
+            popularidades.merge(id, delta, Long::sum);
+            reclassificar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            raiz.filhos.clear();
+            raiz.terminais = null;
+            raiz.topo = new Sugestao[0];
+            entradas.clear();
+            chavesPorId.clear();
+            popularidades.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return entradas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        String chave = String.join(" ", Tokenizador.tokenizar(prefixo));
+        if (chave.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            No no = raiz;
+            int i = 0;
+            while (i < chave.length()) {
+                No filho = no.filhos.get(chave.charAt(i));
+                if (filho == null) {
+                    return List.of();
+                }
+                String restante = chave.substring(i);
+                if (restante.length() <= filho.rotulo.length()) {
+                    if (!filho.rotulo.startsWith(restante)) {
+                        return List.of();
+                    }
+                    no = filho;
+                    break;
+                }
+                if (!restante.startsWith(filho.rotulo)) {
+                    return List.of();
+                }
+                no = filho;
+                i += filho.rotulo.length();
+            }
+            List<Sugestao> sugestoes = new ArrayList<>(Math.min(limite, no.topo.length));
+            for (int j = 0; j < no.topo.length && j < limite; j++) {
+                sugestoes.add(no.topo[j]);
+            }
+            return sugestoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void reclassificar(long id) {
+        Sugestao atual = entradas.get(id);
+        if (atual == null) {
+            return;
+        }
+        entradas.put(id, new Sugestao(id, atual.nome(), popularidades.getOrDefault(id, 0L)));
+        for (String chave : chavesPorId.get(id)) {
+            recalcular(caminho(chave));
+        }
+    }
+    
+    private void removerSemLock(long id) {
+        List<String> chaves = chavesPorId.remove(id);
+        if (chaves == null) {
+            return;
+        }
+        entradas.remove(id);
+        for (String chave : chaves) {
+            List<No> caminho = caminho(chave);
+            No folha = caminho.get(caminho.size() - 1);
+            if (folha.terminais != null) {
+                folha.terminais.remove(id);
+            }
+            // Poda os nós que ficaram vazios
+            for (int i = caminho.size() - 1; i > 0; i--) {
+                No no = caminho.get(i);
+                if (no.filhos.isEmpty() && (no.terminais == null || no.terminais.isEmpty())) {
+                    caminho.get(i - 1).filhos.remove(no.rotulo.charAt(0));
+                    caminho.remove(i);
+                } else {
+                    break;
+                }
+            }
+            recalcular(caminho);
+        }
+    }
+    
+    // Insere a chave e devolve o caminho da raiz até o nó terminal
+    private List<No> inserir(String chave, long id) {
+        List<No> caminho = new ArrayList<>();
+        caminho.add(raiz);
+        No no = raiz;
+        int i = 0;
+        while (i < chave.length()) {
+            char c = chave.charAt(i);
+            No filho = no.filhos.get(c);
+            if (filho == null) {
+                filho = new No(chave.substring(i));
+                no.filhos.put(c, filho);
+                no = filho;
+                caminho.add(no);
+                break;
+            }
+            int comum = prefixoComum(filho.rotulo, chave, i);
+            if (comum < filho.rotulo.length()) {
+                // Divide a aresta no ponto em que a chave diverge
+                No intermediario = new No(filho.rotulo.substring(0, comum));
+                filho.rotulo = filho.rotulo.substring(comum);
+                intermediario.filhos.put(filho.rotulo.charAt(0), filho);
+                intermediario.topo = filho.topo;
+                no.filhos.put(c, intermediario);
+                filho = intermediario;
+            }
+            no = filho;
+            caminho.add(no);
+            i += comum;
+        }
+        if (no.terminais == null) {
+            no.terminais = new HashSet<>(2);
+        }
+        no.terminais.add(id);
+        return caminho;
+    }
+    
+    // Caminho de uma chave já inserida
+    private List<No> caminho(String chave) {
+        List<No> caminho = new ArrayList<>();
+        caminho.add(raiz);
+        No no = raiz;
+        int i = 0;
+        while (i < chave.length()) {
+            no = no.filhos.get(chave.charAt(i));
+            caminho.add(no);
+            i += no.rotulo.length();
+        }
+        return caminho;
+    }
+    
+    // Recalcula os top-K de baixo para cima: terminais do nó + top-K dos filhos
+    private void recalcular(List<No> caminho) {
+        for (int i = caminho.size() - 1; i >= 0; i--) {
+            No no = caminho.get(i);
+            List<Sugestao> candidatos = new ArrayList<>();
+            if (no.terminais != null) {
+                for (Long id : no.terminais) {
+                    Sugestao entrada = entradas.get(id);
+                    if (entrada != null) {
+                        candidatos.add(entrada);
+                    }
+                }
+            }
+            for (No filho : no.filhos.values()) {
+                for (Sugestao sugestao : filho.topo) {
+                    candidatos.add(sugestao);
+                }
+            }
+            candidatos.sort(RANKING);
+            List<Sugestao> topo = new ArrayList<>(K);
+            Set<Long> vistos = new HashSet<>();
+            for (Sugestao sugestao : candidatos) {
+                if (topo.size() == K) {
+                    break;
+                }
+                // Um nome com palavras repetidas aparece em mais de uma chave da mesma subárvore
+                if (vistos.add(sugestao.id())) {
+                    topo.add(sugestao);
+                }
+            }
+            no.topo = topo.toArray(new Sugestao[0]);
+        }
+    }
+    
+    private static int prefixoComum(String rotulo, String chave, int inicio) {
+        int limite = Math.min(rotulo.length(), chave.length() - inicio);
+        int i = 0;
+        while (i < limite && rotulo.charAt(i) == chave.charAt(inicio + i)) {
+            i++;
+        }
+        return i;
+    }
+    
+    // Uma chave por palavra: "pizza margherita" gera "pizza margherita" e "margherita"
+    private static List<String> chaves(String nome) {
+        List<String> tokens = Tokenizador.tokenizar(nome);
+        List<String> chaves = new ArrayList<>();
+        for (int i = 0; i < tokens.size() && i < MAX_PALAVRAS; i++) {
+            String chave = String.join(" ", tokens.subList(i, tokens.size()));
+            if (!chaves.contains(chave)) {
+                chaves.add(chave);
+            }
+        }
+        return chaves;
+    }
+}
@@ -1,50 +1,70 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.cache.FiltroEmailsClientes;
 import com.deliverytech.delivery_api.dto.ClienteDTO;
 import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
-import com.deliverytech.delivery_api.entity.Cliente;
+import com.deliverytech.delivery_api.dto.CursorCliente;
 import com.deliverytech.delivery_api.exception.BusinessException;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.ClienteMapper;
+import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
-import org.modelmapper.ModelMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class ClienteService {
 
+	private static final int TAMANHO_LOTE_EXPORTACAO = 500;
+
 	private final ClienteRepository clienteRepository;
-	private final ModelMapper modelMapper;
+	private final ClienteMapper clienteMapper;
+	private final FiltroEmailsClientes filtroEmails;
+	private final ObjectMapper objectMapper;
 
-	public ClienteService(ClienteRepository clienteRepository, ModelMapper modelMapper) {
+	public ClienteService(ClienteRepository clienteRepository, ClienteMapper clienteMapper,
+						  FiltroEmailsClientes filtroEmails, ObjectMapper objectMapper) {
 		this.clienteRepository = clienteRepository;
-		this.modelMapper = modelMapper;
+		this.clienteMapper = clienteMapper;
+		this.filtroEmails = filtroEmails;
+		this.objectMapper = objectMapper;
 	}
 
 	@Transactional
 	public ClienteResponseDTO cadastrarCliente(ClienteDTO dto) {
-		if (clienteRepository.existsByEmail(dto.getEmail())) {
-			throw new BusinessException("Email já cadastrado");
-		}
-		Cliente cliente = modelMapper.map(dto, Cliente.class);
+		validarEmailDisponivel(dto.getEmail());
+		Cliente cliente = clienteMapper.toEntity(dto);
 		cliente.setAtivo(true);
-		Cliente salvo = clienteRepository.save(cliente);
-		return modelMapper.map(salvo, ClienteResponseDTO.class);
+		Cliente salvo = salvar(cliente);
+		return clienteMapper.toResponseDTO(salvo);
 	}
 
 	public ClienteResponseDTO buscarClientePorId(Long id) {
 		Cliente cliente = clienteRepository.findById(id)
 			.orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + id));
-		return modelMapper.map(cliente, ClienteResponseDTO.class);
+		return clienteMapper.toResponseDTO(cliente);
 	}
 
 	public ClienteResponseDTO buscarClientePorEmail(String email) {
 		Cliente cliente = clienteRepository.findByEmail(email)
 			.orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com email: " + email));
-		return modelMapper.map(cliente, ClienteResponseDTO.class);
+		return clienteMapper.toResponseDTO(cliente);
 	}
 
 	@Transactional
@@ -52,38 +72,100 @@ public class ClienteService {
 		Cliente existente = clienteRepository.findById(id)
 			.orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + id));
 		
-		if (!existente.getEmail().equals(dto.getEmail()) && clienteRepository.existsByEmail(dto.getEmail())) {
-			throw new BusinessException("Email já cadastrado");
+		if (!existente.getEmail().equals(dto.getEmail())) {
+			validarEmailDisponivel(dto.getEmail());
 		}
 		
-		existente.setNome(dto.getNome());
-		existente.setEmail(dto.getEmail());
-		existente.setTelefone(dto.getTelefone());
-		existente.setEndereco(dto.getEndereco());
+		clienteMapper.atualizar(existente, dto);
 		
-		Cliente atualizado = clienteRepository.save(existente);
-		return modelMapper.map(atualizado, ClienteResponseDTO.class);
+		Cliente atualizado = salvar(existente);
+		return clienteMapper.toResponseDTO(atualizado);
 	}
 
 	@Transactional
 	public void ativarDesativarCliente(Long id) {
 		Cliente existente = clienteRepository.findById(id)
 			.orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + id));
-		existente.setAtivo(!existente.isAtivo());
+		existente.setAtivo(!Boolean.TRUE.equals(existente.getAtivo()));
 		clienteRepository.save(existente);
 	}
 
-	public List<ClienteResponseDTO> listarClientesAtivos() {
-		return clienteRepository.findByAtivoTrue().stream()
-			.map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
-			.collect(Collectors.toList());
+	@Transactional(readOnly = true)
+	public Page<ClienteResponseDTO> listar(boolean apenasAtivos, Pageable pageable) {
+		Page<Cliente> clientes = apenasAtivos
+			? clienteRepository.findByAtivoTrue(pageable)
+			: clienteRepository.findAll(pageable);
+		return clientes.map(clienteMapper::toResponseDTO);
 	}
 
-	public List<ClienteResponseDTO> listarTodos() {
-		return clienteRepository.findAll().stream()
-			.map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
+	@Transactional(readOnly = true)
+	public Slice<ClienteResponseDTO> listarPorCursor(boolean apenasAtivos, CursorCliente cursor, int size) {
+		// Busca um cliente a mais para saber se existe próxima página sem precisar de COUNT
+		Long aposId = cursor != null ? cursor.id() : 0L;
+		List<Cliente> clientes = clienteRepository.findPaginaApos(aposId, apenasAtivos, Limit.of(size + 1));
+		boolean hasNext = clientes.size() > size;
+		List<ClienteResponseDTO> conteudo = (hasNext ? clientes.subList(0, size) : clientes).stream()
+			.map(clienteMapper::toResponseDTO)
 			.collect(Collectors.toList());
+		return new SliceImpl<>(conteudo, PageRequest.of(0, size), hasNext);
+	}
+
+	// Escreve um array JSON lendo lotes por cursor, cada um em sua própria consulta:
+	// no máximo um lote de entidades fica em memória, qualquer que seja o total de clientes
+	public void exportar(boolean apenasAtivos, OutputStream saida) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(saida);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.writeStartArray();
+		Long aposId = 0L;
+		List<Cliente> lote;
+		do {
+			lote = clienteRepository.findPaginaApos(aposId, apenasAtivos, Limit.of(TAMANHO_LOTE_EXPORTACAO));
+			for (Cliente cliente : lote) {
+				generator.writeObject(clienteMapper.toResponseDTO(cliente));
+			}
+			if (!lote.isEmpty()) {
+				aposId = lote.get(lote.size() - 1).getId();
+			}
+			generator.flush();
+		} while (lote.size() == TAMANHO_LOTE_EXPORTACAO);
+		generator.writeEndArray();
+		generator.close();
+	}
+
+	// O filtro de Bloom dispensa a consulta quando o email com certeza não existe
+	private void validarEmailDisponivel(String email) {
+		if (!filtroEmails.podeExistir(email)) {
+			return;
+		}
+		if (clienteRepository.existsByEmail(email)) {
+			throw new BusinessException("Email já cadastrado");
+		}
+		filtroEmails.registrarFalsoPositivo();
 	}
-}
 
+	// A constraint única do banco cobre cadastros concorrentes com o mesmo email
+	private Cliente salvar(Cliente cliente) {
+		filtroEmails.adicionar(cliente.getEmail());
+		try {
+			return clienteRepository.saveAndFlush(cliente);
+		} catch (DataIntegrityViolationException e) {
+			if (violacaoDeUnicidade(e)) {
+				throw new BusinessException("Email já cadastrado", e);
+			}
+			throw e;
+		}
+	}
 
+	private static boolean violacaoDeUnicidade(Throwable erro) {
+		for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+			if (causa instanceof ConstraintViolationException violacao
+					&& violacao.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+				return true;
+			}
+			if (causa instanceof SQLException sql && "23505".equals(sql.getSQLState())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
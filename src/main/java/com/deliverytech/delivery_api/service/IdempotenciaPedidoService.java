@@ -0,0 +1,170 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.exception.ConflictException;
+import com.deliverytech.delivery_api.exception.ValidationException;
+import com.deliverytech.delivery_api.model.ChaveIdempotencia;
+import com.deliverytech.delivery_api.repository.ChaveIdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotência do POST /api/pedidos pelo header Idempotency-Key. Repetições devolvem a resposta
+ * original; requisições simultâneas com a mesma chave aguardam uma única execução. As respostas
+ * ficam num cache limitado com TTL e na tabela chaves_idempotencia, gravada na mesma transação
+ * do pedido.
+ */
+@Service
+public class IdempotenciaPedidoService {
+    
+    public static final int TAMANHO_MAXIMO_CHAVE = 100;
+    
+    private final ChaveIdempotenciaRepository chaveRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transacao;
+    private final Duration validade;
+    private final Cache<String, Resultado> concluidas;
+    private final Map<String, CompletableFuture<Resultado>> emAndamento = new ConcurrentHashMap<>();
+    
+    public IdempotenciaPedidoService(ChaveIdempotenciaRepository chaveRepository,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${delivery.idempotencia.validade:PT24H}") Duration validade,
+                                     @Value("${delivery.idempotencia.tamanho-maximo:100000}") long tamanhoMaximo) {
+        this.chaveRepository = chaveRepository;
+        this.objectMapper = objectMapper;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.validade = validade;
+        this.concluidas = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(validade)
+            .build();
+    }
+    
+    public record Resultado(String hashRequisicao, PedidoResponseDTO pedido, boolean repetido) {
+        
+        Resultado comoRepeticao() {
+            return repetido ? this : new Resultado(hashRequisicao, pedido, true);
+        }
+    }
+    
+    public Resultado executar(String chave, PedidoDTO dto, Supplier<PedidoResponseDTO> criar) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ValidationException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+        String hash = hash(dto);
+        
+        Resultado anterior = concluidas.getIfPresent(chave);
+        if (anterior != null) {
+            return conferir(anterior, hash);
+        }
+        
+        CompletableFuture<Resultado> minha = new CompletableFuture<>();
+        CompletableFuture<Resultado> existente = emAndamento.putIfAbsent(chave, minha);
+        if (existente != null) {
+            // Outra requisição com a mesma chave está em execução: espera o resultado dela
+            try {
+                return conferir(existente.join(), hash);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException erro ? erro : e;
+            }
+        }
+        
+        try {
+            Resultado resultado = buscarGravada(chave).orElseGet(() -> criarComChave(chave, hash, criar));
+            concluidas.put(chave, resultado.comoRepeticao());
+            minha.complete(resultado.comoRepeticao());
+            return resultado.repetido() ? conferir(resultado, hash) : resultado;
+        } catch (RuntimeException e) {
+            // Falhas não são memorizadas: a mesma chave pode ser usada de novo
+            minha.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, minha);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${delivery.idempotencia.intervalo-limpeza:PT1H}")
+    public void excluirExpiradas() {
+        transacao.executeWithoutResult(status ->
+            chaveRepository.excluirCriadasAntesDe(LocalDateTime.now().minus(validade)));
+    }
+    
+    // Pedido e chave são gravados juntos: se outra instância gravou a chave antes, o pedido
+    // desta execução sofre rollback e a resposta gravada pela outra é devolvida
+    private Resultado criarComChave(String chave, String hash, Supplier<PedidoResponseDTO> criar) {
+        try {
+            return transacao.execute(status -> {
+                PedidoResponseDTO pedido = criar.get();
+                chaveRepository.saveAndFlush(new ChaveIdempotencia(
+                    chave, hash, pedido.getId(), serializar(pedido), LocalDateTime.now()));
+                return new Resultado(hash, pedido, false);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return buscarGravada(chave)
+                .orElseThrow(() -> e);
+        }
+    }
+    
+    private Optional<Resultado> buscarGravada(String chave) {
+        return chaveRepository.findById(chave)
+            .filter(gravada -> gravada.getDataCriacao().isAfter(LocalDateTime.now().minus(validade)))
+            .map(gravada -> new Resultado(gravada.getHashRequisicao(), desserializar(gravada.getResposta()), true));
+    }
+    
+    private static Resultado conferir(Resultado resultado, String hash) {
+        if (!resultado.hashRequisicao().equals(hash)) {
+            throw new ConflictException("Idempotency-Key já utilizada com um pedido diferente");
+        }
+        return resultado.comoRepeticao();
+    }
+    
+    private String hash(PedidoDTO dto) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(dto));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private String serializar(PedidoResponseDTO pedido) {
+        try {
+            return objectMapper.writeValueAsString(pedido);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private PedidoResponseDTO desserializar(String resposta) {
+        try {
+            return objectMapper.readValue(resposta, PedidoResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.notificacao.Assinatura;
+import com.deliverytech.delivery_api.notificacao.BarramentoStatusPedido;
+import com.deliverytech.delivery_api.notificacao.Notificacao;
+import com.deliverytech.delivery_api.notificacao.Topico;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+/**
+ * Streams SSE de mudanças de status de pedido (um pedido, um restaurante ou um cliente), no
+ * lugar do polling de GET /api/pedidos/{id}. Cada conexão é uma assinatura do barramento; ao
+ * expirar ou cair, o cliente reconecta com Last-Event-ID e recebe os eventos perdidos.
+ */
+@Service
+public class NotificacaoPedidoService {
+    
+    private final BarramentoStatusPedido barramento;
+    private final PedidoRepository pedidoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ClienteRepository clienteRepository;
+    private final long timeoutMs;
+    
+    public NotificacaoPedidoService(BarramentoStatusPedido barramento,
+                                    PedidoRepository pedidoRepository,
+                                    RestauranteRepository restauranteRepository,
+                                    ClienteRepository clienteRepository,
+                                    @Value("${delivery.sse.timeout:PT30M}") Duration timeout) {
+        this.barramento = barramento;
+        this.pedidoRepository = pedidoRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.clienteRepository = clienteRepository;
+        this.timeoutMs = timeout.toMillis();
+    }
+    
+    public SseEmitter acompanharPedido(Long pedidoId, Long ultimoEventoId) {
+        if (!pedidoRepository.existsById(pedidoId)) {
+            throw new EntityNotFoundException("Pedido não encontrado com ID: " + pedidoId);
+        }
+        return abrir(Topico.PEDIDO, pedidoId, ultimoEventoId);
+    }
+    
+    public SseEmitter acompanharRestaurante(Long restauranteId, Long ultimoEventoId) {
+        if (!restauranteRepository.existsById(restauranteId)) {
+            throw new EntityNotFoundException("Restaurante não encontrado com ID: " + restauranteId);
+        }
+        return abrir(Topico.RESTAURANTE, restauranteId, ultimoEventoId);
+    }
+    
+    public SseEmitter acompanharCliente(Long clienteId, Long ultimoEventoId) {
+        if (!clienteRepository.existsById(clienteId)) {
+            throw new EntityNotFoundException("Cliente não encontrado com ID: " + clienteId);
+        }
+        return abrir(Topico.CLIENTE, clienteId, ultimoEventoId);
+    }
+    
+    private SseEmitter abrir(Topico topico, Long chave, Long ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinatura assinatura = barramento.assinar(topico, chave, ultimoEventoId, new Assinatura.Envio() {
+            @Override
+            public void enviar(Notificacao notificacao) throws Exception {
+                emitter.send(evento(notificacao));
+            }
+            
+            @Override
+            public void encerrar() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(assinatura::encerrar);
+        emitter.onTimeout(assinatura::encerrar);
+        emitter.onError(erro -> assinatura.encerrar());
+        return emitter;
+    }
+    
+    private static SseEmitter.SseEventBuilder evento(Notificacao notificacao) {
+        if (notificacao.heartbeat()) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        SseEmitter.SseEventBuilder evento = SseEmitter.event()
+            .id(String.valueOf(notificacao.id()))
+            .name(notificacao.evento());
+        return notificacao.dados() != null
+            ? evento.data(notificacao.dados(), MediaType.APPLICATION_JSON)
+            : evento.data("");
+    }
+}
@@ -0,0 +1,240 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.ResultadoLoteDTO;
+import com.deliverytech.delivery_api.exception.BusinessException;
+import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Criação de pedidos em lote. Clientes, restaurantes e produtos de todo o lote são carregados
+ * em três consultas; os pedidos válidos são gravados em transações de tamanho fixo, com os
+ * inserts agrupados em batch JDBC. Uma falha na gravação de um bloco é isolada regravando os
+ * pedidos daquele bloco um a um.
+ */
+@Service
+public class PedidoLoteService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PedidoLoteService.class);
+    
+    private final PedidoRepository pedidoRepository;
+    private final ClienteRepository clienteRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ResumoVendasService resumoVendasService;
+    private final TaxaEntregaService taxaEntregaService;
+    private final Validator validator;
+    private final TransactionTemplate transacao;
+    private final int pedidosPorTransacao;
+    
+    public PedidoLoteService(PedidoRepository pedidoRepository,
+                             ClienteRepository clienteRepository,
+                             RestauranteRepository restauranteRepository,
+                             ProdutoRepository produtoRepository,
+                             ResumoVendasService resumoVendasService,
+                             TaxaEntregaService taxaEntregaService,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${delivery.pedidos.lote.pedidos-por-transacao:100}") int pedidosPorTransacao) {
+        this.pedidoRepository = pedidoRepository;
+        this.clienteRepository = clienteRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+        this.resumoVendasService = resumoVendasService;
+        this.taxaEntregaService = taxaEntregaService;
+        this.validator = validator;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.pedidosPorTransacao = pedidosPorTransacao;
+    }
+    
+    // Pedido validado e precificado, pronto para virar entidade dentro da transação de gravação
+    private record PedidoPreparado(int indice, PedidoDTO dto, Cliente cliente, Restaurante restaurante,
+                                   Map<Long, Produto> produtos, BigDecimal taxaEntrega) {
+    }
+    
+    public ResultadoLoteDTO criar(List<PedidoDTO> dtos) {
+        ResultadoLoteDTO.ItemResultado[] resultados = new ResultadoLoteDTO.ItemResultado[dtos.size()];
+        
+        Map<Long, Cliente> clientes = porId(clienteRepository.findAllById(ids(dtos, PedidoDTO::getClienteId)), Cliente::getId);
+        Map<Long, Restaurante> restaurantes = porId(restauranteRepository.findAllById(ids(dtos, PedidoDTO::getRestauranteId)), Restaurante::getId);
+        Set<Long> idsProdutos = dtos.stream()
+            .filter(dto -> dto.getItens() != null)
+            .flatMap(dto -> dto.getItens().stream())
+            .map(PedidoDTO.ItemPedidoDTO::getProdutoId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Produto> produtos = idsProdutos.isEmpty() ? Map.of()
+            : porId(produtoRepository.findAllByIdComRestaurante(idsProdutos), Produto::getId);
+        
+        List<PedidoPreparado> preparados = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                preparados.add(preparar(i, dtos.get(i), clientes, restaurantes, produtos));
+            } catch (RuntimeException e) {
+                resultados[i] = falha(i, e);
+            }
+        }
+        
+        for (int inicio = 0; inicio < preparados.size(); inicio += pedidosPorTransacao) {
+            List<PedidoPreparado> bloco = preparados.subList(inicio, Math.min(inicio + pedidosPorTransacao, preparados.size()));
+            try {
+                List<Pedido> gravados = gravar(bloco);
+                for (int j = 0; j < bloco.size(); j++) {
+                    resultados[bloco.get(j).indice()] = sucesso(bloco.get(j).indice(), gravados.get(j));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao gravar bloco de {} pedidos do lote; regravando um a um", bloco.size(), e);
+                for (PedidoPreparado preparado : bloco) {
+                    try {
+                        resultados[preparado.indice()] = sucesso(preparado.indice(), gravar(List.of(preparado)).get(0));
+                    } catch (RuntimeException erro) {
+                        resultados[preparado.indice()] = falha(preparado.indice(), erro);
+                    }
+                }
+            }
+        }
+        
+        List<ResultadoLoteDTO.ItemResultado> lista = List.of(resultados);
+        int sucessos = (int) lista.stream().filter(ResultadoLoteDTO.ItemResultado::getSucesso).count();
+        return new ResultadoLoteDTO(dtos.size(), sucessos, dtos.size() - sucessos, lista);
+    }
+    
+    private PedidoPreparado preparar(int indice, PedidoDTO dto, Map<Long, Cliente> clientes,
+                                     Map<Long, Restaurante> restaurantes, Map<Long, Produto> produtos) {
+        Set<ConstraintViolation<PedidoDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new BusinessException(violacoes.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+        
+        Cliente cliente = clientes.get(dto.getClienteId());
+        if (cliente == null) {
+            throw new EntityNotFoundException("Cliente não encontrado com ID: " + dto.getClienteId());
+        }
+        Restaurante restaurante = restaurantes.get(dto.getRestauranteId());
+        if (restaurante == null) {
+            throw new EntityNotFoundException("Restaurante não encontrado com ID: " + dto.getRestauranteId());
+        }
+        if (!restaurante.getAtivo()) {
+            throw new BusinessException("Restaurante está inativo");
+        }
+        
+        // Mesmas regras e mensagens de PedidoService.criar, sobre os produtos já carregados para o lote
+        Set<Long> idsProdutos = new LinkedHashSet<>();
+        dto.getItens().forEach(item -> idsProdutos.add(item.getProdutoId()));
+        List<Long> naoEncontrados = idsProdutos.stream()
+            .filter(id -> !produtos.containsKey(id))
+            .collect(Collectors.toList());
+        if (!naoEncontrados.isEmpty()) {
+            throw new EntityNotFoundException("Produto não encontrado com ID: " +
+                naoEncontrados.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+        
+        List<String> erros = new ArrayList<>();
+        List<String> deOutroRestaurante = new ArrayList<>();
+        List<String> indisponiveis = new ArrayList<>();
+        for (Long id : idsProdutos) {
+            Produto produto = produtos.get(id);
+            if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
+                deOutroRestaurante.add(produto.getNome());
+            } else if (!produto.getDisponivel()) {
+                indisponiveis.add(produto.getNome());
+            }
+        }
+        if (!deOutroRestaurante.isEmpty()) {
+            erros.add("Produto não pertence ao restaurante selecionado: " + String.join(", ", deOutroRestaurante));
+        }
+        if (!indisponiveis.isEmpty()) {
+            erros.add("Produto não está disponível: " + String.join(", ", indisponiveis));
+        }
+        if (!erros.isEmpty()) {
+            throw new BusinessException(String.join("; ", erros));
+        }
+        
+        // Sem CEP informado, a taxa é cotada para o CEP cadastrado do cliente
+        String cepEntrega = dto.getCepEntrega() != null ? dto.getCepEntrega() : cliente.getCep();
+        BigDecimal taxaEntrega = taxaEntregaService.calcular(restaurante, cepEntrega);
+        return new PedidoPreparado(indice, dto, cliente, restaurante, produtos, taxaEntrega);
+    }
+    
+    // As entidades são montadas dentro da transação para que uma nova tentativa parta de objetos limpos
+    private List<Pedido> gravar(List<PedidoPreparado> bloco) {
+        return transacao.execute(status -> {
+            List<Pedido> pedidos = bloco.stream().map(PedidoLoteService::montar).collect(Collectors.toList());
+            pedidoRepository.saveAll(pedidos);
+            resumoVendasService.registrar(pedidos);
+            return pedidos;
+        });
+    }
+    
+    private static Pedido montar(PedidoPreparado preparado) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(preparado.cliente());
+        pedido.setRestaurante(preparado.restaurante());
+        pedido.setEnderecoEntrega(preparado.dto().getEnderecoEntrega());
+        pedido.setStatus(Pedido.StatusPedido.PENDENTE);
+        
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (PedidoDTO.ItemPedidoDTO itemDTO : preparado.dto().getItens()) {
+            Produto produto = preparado.produtos().get(itemDTO.getProdutoId());
+            ItemPedido item = new ItemPedido();
+            item.setPedido(pedido);
+            item.setProduto(produto);
+            item.setQuantidade(itemDTO.getQuantidade());
+            item.setPrecoUnitario(produto.getPreco());
+            item.setSubtotal(produto.getPreco().multiply(BigDecimal.valueOf(itemDTO.getQuantidade())));
+            pedido.getItens().add(item);
+            subtotal = subtotal.add(item.getSubtotal());
+        }
+        
+        pedido.setSubtotal(subtotal);
+        pedido.setTaxaEntrega(preparado.taxaEntrega());
+        pedido.setTotal(subtotal.add(preparado.taxaEntrega()));
+        return pedido;
+    }
+    
+    private static ResultadoLoteDTO.ItemResultado sucesso(int indice, Pedido pedido) {
+        return new ResultadoLoteDTO.ItemResultado(indice, true, pedido.getId(), pedido.getTotal(), null);
+    }
+    
+    private static ResultadoLoteDTO.ItemResultado falha(int indice, RuntimeException erro) {
+        return new ResultadoLoteDTO.ItemResultado(indice, false, null, null, erro.getMessage());
+    }
+    
+    private static Set<Long> ids(List<PedidoDTO> dtos, Function<PedidoDTO, Long> campo) {
+        return dtos.stream().map(campo).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+    
+    private static <T> Map<Long, T> porId(Collection<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -1,19 +1,32 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.*;
+import com.deliverytech.delivery_api.event.StatusPedidoAlteradoEvent;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
 import com.deliverytech.delivery_api.exception.BusinessException;
 import com.deliverytech.delivery_api.model.*;
 import com.deliverytech.delivery_api.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +37,15 @@ public class PedidoService {
     private final ClienteRepository clienteRepository;
     private final RestauranteRepository restauranteRepository;
     private final ProdutoRepository produtoRepository;
+    private final ResumoVendasService resumoVendasService;
+    private final TaxaEntregaService taxaEntregaService;
+    private final RetentativaTransacional retentativa;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Status a partir dos quais o pedido ainda pode mudar; CANCELADO e ENTREGUE são finais
+    private static final Set<Pedido.StatusPedido> STATUS_ALTERAVEIS = EnumSet.of(
+        Pedido.StatusPedido.PENDENTE, Pedido.StatusPedido.CONFIRMADO,
+        Pedido.StatusPedido.PREPARANDO, Pedido.StatusPedido.SAIU_PARA_ENTREGA);
     
     @Transactional
     public PedidoResponseDTO criar(PedidoDTO dto) {
@@ -45,17 +67,11 @@ public class PedidoService {
         
         BigDecimal subtotal = BigDecimal.ZERO;
         
+        Map<Long, Produto> produtos = carregarProdutos(restaurante,
+            dto.getItens().stream().map(PedidoDTO.ItemPedidoDTO::getProdutoId).collect(Collectors.toList()), true);
+        
         for (PedidoDTO.ItemPedidoDTO itemDTO : dto.getItens()) {
-            Produto produto = produtoRepository.findById(itemDTO.getProdutoId())
-                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + itemDTO.getProdutoId()));
-            
-            if (!produto.getDisponivel()) {
-                throw new BusinessException("Produto " + produto.getNome() + " não está disponível");
-            }
-            
-            if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
-                throw new BusinessException("Produto não pertence ao restaurante selecionado");
-            }
+            Produto produto = produtos.get(itemDTO.getProdutoId());
             
             ItemPedido item = new ItemPedido();
             item.setPedido(pedido);
@@ -68,78 +84,121 @@ public class PedidoService {
             subtotal = subtotal.add(item.getSubtotal());
         }
         
+        // Sem CEP informado, a taxa é cotada para o CEP cadastrado do cliente
+        String cepEntrega = dto.getCepEntrega() != null ? dto.getCepEntrega() : cliente.getCep();
+        BigDecimal taxaEntrega = taxaEntregaService.calcular(restaurante, cepEntrega);
+        
         pedido.setSubtotal(subtotal);
-        pedido.setTaxaEntrega(restaurante.getTaxaEntrega());
-        pedido.setTotal(subtotal.add(restaurante.getTaxaEntrega()));
+        pedido.setTaxaEntrega(taxaEntrega);
+        pedido.setTotal(subtotal.add(taxaEntrega));
         
         pedido = pedidoRepository.save(pedido);
+        resumoVendasService.registrar(pedido);
         return toResponseDTO(pedido);
     }
     
     @Transactional(readOnly = true)
     public PedidoResponseDTO buscarPorId(Long id) {
-        Pedido pedido = pedidoRepository.findById(id)
+        Pedido pedido = pedidoRepository.findComDetalhesById(id)
             .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
         return toResponseDTO(pedido);
     }
     
     @Transactional(readOnly = true)
     public Page<PedidoResponseDTO> listar(Pedido.StatusPedido status, Pageable pageable) {
-        Page<Pedido> pedidos;
+        Page<Long> ids;
         if (status != null) {
-            pedidos = pedidoRepository.findByStatus(status, pageable);
+            ids = pedidoRepository.findIdsByStatus(status, pageable);
         } else {
-            pedidos = pedidoRepository.findAll(pageable);
+            ids = pedidoRepository.findIds(pageable);
+        }
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
         }
-        return pedidos.map(this::toResponseDTO);
+        Map<Long, Pedido> pedidos = pedidoRepository.findComDetalhesByIdIn(ids.getContent()).stream()
+            .collect(Collectors.toMap(Pedido::getId, Function.identity()));
+        return ids.map(id -> toResponseDTO(pedidos.get(id)));
     }
     
-    @Transactional
-    public PedidoResponseDTO atualizarStatus(Long id, Pedido.StatusPedido novoStatus) {
-        Pedido pedido = pedidoRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
-        
-        if (pedido.getStatus() == Pedido.StatusPedido.CANCELADO) {
-            throw new BusinessException("Pedido cancelado não pode ter status alterado");
-        }
-        
-        if (pedido.getStatus() == Pedido.StatusPedido.ENTREGUE) {
-            throw new BusinessException("Pedido entregue não pode ter status alterado");
-        }
+    @Transactional(readOnly = true)
+    public Slice<PedidoResponseDTO> listarPorCursor(Pedido.StatusPedido status, CursorPedido cursor, int size) {
+        // Busca um ID a mais para saber se existe próxima página sem precisar de COUNT
+        Limit limite = Limit.of(size + 1);
+        List<Long> ids = cursor == null
+            ? pedidoRepository.findIdsMaisRecentes(status, limite)
+            : pedidoRepository.findIdsAnterioresA(status, cursor.dataCriacao(), cursor.id(), limite);
         
-        pedido.setStatus(novoStatus);
-        pedido.setDataAtualizacao(LocalDateTime.now());
-        pedido = pedidoRepository.save(pedido);
-        return toResponseDTO(pedido);
+        boolean hasNext = ids.size() > size;
+        List<Long> pagina = hasNext ? ids.subList(0, size) : ids;
+        Map<Long, Pedido> pedidos = pagina.isEmpty() ? Map.of()
+            : pedidoRepository.findComDetalhesByIdIn(pagina).stream()
+                .collect(Collectors.toMap(Pedido::getId, Function.identity()));
+        List<PedidoResponseDTO> conteudo = pagina.stream()
+            .map(id -> toResponseDTO(pedidos.get(id)))
+            .collect(Collectors.toList());
+        return new SliceImpl<>(conteudo, PageRequest.of(0, size), hasNext);
+    }
+    
+    // Sem transação própria: cada tentativa da retentativa abre a sua
+    public PedidoResponseDTO atualizarStatus(Long id, Pedido.StatusPedido novoStatus) {
+        return retentativa.executar(() -> {
+            if (pedidoRepository.atualizarStatusSeEm(id, novoStatus, STATUS_ALTERAVEIS, LocalDateTime.now()) == 0) {
+                Pedido.StatusPedido atual = statusAtual(id);
+                if (atual == Pedido.StatusPedido.CANCELADO) {
+                    throw new BusinessException("Pedido cancelado não pode ter status alterado");
+                }
+                throw new BusinessException("Pedido entregue não pode ter status alterado");
+            }
+            
+            Pedido pedido = pedidoRepository.findComDetalhesById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
+            // Só quem efetivamente mudou o status para CANCELADO estorna os resumos
+            if (novoStatus == Pedido.StatusPedido.CANCELADO) {
+                resumoVendasService.estornar(pedido);
+            }
+            publicarStatus(pedido);
+            return toResponseDTO(pedido);
+        });
     }
     
-    @Transactional
     public void cancelar(Long id) {
-        Pedido pedido = pedidoRepository.findById(id)
+        retentativa.executar(() -> {
+            if (pedidoRepository.atualizarStatusSeEm(id, Pedido.StatusPedido.CANCELADO, STATUS_ALTERAVEIS, LocalDateTime.now()) == 0) {
+                Pedido.StatusPedido atual = statusAtual(id);
+                if (atual == Pedido.StatusPedido.ENTREGUE) {
+                    throw new BusinessException("Pedido entregue não pode ser cancelado");
+                }
+                throw new BusinessException("Pedido já está cancelado");
+            }
+            
+            Pedido pedido = pedidoRepository.findComDetalhesById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
+            resumoVendasService.estornar(pedido);
+            publicarStatus(pedido);
+            return null;
+        });
+    }
+    
+    // Entregue aos streams de status só após o commit (tentativas desfeitas não publicam nada)
+    private void publicarStatus(Pedido pedido) {
+        eventPublisher.publishEvent(new StatusPedidoAlteradoEvent(pedido.getId(), pedido.getCliente().getId(),
+            pedido.getRestaurante().getId(), pedido.getStatus(), pedido.getDataAtualizacao()));
+    }
+    
+    private Pedido.StatusPedido statusAtual(Long id) {
+        return pedidoRepository.findStatusById(id)
             .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
-        
-        if (pedido.getStatus() == Pedido.StatusPedido.ENTREGUE) {
-            throw new BusinessException("Pedido entregue não pode ser cancelado");
-        }
-        
-        if (pedido.getStatus() == Pedido.StatusPedido.CANCELADO) {
-            throw new BusinessException("Pedido já está cancelado");
-        }
-        
-        pedido.setStatus(Pedido.StatusPedido.CANCELADO);
-        pedido.setDataAtualizacao(LocalDateTime.now());
-        pedidoRepository.save(pedido);
     }
     
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> buscarPorCliente(Long clienteId) {
-        List<Pedido> pedidos = pedidoRepository.findByClienteId(clienteId);
+        List<Pedido> pedidos = pedidoRepository.findComDetalhesByClienteId(clienteId);
         return pedidos.stream().map(this::toResponseDTO).collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> buscarPorRestaurante(Long restauranteId) {
-        List<Pedido> pedidos = pedidoRepository.findByRestauranteId(restauranteId);
+        List<Pedido> pedidos = pedidoRepository.findComDetalhesByRestauranteId(restauranteId);
         return pedidos.stream().map(this::toResponseDTO).collect(Collectors.toList());
     }
     
@@ -150,24 +209,59 @@ public class PedidoService {
         
         BigDecimal subtotal = BigDecimal.ZERO;
         
+        Map<Long, Produto> produtos = carregarProdutos(restaurante,
+            dto.getItens().stream().map(CalcularPedidoDTO.ItemPedidoDTO::getProdutoId).collect(Collectors.toList()), false);
+        
         for (CalcularPedidoDTO.ItemPedidoDTO itemDTO : dto.getItens()) {
-            Produto produto = produtoRepository.findById(itemDTO.getProdutoId())
-                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + itemDTO.getProdutoId()));
-            
-            if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
-                throw new BusinessException("Produto não pertence ao restaurante selecionado");
-            }
-            
+            Produto produto = produtos.get(itemDTO.getProdutoId());
             BigDecimal itemSubtotal = produto.getPreco().multiply(BigDecimal.valueOf(itemDTO.getQuantidade()));
             subtotal = subtotal.add(itemSubtotal);
         }
         
-        BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
+        BigDecimal taxaEntrega = taxaEntregaService.calcular(restaurante, dto.getCepEntrega());
         BigDecimal total = subtotal.add(taxaEntrega);
         
         return new CalcularPedidoResponseDTO(subtotal, taxaEntrega, total);
     }
     
+    // Busca todos os produtos do pedido (com restaurante) em uma única consulta e
+    // reporta de uma vez todos os IDs inexistentes ou produtos inválidos
+    private Map<Long, Produto> carregarProdutos(Restaurante restaurante, List<Long> ids, boolean exigirDisponivel) {
+        Set<Long> idsUnicos = new LinkedHashSet<>(ids);
+        Map<Long, Produto> produtos = produtoRepository.findAllByIdComRestaurante(idsUnicos).stream()
+            .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        
+        List<Long> naoEncontrados = idsUnicos.stream()
+            .filter(id -> !produtos.containsKey(id))
+            .collect(Collectors.toList());
+        if (!naoEncontrados.isEmpty()) {
+            throw new EntityNotFoundException("Produto não encontrado com ID: " +
+                naoEncontrados.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+        
+        List<String> erros = new ArrayList<>();
+        List<String> deOutroRestaurante = new ArrayList<>();
+        List<String> indisponiveis = new ArrayList<>();
+        for (Long id : idsUnicos) {
+            Produto produto = produtos.get(id);
+            if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
+                deOutroRestaurante.add(produto.getNome());
+            } else if (exigirDisponivel && !produto.getDisponivel()) {
+                indisponiveis.add(produto.getNome());
+            }
+        }
+        if (!deOutroRestaurante.isEmpty()) {
+            erros.add("Produto não pertence ao restaurante selecionado: " + String.join(", ", deOutroRestaurante));
+        }
+        if (!indisponiveis.isEmpty()) {
+            erros.add("Produto não está disponível: " + String.join(", ", indisponiveis));
+        }
+        if (!erros.isEmpty()) {
+            throw new BusinessException(String.join("; ", erros));
+        }
+        return produtos;
+    }
+    
     private PedidoResponseDTO toResponseDTO(Pedido pedido) {
         List<PedidoResponseDTO.ItemPedidoResponseDTO> itensDTO = pedido.getItens().stream()
             .map(item -> new PedidoResponseDTO.ItemPedidoResponseDTO(
@@ -1,17 +1,29 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.cache.CacheCardapio;
+import com.deliverytech.delivery_api.cache.Cardapio;
 import com.deliverytech.delivery_api.dto.ProdutoDTO;
 import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.dto.SugestaoDTO;
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.search.IndiceAutocompletar;
+import com.deliverytech.delivery_api.search.IndiceInvertido;
+import com.deliverytech.delivery_api.search.IndiceProdutos;
+import com.deliverytech.delivery_api.search.TrieAutocompletar;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +32,13 @@ public class ProdutoService {
     
     private final ProdutoRepository produtoRepository;
     private final RestauranteRepository restauranteRepository;
+    private final IndiceProdutos indiceProdutos;
+    private final IndiceAutocompletar indiceAutocompletar;
+    private final CacheCardapio cacheCardapio;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private static final int LIMITE_PADRAO_BUSCA = 20;
+    private static final int LIMITE_MAXIMO_BUSCA = 100;
     
     @Transactional
     public ProdutoResponseDTO cadastrar(ProdutoDTO dto) {
@@ -35,6 +54,7 @@ public class ProdutoService {
         produto.setRestaurante(restaurante);
         
         produto = produtoRepository.save(produto);
+        publicarAlteracao(produto);
         return toResponseDTO(produto);
     }
     
@@ -52,6 +72,7 @@ public class ProdutoService {
         
         Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
             .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + dto.getRestauranteId()));
+        Long restauranteAnteriorId = produto.getRestaurante().getId();
         
         produto.setNome(dto.getNome());
         produto.setDescricao(dto.getDescricao());
@@ -63,6 +84,7 @@ public class ProdutoService {
         }
         
         produto = produtoRepository.save(produto);
+        publicarAlteracao(produto, restauranteAnteriorId);
         return toResponseDTO(produto);
     }
     
@@ -71,6 +93,7 @@ public class ProdutoService {
         Produto produto = produtoRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
         produtoRepository.delete(produto);
+        publicarAlteracao(produto);
     }
     
     @Transactional
@@ -79,17 +102,19 @@ public class ProdutoService {
             .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
         produto.setDisponivel(!produto.getDisponivel());
         produtoRepository.save(produto);
+        publicarAlteracao(produto);
     }
     
-    @Transactional(readOnly = true)
     public List<ProdutoResponseDTO> buscarPorRestaurante(Long restauranteId, Boolean disponivel) {
-        List<Produto> produtos;
-        if (disponivel != null) {
-            produtos = produtoRepository.findByRestauranteIdAndDisponivel(restauranteId, disponivel);
-        } else {
-            produtos = produtoRepository.findByRestauranteId(restauranteId);
-        }
-        return produtos.stream().map(this::toResponseDTO).collect(Collectors.toList());
+        return cardapio(restauranteId, disponivel).produtos();
+    }
+    
+    // Servido do cache de cardápios; em caso de miss, uma única consulta já traz o restaurante
+    public Cardapio cardapio(Long restauranteId, Boolean disponivel) {
+        return cacheCardapio.obter(restauranteId, disponivel, () ->
+            produtoRepository.findCardapio(restauranteId, disponivel).stream()
+                .map(this::toResponseDTO)
+                .toList());
     }
     
     @Transactional(readOnly = true)
@@ -98,10 +123,41 @@ public class ProdutoService {
         return produtos.stream().map(this::toResponseDTO).collect(Collectors.toList());
     }
     
+    // Busca no índice invertido em memória e carrega só os produtos encontrados, na ordem do ranking
     @Transactional(readOnly = true)
-    public List<ProdutoResponseDTO> buscarPorNome(String nome) {
-        List<Produto> produtos = produtoRepository.findByNomeContainingIgnoreCase(nome);
-        return produtos.stream().map(this::toResponseDTO).collect(Collectors.toList());
+    public List<ProdutoResponseDTO> buscarPorNome(String nome, Long restauranteId, Boolean disponivel, Integer limite) {
+        int tamanho = limite != null ? Math.min(Math.max(limite, 1), LIMITE_MAXIMO_BUSCA) : LIMITE_PADRAO_BUSCA;
+        List<Long> ids = indiceProdutos.buscar(nome, restauranteId, disponivel, tamanho).stream()
+            .map(IndiceInvertido.Resultado::id)
+            .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, Produto> produtos = produtoRepository.findAllByIdComRestaurante(ids).stream()
+            .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return ids.stream()
+            .map(produtos::get)
+            .filter(Objects::nonNull)
+            .map(this::toResponseDTO)
+            .collect(Collectors.toList());
+    }
+    
+    // Respondido só pela trie em memória, sem acesso ao banco
+    public List<SugestaoDTO> autocompletar(String prefixo, Integer limite) {
+        int tamanho = limite != null ? Math.min(Math.max(limite, 1), TrieAutocompletar.K) : TrieAutocompletar.K;
+        return indiceAutocompletar.sugerirProdutos(prefixo, tamanho).stream()
+            .map(sugestao -> new SugestaoDTO(sugestao.id(), sugestao.nome(), sugestao.popularidade()))
+            .collect(Collectors.toList());
+    }
+    
+    private void publicarAlteracao(Produto produto) {
+        publicarAlteracao(produto, produto.getRestaurante().getId());
+    }
+    
+    private void publicarAlteracao(Produto produto, Long restauranteAnteriorId) {
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(
+            produto.getId(), produto.getRestaurante().getId(), restauranteAnteriorId));
     }
     
     private ProdutoResponseDTO toResponseDTO(Produto produto) {
@@ -1,155 +1,139 @@
 package com.deliverytech.delivery_api.service;
 
-import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.dto.PedidoPeriodoDTO;
+import com.deliverytech.delivery_api.dto.RelatorioClientesDTO;
+import com.deliverytech.delivery_api.dto.RelatorioProdutosDTO;
+import com.deliverytech.delivery_api.dto.RelatorioVendasDTO;
+import com.deliverytech.delivery_api.model.ResumoVendas.TipoResumo;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ResumoVendasRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.*;
+import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class RelatorioService {
     
     private final PedidoRepository pedidoRepository;
+    private final ResumoVendasRepository resumoVendasRepository;
+    private final ObjectMapper objectMapper;
     
+    private static final int LINHAS_POR_FLUSH = 500;
+    
+    // Os relatórios agregados são respondidos pelos resumos por hora (O(buckets)), e não pela tabela de pedidos
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> vendasPorRestaurante(LocalDateTime dataInicio, LocalDateTime dataFim) {
-        List<Pedido> pedidos;
-        
+    public List<RelatorioVendasDTO> vendasPorRestaurante(LocalDateTime dataInicio, LocalDateTime dataFim) {
         if (dataInicio != null && dataFim != null) {
-            pedidos = pedidoRepository.findByDataCriacaoBetween(dataInicio, dataFim);
-        } else {
-            pedidos = pedidoRepository.findAll();
+            return resumoVendasRepository.somarVendasPorRestaurantePeriodo(
+                TipoResumo.RESTAURANTE, ResumoVendasService.periodo(dataInicio), dataFim);
         }
-        
-        Map<Long, Map<String, Object>> vendasMap = new HashMap<>();
-        
-        for (Pedido pedido : pedidos) {
-            if (pedido.getStatus() == Pedido.StatusPedido.CANCELADO) {
-                continue;
-            }
-            
-            Long restauranteId = pedido.getRestaurante().getId();
-            String restauranteNome = pedido.getRestaurante().getNome();
-            
-            vendasMap.computeIfAbsent(restauranteId, k -> {
-                Map<String, Object> venda = new HashMap<>();
-                venda.put("restauranteId", restauranteId);
-                venda.put("restauranteNome", restauranteNome);
-                venda.put("totalVendas", BigDecimal.ZERO);
-                venda.put("quantidadePedidos", 0);
-                return venda;
-            });
-            
-            Map<String, Object> venda = vendasMap.get(restauranteId);
-            venda.put("totalVendas", ((BigDecimal) venda.get("totalVendas")).add(pedido.getTotal()));
-            venda.put("quantidadePedidos", (Integer) venda.get("quantidadePedidos") + 1);
+        return resumoVendasRepository.somarVendasPorRestaurante(TipoResumo.RESTAURANTE);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RelatorioProdutosDTO> produtosMaisVendidos(Integer limite) {
+        return resumoVendasRepository.somarProdutosMaisVendidos(TipoResumo.PRODUTO, limitar(limite));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RelatorioClientesDTO> clientesAtivos(Integer limite) {
+        return resumoVendasRepository.somarClientesAtivos(TipoResumo.CLIENTE, limitar(limite));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<PedidoPeriodoDTO> pedidosPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        try (Stream<PedidoPeriodoDTO> pedidos = streamPedidos(dataInicio, dataFim)) {
+            return pedidos.collect(Collectors.toList());
         }
-        
-        return new ArrayList<>(vendasMap.values());
     }
     
+    // Escreve linha a linha direto na resposta; a memória usada não depende do tamanho do período
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> produtosMaisVendidos(Integer limite) {
-        List<Pedido> pedidos = pedidoRepository.findAll();
-        Map<Long, Map<String, Object>> produtosMap = new HashMap<>();
-        
-        for (Pedido pedido : pedidos) {
-            if (pedido.getStatus() == Pedido.StatusPedido.CANCELADO) {
-                continue;
-            }
-            
-            for (var item : pedido.getItens()) {
-                Long produtoId = item.getProduto().getId();
-                String produtoNome = item.getProduto().getNome();
-                
-                produtosMap.computeIfAbsent(produtoId, k -> {
-                    Map<String, Object> produto = new HashMap<>();
-                    produto.put("produtoId", produtoId);
-                    produto.put("produtoNome", produtoNome);
-                    produto.put("quantidadeVendida", 0);
-                    produto.put("totalVendido", BigDecimal.ZERO);
-                    return produto;
-                });
-                
-                Map<String, Object> produto = produtosMap.get(produtoId);
-                produto.put("quantidadeVendida", (Integer) produto.get("quantidadeVendida") + item.getQuantidade());
-                produto.put("totalVendido", ((BigDecimal) produto.get("totalVendido")).add(item.getSubtotal()));
+    public void exportarPedidosPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim,
+                                          FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<PedidoPeriodoDTO> pedidos = streamPedidos(dataInicio, dataFim)) {
+            if (formato == FormatoExportacao.CSV) {
+                escreverCsv(pedidos, saida);
+            } else {
+                escreverNdjson(pedidos, saida);
             }
         }
-        
-        List<Map<String, Object>> produtos = new ArrayList<>(produtosMap.values());
-        produtos.sort((a, b) -> ((Integer) b.get("quantidadeVendida")).compareTo((Integer) a.get("quantidadeVendida")));
-        
-        if (limite != null && limite > 0) {
-            produtos = produtos.stream().limit(limite).collect(Collectors.toList());
+    }
+    
+    private Stream<PedidoPeriodoDTO> streamPedidos(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        if (dataInicio != null && dataFim != null) {
+            return pedidoRepository.streamPedidosPorPeriodo(dataInicio, dataFim);
         }
-        
-        return produtos;
+        return pedidoRepository.streamPedidos();
     }
     
-    @Transactional(readOnly = true)
-    public List<Map<String, Object>> clientesAtivos(Integer limite) {
-        List<Pedido> pedidos = pedidoRepository.findAll();
-        Map<Long, Map<String, Object>> clientesMap = new HashMap<>();
-        
-        for (Pedido pedido : pedidos) {
-            if (pedido.getStatus() == Pedido.StatusPedido.CANCELADO) {
-                continue;
+    private void escreverNdjson(Stream<PedidoPeriodoDTO> pedidos, OutputStream saida) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(saida);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long linhas = 0;
+        for (Iterator<PedidoPeriodoDTO> it = pedidos.iterator(); it.hasNext(); ) {
+            generator.writeObject(it.next());
+            generator.writeRaw('\n');
+            if (++linhas % LINHAS_POR_FLUSH == 0) {
+                generator.flush();
             }
-            
-            Long clienteId = pedido.getCliente().getId();
-            String clienteNome = pedido.getCliente().getNome();
-            
-            clientesMap.computeIfAbsent(clienteId, k -> {
-                Map<String, Object> cliente = new HashMap<>();
-                cliente.put("clienteId", clienteId);
-                cliente.put("clienteNome", clienteNome);
-                cliente.put("totalPedidos", 0);
-                cliente.put("totalGasto", BigDecimal.ZERO);
-                return cliente;
-            });
-            
-            Map<String, Object> cliente = clientesMap.get(clienteId);
-            cliente.put("totalPedidos", (Integer) cliente.get("totalPedidos") + 1);
-            cliente.put("totalGasto", ((BigDecimal) cliente.get("totalGasto")).add(pedido.getTotal()));
         }
-        
-        List<Map<String, Object>> clientes = new ArrayList<>(clientesMap.values());
-        clientes.sort((a, b) -> ((Integer) b.get("totalPedidos")).compareTo((Integer) a.get("totalPedidos")));
-        
-        if (limite != null && limite > 0) {
-            clientes = clientes.stream().limit(limite).collect(Collectors.toList());
+        generator.close();
+    }
+    
+    private void escreverCsv(Stream<PedidoPeriodoDTO> pedidos, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        writer.write("pedidoId,clienteNome,restauranteNome,status,total,dataCriacao\n");
+        long linhas = 0;
+        for (Iterator<PedidoPeriodoDTO> it = pedidos.iterator(); it.hasNext(); ) {
+            PedidoPeriodoDTO pedido = it.next();
+            writer.write(pedido.getPedidoId() + "," +
+                campoCsv(pedido.getClienteNome()) + "," +
+                campoCsv(pedido.getRestauranteNome()) + "," +
+                pedido.getStatus() + "," +
+                pedido.getTotal().toPlainString() + "," +
+                pedido.getDataCriacao() + "\n");
+            if (++linhas % LINHAS_POR_FLUSH == 0) {
+                writer.flush();
+            }
         }
-        
-        return clientes;
+        writer.flush();
     }
     
-    @Transactional(readOnly = true)
-    public List<Map<String, Object>> pedidosPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
-        List<Pedido> pedidos;
-        
-        if (dataInicio != null && dataFim != null) {
-            pedidos = pedidoRepository.findByDataCriacaoBetween(dataInicio, dataFim);
-        } else {
-            pedidos = pedidoRepository.findAll();
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
         }
-        
-        return pedidos.stream().map(pedido -> {
-            Map<String, Object> pedidoMap = new HashMap<>();
-            pedidoMap.put("pedidoId", pedido.getId());
-            pedidoMap.put("clienteNome", pedido.getCliente().getNome());
-            pedidoMap.put("restauranteNome", pedido.getRestaurante().getNome());
-            pedidoMap.put("status", pedido.getStatus().toString());
-            pedidoMap.put("total", pedido.getTotal());
-            pedidoMap.put("dataCriacao", pedido.getDataCriacao());
-            return pedidoMap;
-        }).collect(Collectors.toList());
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+    
+    public enum FormatoExportacao {
+        NDJSON, CSV
+    }
+    
+    // O top-N é aplicado no banco (LIMIT); sem limite a consulta retorna todos os grupos
+    private Pageable limitar(Integer limite) {
+        return limite != null && limite > 0 ? PageRequest.of(0, limite) : Pageable.unpaged();
     }
 }
-
@@ -1,19 +1,36 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.dto.FaixaTaxaEntregaDTO;
 import com.deliverytech.delivery_api.dto.RestauranteDTO;
 import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.dto.SugestaoDTO;
+import com.deliverytech.delivery_api.dto.TabelaTaxaEntregaDTO;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
 import com.deliverytech.delivery_api.exception.BusinessException;
+import com.deliverytech.delivery_api.exception.ValidationException;
+import com.deliverytech.delivery_api.geo.Coordenada;
+import com.deliverytech.delivery_api.geo.GeocodificadorCep;
+import com.deliverytech.delivery_api.geo.IndiceEspacial;
+import com.deliverytech.delivery_api.geo.IndiceRestaurantes;
+import com.deliverytech.delivery_api.model.FaixaTaxaEntrega;
 import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.FaixaTaxaEntregaRepository;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.search.IndiceAutocompletar;
+import com.deliverytech.delivery_api.search.TrieAutocompletar;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +38,12 @@ import java.util.stream.Collectors;
 public class RestauranteService {
     
     private final RestauranteRepository repository;
+    private final FaixaTaxaEntregaRepository faixaTaxaRepository;
+    private final TaxaEntregaService taxaEntregaService;
+    private final GeocodificadorCep geocodificador;
+    private final IndiceRestaurantes indiceRestaurantes;
+    private final IndiceAutocompletar indiceAutocompletar;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public RestauranteResponseDTO cadastrar(RestauranteDTO dto) {
@@ -39,6 +62,7 @@ public class RestauranteService {
         restaurante.setAtivo(dto.getAtivo() != null ? dto.getAtivo() : true);
         
         restaurante = repository.save(restaurante);
+        publicarAlteracao(restaurante);
         return toResponseDTO(restaurante);
     }
     
@@ -85,6 +109,7 @@ public class RestauranteService {
         }
         
         restaurante = repository.save(restaurante);
+        publicarAlteracao(restaurante);
         return toResponseDTO(restaurante);
     }
     
@@ -94,6 +119,7 @@ public class RestauranteService {
             .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + id));
         restaurante.setAtivo(ativo);
         repository.save(restaurante);
+        publicarAlteracao(restaurante);
     }
     
     @Transactional(readOnly = true)
@@ -102,19 +128,77 @@ public class RestauranteService {
         return restaurantes.stream().map(this::toResponseDTO).collect(Collectors.toList());
     }
     
-    @Transactional(readOnly = true)
+    // Sem transação: a cotação é respondida pelas tabelas de faixas em memória
     public BigDecimal calcularTaxaEntrega(Long id, String cep) {
+        return taxaEntregaService.calcular(id, cep);
+    }
+    
+    @Transactional(readOnly = true)
+    public TabelaTaxaEntregaDTO listarFaixasTaxa(Long id) {
+        if (!repository.existsById(id)) {
+            throw new EntityNotFoundException("Restaurante não encontrado com ID: " + id);
+        }
+        return new TabelaTaxaEntregaDTO(faixaTaxaRepository.findByRestauranteIdOrderByDistanciaMaximaKm(id).stream()
+            .map(faixa -> new FaixaTaxaEntregaDTO(faixa.getDistanciaMaximaKm(), faixa.getTaxa()))
+            .collect(Collectors.toList()));
+    }
+    
+    // Substitui a tabela inteira; lista vazia volta a usar a taxa fixa do restaurante
+    @Transactional
+    public TabelaTaxaEntregaDTO atualizarFaixasTaxa(Long id, TabelaTaxaEntregaDTO dto) {
         Restaurante restaurante = repository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + id));
-        // Lógica simplificada - em produção, calcularia baseado na distância
-        return restaurante.getTaxaEntrega();
+        
+        List<FaixaTaxaEntregaDTO> ordenadas = dto.getFaixas().stream()
+            .sorted(Comparator.comparing(FaixaTaxaEntregaDTO::getDistanciaMaximaKm))
+            .collect(Collectors.toList());
+        for (int i = 1; i < ordenadas.size(); i++) {
+            if (ordenadas.get(i).getDistanciaMaximaKm().compareTo(ordenadas.get(i - 1).getDistanciaMaximaKm()) == 0) {
+                throw new ValidationException("Distância máxima repetida nas faixas: " + ordenadas.get(i).getDistanciaMaximaKm());
+            }
+        }
+        
+        faixaTaxaRepository.excluirPorRestaurante(id);
+        faixaTaxaRepository.saveAll(ordenadas.stream()
+            .map(faixa -> new FaixaTaxaEntrega(null, restaurante, faixa.getDistanciaMaximaKm(), faixa.getTaxa()))
+            .collect(Collectors.toList()));
+        publicarAlteracao(restaurante);
+        return new TabelaTaxaEntregaDTO(ordenadas);
     }
     
+    // Consulta o índice espacial em memória e carrega só os restaurantes encontrados, na ordem de distância
     @Transactional(readOnly = true)
-    public List<RestauranteResponseDTO> buscarProximos(String cep) {
-        // Lógica simplificada - em produção, calcularia distância baseada no CEP
-        List<Restaurante> restaurantes = repository.findByAtivo(true);
-        return restaurantes.stream().map(this::toResponseDTO).collect(Collectors.toList());
+    public List<RestauranteResponseDTO> buscarProximos(String cep, Double raioKm, Integer limite) {
+        Coordenada origem = geocodificador.localizar(cep)
+            .orElseThrow(() -> new ValidationException("CEP inválido ou fora da área atendida: " + cep));
+        
+        List<Long> ids = indiceRestaurantes.buscarProximos(origem, limite, raioKm).stream()
+            .map(IndiceEspacial.Vizinho::id)
+            .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, Restaurante> restaurantes = repository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+        return ids.stream()
+            .map(restaurantes::get)
+            .filter(restaurante -> restaurante != null && Boolean.TRUE.equals(restaurante.getAtivo()))
+            .map(this::toResponseDTO)
+            .collect(Collectors.toList());
+    }
+    
+    // Respondido só pela trie em memória, sem acesso ao banco
+    public List<SugestaoDTO> autocompletar(String prefixo, Integer limite) {
+        int tamanho = limite != null ? Math.min(Math.max(limite, 1), TrieAutocompletar.K) : TrieAutocompletar.K;
+        return indiceAutocompletar.sugerirRestaurantes(prefixo, tamanho).stream()
+            .map(sugestao -> new SugestaoDTO(sugestao.id(), sugestao.nome(), sugestao.popularidade()))
+            .collect(Collectors.toList());
+    }
+    
+    private void publicarAlteracao(Restaurante restaurante) {
+        eventPublisher.publishEvent(new RestauranteAlteradoEvent(
+            restaurante.getId(), restaurante.getCep(), Boolean.TRUE.equals(restaurante.getAtivo())));
     }
     
     private RestauranteResponseDTO toResponseDTO(Restaurante restaurante) {
@@ -0,0 +1,135 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.event.VendasRegistradasEvent;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.ResumoVendas.TipoResumo;
+import com.deliverytech.delivery_api.repository.ResumoVendasRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ResumoVendasService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ResumoVendasService.class);
+    
+    // Upsert atômico: soma os deltas no bucket existente ou cria o bucket
+    private static final String SQL_ACUMULAR = "MERGE INTO resumos_vendas r " +
+        "USING (SELECT CAST(? AS VARCHAR(20)) AS tipo, CAST(? AS BIGINT) AS referencia_id, " +
+        "CAST(? AS TIMESTAMP) AS periodo, CAST(? AS BIGINT) AS pedidos, " +
+        "CAST(? AS BIGINT) AS itens, CAST(? AS DECIMAL(14, 2)) AS valor) s " +
+        "ON r.tipo = s.tipo AND r.referencia_id = s.referencia_id AND r.periodo = s.periodo " +
+        "WHEN MATCHED THEN UPDATE SET quantidade_pedidos = r.quantidade_pedidos + s.pedidos, " +
+        "quantidade_itens = r.quantidade_itens + s.itens, valor_total = r.valor_total + s.valor " +
+        "WHEN NOT MATCHED THEN INSERT (tipo, referencia_id, periodo, quantidade_pedidos, quantidade_itens, valor_total) " +
+        "VALUES (s.tipo, s.referencia_id, s.periodo, s.pedidos, s.itens, s.valor)";
+    
+    private final ResumoVendasRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Chamado dentro da transação que cria o pedido
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Pedido pedido) {
+        aplicar(List.of(pedido), 1);
+    }
+    
+    // Chamado dentro da transação que grava um lote de pedidos
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Collection<Pedido> pedidos) {
+        aplicar(pedidos, 1);
+    }
+    
+    // Chamado dentro da transação que cancela o pedido
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void estornar(Pedido pedido) {
+        aplicar(List.of(pedido), -1);
+    }
+    
+    @Transactional
+    public long reconstruir() {
+        repository.limpar();
+        int linhas = repository.reconstruirPorRestaurante()
+            + repository.reconstruirPorCliente()
+            + repository.reconstruirPorProduto();
+        logger.info("Resumos de vendas reconstruídos: {} buckets", linhas);
+        return linhas;
+    }
+    
+    public static LocalDateTime periodo(LocalDateTime data) {
+        return data.truncatedTo(ChronoUnit.HOURS);
+    }
+    
+    // Deltas de vários pedidos que caem no mesmo bucket são somados antes de ir ao banco
+    private void aplicar(Collection<Pedido> pedidos, int sinal) {
+        Map<ChaveBucket, Delta> deltasPorBucket = new LinkedHashMap<>();
+        Map<Long, Map<Long, Long>> quantidadesPorRestaurante = new LinkedHashMap<>();
+        
+        for (Pedido pedido : pedidos) {
+            Timestamp bucket = Timestamp.valueOf(periodo(pedido.getDataCriacao()));
+            BigDecimal total = sinal > 0 ? pedido.getTotal() : pedido.getTotal().negate();
+            Map<Long, Long> quantidades = quantidadesPorRestaurante
+                .computeIfAbsent(pedido.getRestaurante().getId(), k -> new LinkedHashMap<>());
+            
+            long itens = 0;
+            Set<Long> produtosDoPedido = new HashSet<>();
+            for (ItemPedido item : pedido.getItens()) {
+                Long produtoId = item.getProduto().getId();
+                itens += item.getQuantidade();
+                quantidades.merge(produtoId, (long) item.getQuantidade(), Long::sum);
+                // Um pedido conta uma vez para cada produto distinto que contém
+                long contagemPedido = produtosDoPedido.add(produtoId) ? sinal : 0;
+                BigDecimal valor = sinal > 0 ? item.getSubtotal() : item.getSubtotal().negate();
+                deltasPorBucket.computeIfAbsent(new ChaveBucket(TipoResumo.PRODUTO, produtoId, bucket), k -> new Delta())
+                    .somar(contagemPedido, sinal * (long) item.getQuantidade(), valor);
+            }
+            deltasPorBucket.computeIfAbsent(new ChaveBucket(TipoResumo.RESTAURANTE, pedido.getRestaurante().getId(), bucket), k -> new Delta())
+                .somar(sinal, sinal * itens, total);
+            deltasPorBucket.computeIfAbsent(new ChaveBucket(TipoResumo.CLIENTE, pedido.getCliente().getId(), bucket), k -> new Delta())
+                .somar(sinal, sinal * itens, total);
+        }
+        
+        // Todos os buckets vão em um único batch JDBC, independente do número de pedidos e itens
+        List<Object[]> deltas = new ArrayList<>(deltasPorBucket.size());
+        deltasPorBucket.forEach((chave, delta) -> deltas.add(new Object[] {
+            chave.tipo().name(), chave.referenciaId(), chave.periodo(), delta.pedidos, delta.itens, delta.valor}));
+        jdbcTemplate.batchUpdate(SQL_ACUMULAR, deltas);
+        
+        quantidadesPorRestaurante.forEach((restauranteId, quantidades) ->
+            eventPublisher.publishEvent(new VendasRegistradasEvent(restauranteId, quantidades, sinal)));
+    }
+    
+    private record ChaveBucket(TipoResumo tipo, Long referenciaId, Timestamp periodo) {
+    }
+    
+    private static class Delta {
+        long pedidos;
+        long itens;
+        BigDecimal valor = BigDecimal.ZERO;
+        
+        void somar(long pedidos, long itens, BigDecimal valor) {
+            this.pedidos += pedidos;
+            this.itens += itens;
+            this.valor = this.valor.add(valor);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.exception.ConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Executa uma operação em transação própria e, se ela falhar por concorrência (versão desatualizada,
+ * timeout de lock ou deadlock), repete com espera exponencial e jitter. Dentro de uma transação já
+ * aberta não há como repetir: a operação roda uma vez na transação existente.
+ */
+@Component
+public class RetentativaTransacional {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RetentativaTransacional.class);
+    
+    private final TransactionTemplate transacao;
+    private final int maximoTentativas;
+    private final long esperaInicialMillis;
+    private final long esperaMaximaMillis;
+    
+    public RetentativaTransacional(PlatformTransactionManager transactionManager,
+                                   @Value("${delivery.retentativas.maximo-tentativas:5}") int maximoTentativas,
+                                   @Value("${delivery.retentativas.espera-inicial:PT0.01S}") Duration esperaInicial,
+                                   @Value("${delivery.retentativas.espera-maxima:PT0.5S}") Duration esperaMaxima) {
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.maximoTentativas = maximoTentativas;
+        this.esperaInicialMillis = esperaInicial.toMillis();
+        this.esperaMaximaMillis = esperaMaxima.toMillis();
+    }
+    
+    public <T> T executar(Supplier<T> operacao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operacao.get();
+        }
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacao.execute(status -> operacao.get());
+            } catch (ConcurrencyFailureException e) {
+                if (tentativa >= maximoTentativas) {
+                    throw new ConflictException("Registro alterado por outra requisição; tente novamente", e);
+                }
+                logger.debug("Conflito de concorrência na tentativa {} de {}", tentativa, maximoTentativas, e);
+                esperar(tentativa);
+            }
+        }
+    }
+    
+    // Full jitter: espera aleatória entre zero e o teto exponencial da tentativa
+    private void esperar(int tentativa) {
+        long teto = Math.min(esperaMaximaMillis, esperaInicialMillis << Math.min(tentativa - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(teto + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Retentativa interrompida", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.exception.BusinessException;
+import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.exception.ValidationException;
+import com.deliverytech.delivery_api.geo.GeocodificadorCep;
+import com.deliverytech.delivery_api.geo.MatrizDistancias;
+import com.deliverytech.delivery_api.model.FaixaTaxaEntrega;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.FaixaTaxaEntregaRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Calcula a taxa de entrega pela distância entre o prefixo do CEP do restaurante e o do destino,
+ * usando a tabela de faixas do restaurante. As tabelas ficam em memória (carregadas na
+ * inicialização e atualizadas após cada alteração), então uma cotação não consulta o banco.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaxaEntregaService {
+    
+    private final RestauranteRepository restauranteRepository;
+    private final FaixaTaxaEntregaRepository faixaRepository;
+    private final GeocodificadorCep geocodificador;
+    private final MatrizDistancias matrizDistancias;
+    
+    private final Map<Long, TabelaTaxa> tabelas = new ConcurrentHashMap<>();
+    
+    // Faixas ordenadas por distância; sem faixas vale a taxa fixa do restaurante
+    record TabelaTaxa(String prefixo, BigDecimal taxaFixa, double[] limitesKm, BigDecimal[] taxas) {
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        Map<Long, List<FaixaTaxaEntrega>> faixas = faixaRepository.findAllOrdenadas().stream()
+            .collect(Collectors.groupingBy(faixa -> faixa.getRestaurante().getId()));
+        tabelas.clear();
+        for (Restaurante restaurante : restauranteRepository.findAll()) {
+            tabelas.put(restaurante.getId(), montar(restaurante, faixas.getOrDefault(restaurante.getId(), List.of())));
+        }
+    }
+    
+    @TransactionalEventListener
+    public void aoAlterarRestaurante(RestauranteAlteradoEvent evento) {
+        restauranteRepository.findById(evento.restauranteId()).ifPresentOrElse(
+            restaurante -> tabelas.put(restaurante.getId(), montar(restaurante,
+                faixaRepository.findByRestauranteIdOrderByDistanciaMaximaKm(restaurante.getId()))),
+            () -> tabelas.remove(evento.restauranteId()));
+    }
+    
+    public BigDecimal calcular(Long restauranteId, String cepDestino) {
+        TabelaTaxa tabela = tabelas.get(restauranteId);
+        if (tabela == null) {
+            // Restaurante ainda não carregado (ex.: criado na transação corrente)
+            Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + restauranteId));
+            tabela = montar(restaurante, faixaRepository.findByRestauranteIdOrderByDistanciaMaximaKm(restauranteId));
+        }
+        return calcular(tabela, cepDestino);
+    }
+    
+    public BigDecimal calcular(Restaurante restaurante, String cepDestino) {
+        if (cepDestino == null || cepDestino.isBlank()) {
+            return restaurante.getTaxaEntrega();
+        }
+        TabelaTaxa tabela = tabelas.get(restaurante.getId());
+        if (tabela == null) {
+            tabela = montar(restaurante, faixaRepository.findByRestauranteIdOrderByDistanciaMaximaKm(restaurante.getId()));
+        }
+        return calcular(tabela, cepDestino);
+    }
+    
+    private BigDecimal calcular(TabelaTaxa tabela, String cepDestino) {
+        if (cepDestino == null || cepDestino.isBlank() || tabela.prefixo() == null || tabela.limitesKm().length == 0) {
+            return tabela.taxaFixa();
+        }
+        String prefixoDestino = geocodificador.prefixo(cepDestino);
+        if (prefixoDestino == null) {
+            throw new ValidationException("CEP de entrega inválido ou fora da área atendida: " + cepDestino);
+        }
+        
+        double distanciaKm = matrizDistancias.distanciaKm(tabela.prefixo(), prefixoDestino);
+        for (int i = 0; i < tabela.limitesKm().length; i++) {
+            if (distanciaKm <= tabela.limitesKm()[i]) {
+                return tabela.taxas()[i];
+            }
+        }
+        throw new BusinessException(String.format(
+            "CEP %s fora da área de entrega do restaurante (%.1f km, máximo %.1f km)",
+            cepDestino, distanciaKm, tabela.limitesKm()[tabela.limitesKm().length - 1]));
+    }
+    
+    private TabelaTaxa montar(Restaurante restaurante, List<FaixaTaxaEntrega> faixas) {
+        double[] limitesKm = new double[faixas.size()];
+        BigDecimal[] taxas = new BigDecimal[faixas.size()];
+        for (int i = 0; i < faixas.size(); i++) {
+            limitesKm[i] = faixas.get(i).getDistanciaMaximaKm().doubleValue();
+            taxas[i] = faixas.get(i).getTaxa();
+        }
+        return new TabelaTaxa(geocodificador.prefixo(restaurante.getCep()), restaurante.getTaxaEntrega(), limitesKm, taxas);
+    }
+}
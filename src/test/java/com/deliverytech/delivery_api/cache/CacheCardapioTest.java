@@ -0,0 +1,141 @@
+package com.deliverytech.delivery_api.cache;
+
+import com.deliverytech.delivery_api.dto.EstatisticasCacheDTO;
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheCardapioTest {
+    
+    @Test
+    void deveCarregarUmaVezPorRestauranteEFiltro() {
+        CacheCardapio cache = novoCache(1000);
+        AtomicInteger cargas = new AtomicInteger();
+        Supplier<List<ProdutoResponseDTO>> carregar = () -> {
+            cargas.incrementAndGet();
+            return List.of(produto(1L, 10L));
+        };
+        
+        cache.obter(10L, null, carregar);
+        cache.obter(10L, null, carregar);
+        cache.obter(10L, true, carregar);
+        cache.obter(10L, true, carregar);
+        
+        assertEquals(2, cargas.get());
+        EstatisticasCacheDTO estatisticas = cache.estatisticas();
+        assertEquals(2L, estatisticas.getAcertos());
+        assertEquals(2L, estatisticas.getFalhas());
+        assertEquals(0.5, estatisticas.getTaxaAcerto(), 1e-9);
+    }
+    
+    @Test
+    void deveInvalidarApenasOsRestaurantesAfetados() {
+        CacheCardapio cache = novoCache(1000);
+        AtomicInteger cargas = new AtomicInteger();
+        Supplier<List<ProdutoResponseDTO>> carregar = () -> {
+            cargas.incrementAndGet();
+            return List.of();
+        };
+        for (long restaurante = 1; restaurante <= 3; restaurante++) {
+            cache.obter(restaurante, null, carregar);
+            cache.obter(restaurante, false, carregar);
+        }
+        assertEquals(6, cargas.get());
+        
+        // Produto movido do restaurante 1 para o 2: os dois cardápios mudam, o 3 não
+        cache.aoAlterarProduto(new ProdutoAlteradoEvent(99L, 2L, 1L));
+        for (long restaurante = 1; restaurante <= 3; restaurante++) {
+            cache.obter(restaurante, null, carregar);
+            cache.obter(restaurante, false, carregar);
+        }
+        assertEquals(10, cargas.get());
+        
+        cache.aoAlterarRestaurante(new RestauranteAlteradoEvent(3L, "01310100", true));
+        cache.obter(3L, null, carregar);
+        cache.obter(1L, null, carregar);
+        assertEquals(11, cargas.get());
+    }
+    
+    @Test
+    void deveRespeitarOPesoMaximoEmProdutos() {
+        CacheCardapio cache = novoCache(100);
+        for (long restaurante = 1; restaurante <= 50; restaurante++) {
+            long id = restaurante;
+            cache.obter(restaurante, null, () -> List.of(produto(id, id), produto(id + 1000, id)));
+        }
+        
+        EstatisticasCacheDTO estatisticas = cache.estatisticas();
+        assertTrue(estatisticas.getEntradas() * 3 <= 100, "entradas: " + estatisticas.getEntradas());
+        assertTrue(estatisticas.getDescartes() > 0);
+    }
+    
+    @Test
+    void deveDevolverListaImutavel() {
+        CacheCardapio cache = novoCache(1000);
+        List<ProdutoResponseDTO> cardapio = cache.obter(1L, null, () -> new ArrayList<>(List.of(produto(1L, 1L)))).produtos();
+        assertThrows(UnsupportedOperationException.class, () -> cardapio.add(produto(2L, 1L)));
+    }
+    
+    @Test
+    void deveManterEtagAteAVersaoDoRestauranteMudar() throws Exception {
+        CacheCardapio cache = novoCache(1000);
+        Supplier<List<ProdutoResponseDTO>> carregar = () -> List.of(produto(1L, 7L));
+        
+        Cardapio primeiro = cache.obter(7L, true, carregar);
+        Cardapio segundo = cache.obter(7L, true, carregar);
+        assertSame(primeiro, segundo);
+        assertNotNull(primeiro.etag());
+        assertNotEquals(primeiro.etag(), cache.obter(7L, null, carregar).etag());
+        assertNotEquals(primeiro.etag(false), primeiro.etag(true));
+        
+        JsonNode json = new ObjectMapper().readTree(primeiro.json());
+        assertTrue(json.get("success").asBoolean());
+        assertEquals("Produto 1", json.get("data").get(0).get("nome").asText());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(primeiro.gzip()))) {
+            assertArrayEquals(primeiro.json(), gzip.readAllBytes());
+        }
+        
+        cache.aoAlterarProduto(new ProdutoAlteradoEvent(1L, 7L, 7L));
+        Cardapio depois = cache.obter(7L, true, carregar);
+        assertEquals(1L, cache.versao(7L));
+        assertNotEquals(primeiro.etag(), depois.etag());
+        assertFalse(depois.correspondeA(primeiro.etag()));
+    }
+    
+    @Test
+    void deveCompararIfNoneMatchComListasEtagsFracosECuringa() {
+        Cardapio cardapio = novoCache(1000).obter(1L, null, List::of);
+        String etag = cardapio.etag();
+        
+        assertTrue(cardapio.correspondeA(etag));
+        assertTrue(cardapio.correspondeA(cardapio.etag(true)));
+        assertTrue(cardapio.correspondeA("\"outro\", W/" + etag));
+        assertTrue(cardapio.correspondeA("*"));
+        assertFalse(cardapio.correspondeA("\"outro\""));
+        assertFalse(cardapio.correspondeA(null));
+        assertFalse(new Cardapio(null, List.of(), new byte[0], new byte[0]).correspondeA("*"));
+    }
+    
+    private static CacheCardapio novoCache(long pesoMaximo) {
+        return new CacheCardapio(new ObjectMapper().findAndRegisterModules(), pesoMaximo);
+    }
+    
+    private static ProdutoResponseDTO produto(Long id, Long restauranteId) {
+        return new ProdutoResponseDTO(id, "Produto " + id, null, BigDecimal.TEN, "Pizza", true,
+            restauranteId, "Restaurante " + restauranteId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,73 @@
+package com.deliverytech.delivery_api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+    
+    @Test
+    void naoDeveTerFalsoNegativoEManterTaxaDeFalsoPositivoProximaDaConfigurada() {
+        int total = 200_000;
+        FiltroBloom filtro = new FiltroBloom(total, 0.01);
+        for (int i = 0; i < total; i++) {
+            filtro.adicionar("cliente" + i + "@email.com");
+        }
+        
+        for (int i = 0; i < total; i++) {
+            assertTrue(filtro.podeConter("cliente" + i + "@email.com"));
+        }
+        
+        int falsosPositivos = 0;
+        for (int i = 0; i < total; i++) {
+            if (filtro.podeConter("outro" + i + "@email.com")) {
+                falsosPositivos++;
+            }
+        }
+        double taxa = (double) falsosPositivos / total;
+        assertTrue(taxa < 0.015, "taxa de falso positivo: " + taxa);
+        assertEquals(0.01, filtro.taxaFalsoPositivoEstimada(), 0.003);
+    }
+    
+    @Test
+    void deveDiferenciarMaiusculasComoAConstraintDoBanco() {
+        FiltroBloom filtro = new FiltroBloom(1000, 0.001);
+        filtro.adicionar("Maria@email.com");
+        assertTrue(filtro.podeConter("Maria@email.com"));
+        assertFalse(filtro.podeConter("maria@email.com"));
+    }
+    
+    @Test
+    void deveAceitarInsercoesConcorrentesSemPerderValores() throws Exception {
+        FiltroBloom filtro = new FiltroBloom(80_000, 0.01);
+        int threads = 8;
+        int porThread = 10_000;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> trabalhadores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int inicio = t * porThread;
+            trabalhadores.add(Thread.ofPlatform().start(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = inicio; i < inicio + porThread; i++) {
+                    filtro.adicionar("email" + i);
+                }
+            }));
+        }
+        largada.countDown();
+        for (Thread trabalhador : trabalhadores) {
+            trabalhador.join();
+        }
+        
+        for (int i = 0; i < threads * porThread; i++) {
+            assertTrue(filtro.podeConter("email" + i), "email" + i);
+        }
+    }
+}
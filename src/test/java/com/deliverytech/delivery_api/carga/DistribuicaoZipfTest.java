@@ -0,0 +1,62 @@
+package com.deliverytech.delivery_api.carga;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistribuicaoZipfTest {
+    
+    private static final int SORTEIOS = 1_000_000;
+    
+    @Test
+    void deveConcentrarSorteiosNasPrimeirasPosicoes() {
+        DistribuicaoZipf zipf = new DistribuicaoZipf(1000, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] contagem = new int[zipf.tamanho() + 1];
+        for (int i = 0; i < SORTEIOS; i++) {
+            int posicao = zipf.sortear(random);
+            assertTrue(posicao >= 1 && posicao <= 1000, "posição fora do intervalo: " + posicao);
+            contagem[posicao]++;
+        }
+        
+        // Com expoente 1 e n = 1000, P(1) = 1 / H(1000) ≈ 13,4% e P(1) ≈ 2 * P(2)
+        assertEquals(0.134, contagem[1] / (double) SORTEIOS, 0.005);
+        assertEquals(2.0, contagem[1] / (double) contagem[2], 0.1);
+        int dezPrimeiras = 0;
+        for (int i = 1; i <= 10; i++) {
+            dezPrimeiras += contagem[i];
+        }
+        assertTrue(dezPrimeiras > SORTEIOS * 0.35, "as 10 primeiras posições devem concentrar mais de 35% dos sorteios");
+    }
+    
+    @Test
+    void deveSerUniformeComExpoenteZero() {
+        DistribuicaoZipf zipf = new DistribuicaoZipf(10, 0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] contagem = new int[11];
+        for (int i = 0; i < SORTEIOS; i++) {
+            contagem[zipf.sortear(random)]++;
+        }
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(0.1, contagem[i] / (double) SORTEIOS, 0.005);
+        }
+    }
+    
+    @Test
+    void deveRepetirASequenciaComAMesmaSemente() {
+        DistribuicaoZipf zipf = new DistribuicaoZipf(50_000, 1.2);
+        SplittableRandom primeiro = new SplittableRandom(42);
+        SplittableRandom segundo = new SplittableRandom(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(zipf.sortear(primeiro), zipf.sortear(segundo));
+        }
+    }
+    
+    @Test
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new DistribuicaoZipf(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new DistribuicaoZipf(10, -1));
+    }
+}
@@ -0,0 +1,217 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.dto.ClienteDTO;
+import com.deliverytech.delivery_api.dto.CursorCliente;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ClienteControllerIT {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ClienteRepository clienteRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private Cliente cliente;
+    
+    @BeforeEach
+    void setUp() {
+        cliente = new Cliente();
+        cliente.setNome("Maria Souza");
+        cliente.setEmail("maria.souza@email.com");
+        cliente.setTelefone("11999990000");
+        cliente.setEndereco("Rua A, 10");
+        cliente.setAtivo(true);
+        cliente = clienteRepository.save(cliente);
+    }
+    
+    @Test
+    void deveCadastrarCliente() throws Exception {
+        mockMvc.perform(post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoDTO("João Lima", "joao.lima@email.com"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.nome").value("João Lima"))
+                .andExpect(jsonPath("$.email").value("joao.lima@email.com"))
+                .andExpect(jsonPath("$.telefone").value("11988887777"))
+                .andExpect(jsonPath("$.ativo").value(true));
+    }
+    
+    @Test
+    void deveRetornar422QuandoEmailJaCadastrado() throws Exception {
+        mockMvc.perform(post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoDTO("Outra Maria", cliente.getEmail()))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+    
+    @Test
+    void deveRetornar422AoCadastrarOMesmoEmailDuasVezes() throws Exception {
+        ClienteDTO dto = novoDTO("Rita Alves", "rita.alves@email.com");
+        mockMvc.perform(post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        
+        mockMvc.perform(post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Email já cadastrado"));
+    }
+    
+    @Test
+    void deveExporEstatisticasDoFiltroDeEmails() throws Exception {
+        mockMvc.perform(get("/health/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.emailsClientes.capacidade").isNumber())
+                .andExpect(jsonPath("$.emailsClientes.taxaFalsoPositivo").isNumber())
+                .andExpect(jsonPath("$.cardapio.acertos").isNumber());
+    }
+    
+    @Test
+    void deveBuscarClientePorIdEEmail() throws Exception {
+        mockMvc.perform(get("/api/clientes/{id}", cliente.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Maria Souza"))
+                .andExpect(jsonPath("$.endereco").value("Rua A, 10"));
+        
+        mockMvc.perform(get("/api/clientes/email/{email}", cliente.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(cliente.getId()));
+    }
+    
+    @Test
+    void deveAtualizarClienteMantendoStatus() throws Exception {
+        mockMvc.perform(put("/api/clientes/{id}", cliente.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoDTO("Maria S. Souza", cliente.getEmail()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Maria S. Souza"))
+                .andExpect(jsonPath("$.ativo").value(true));
+    }
+    
+    @Test
+    void deveAlternarStatusDoCliente() throws Exception {
+        mockMvc.perform(patch("/api/clientes/{id}/status", cliente.getId()))
+                .andExpect(status().isNoContent());
+        
+        mockMvc.perform(get("/api/clientes/{id}", cliente.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ativo").value(false));
+    }
+    
+    @Test
+    void deveRetornar404QuandoClienteNaoExiste() throws Exception {
+        mockMvc.perform(get("/api/clientes/{id}", 999999L))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void deveListarClientesPaginados() throws Exception {
+        mockMvc.perform(get("/api/clientes")
+                .param("page", "0")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.page.size").value(1))
+                .andExpect(jsonPath("$.page.totalElements").isNumber())
+                .andExpect(jsonPath("$.links.first").value("/api/clientes?apenasAtivos=true&size=1&page=0"));
+    }
+    
+    @Test
+    void deveLimitarTamanhoDaPagina() throws Exception {
+        mockMvc.perform(get("/api/clientes")
+                .param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.size").value(100));
+    }
+    
+    @Test
+    void deveListarClientesPorCursorIgnorandoInativos() throws Exception {
+        Cliente segundo = novoCliente("Ana Prado", "ana.prado@email.com", true);
+        novoCliente("Caio Reis", "caio.reis@email.com", false);
+        Cliente quarto = novoCliente("Bia Nunes", "bia.nunes@email.com", true);
+        String inicio = new CursorCliente(cliente.getId() - 1).codificar();
+        
+        String resposta = mockMvc.perform(get("/api/clientes")
+                .param("size", "2")
+                .param("cursor", inicio))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(cliente.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(segundo.getId()))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.links.next").isString())
+                .andReturn().getResponse().getContentAsString();
+        
+        String proxima = JsonPath.read(resposta, "$.links.next");
+        mockMvc.perform(get(proxima))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(quarto.getId()))
+                .andExpect(jsonPath("$.links.next").doesNotExist());
+    }
+    
+    @Test
+    void deveRetornar400QuandoCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/clientes")
+                .param("cursor", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void deveExportarClientesComoArrayJson() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/clientes/exportar"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Content-Disposition", containsString("clientes.json")))
+                .andExpect(jsonPath("$").isArray());
+    }
+    
+    private Cliente novoCliente(String nome, String email, boolean ativo) {
+        Cliente novo = new Cliente();
+        novo.setNome(nome);
+        novo.setEmail(email);
+        novo.setTelefone("11977776666");
+        novo.setAtivo(ativo);
+        return clienteRepository.save(novo);
+    }
+    
+    private ClienteDTO novoDTO(String nome, String email) {
+        ClienteDTO dto = new ClienteDTO();
+        dto.setNome(nome);
+        dto.setEmail(email);
+        dto.setTelefone("11988887777");
+        dto.setEndereco("Rua B, 20");
+        return dto;
+    }
+}
@@ -0,0 +1,85 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.dto.ClienteDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class HealthControllerIT {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void deveExporMetricasNoFormatoPrometheus() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/health")).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/clientes/999999")).andExpect(status().isNotFound());
+        
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string(containsString("# TYPE delivery_http_latencia_segundos summary")))
+                .andExpect(content().string(containsString("delivery_http_latencia_segundos{endpoint=\"HealthController.health\",quantile=\"0.99\"}")))
+                .andExpect(content().string(containsString("delivery_http_latencia_segundos_count{endpoint=\"HealthController.health\"}")))
+                .andExpect(content().string(matchesRegex("(?s).*delivery_http_erros_total\\{endpoint=\"ClienteController.buscarPorId\",status=\"4xx\"} [1-9].*")))
+                .andExpect(content().string(matchesRegex("(?s).*\ndelivery_http_requisicoes_em_andamento [1-9].*")))
+                .andExpect(content().string(containsString("delivery_servico_latencia_segundos_count{metodo=\"ClienteService.buscarClientePorId\"}")));
+    }
+    
+    @Test
+    void deveResumirDesempenhoPorEndpointEService() throws Exception {
+        ClienteDTO dto = new ClienteDTO();
+        dto.setNome("Lia Campos");
+        dto.setEmail("lia.campos@email.com");
+        dto.setTelefone("11988887777");
+        dto.setEndereco("Rua C, 30");
+        mockMvc.perform(post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        
+        mockMvc.perform(get("/health/perf"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.emAndamento").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.picoEmAndamento").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.endpoints[?(@.endpoint == 'ClienteController.cadastrar')].requisicoes").value(hasItem(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.endpoints[?(@.endpoint == 'ClienteController.cadastrar')].mediaBytesRequisicao").value(hasItem(greaterThan(0.0))))
+                .andExpect(jsonPath("$.endpoints[?(@.endpoint == 'ClienteController.cadastrar')].mediaBytesResposta").value(hasItem(greaterThan(0.0))))
+                .andExpect(jsonPath("$.endpoints[?(@.endpoint == 'ClienteController.cadastrar')].maxConsultas").value(hasItem(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.servicos[?(@.metodo == 'ClienteService.cadastrarCliente')].chamadas").value(hasItem(greaterThanOrEqualTo(1))));
+    }
+    
+    @Test
+    void deveRelatarConsultasPorTempoTotal() throws Exception {
+        mockMvc.perform(delete("/health/sql")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/clientes")).andExpect(status().isOk());
+        
+        mockMvc.perform(get("/health/sql").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limiteLentaMs").value(100))
+                .andExpect(jsonPath("$.consultasExecutadas").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.consultas.length()").value(allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(5))))
+                .andExpect(jsonPath("$.consultas[0].consulta").isString())
+                .andExpect(jsonPath("$.consultas[0].execucoes").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.maisLentas").isArray());
+    }
+}
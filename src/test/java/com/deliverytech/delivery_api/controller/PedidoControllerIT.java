@@ -1,28 +1,49 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.dto.CalcularPedidoDTO;
 import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoLoteDTO;
+import com.deliverytech.delivery_api.dto.StatusPedidoEventoDTO;
+import com.deliverytech.delivery_api.event.StatusPedidoAlteradoEvent;
 import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.notificacao.BarramentoStatusPedido;
 import com.deliverytech.delivery_api.repository.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @Transactional
+@RecordApplicationEvents
 class PedidoControllerIT {
     
     @Autowired
@@ -31,6 +52,9 @@ class PedidoControllerIT {
     @Autowired
     private PedidoRepository pedidoRepository;
     
+    @Autowired
+    private FaixaTaxaEntregaRepository faixaTaxaEntregaRepository;
+    
     @Autowired
     private ClienteRepository clienteRepository;
     
@@ -43,6 +67,15 @@ class PedidoControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private BarramentoStatusPedido barramento;
+    
+    @Autowired
+    private ApplicationEvents eventos;
+    
     private Cliente cliente;
     private Restaurante restaurante;
     private Produto produto;
@@ -102,6 +135,84 @@ class PedidoControllerIT {
                 .andExpect(jsonPath("$.data.itens[0].quantidade").value(2));
     }
     
+    @Test
+    void deveDevolverPedidoOriginalAoRepetirIdempotencyKey() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String corpo = objectMapper.writeValueAsString(novoPedidoDTO(2));
+        long pedidosAntes = pedidoRepository.count();
+        
+        String primeira = mockMvc.perform(post("/api/pedidos")
+                .header("Idempotency-Key", chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+        Integer pedidoId = JsonPath.read(primeira, "$.data.id");
+        
+        mockMvc.perform(post("/api/pedidos")
+                .header("Idempotency-Key", chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", "/api/pedidos/" + pedidoId))
+                .andExpect(jsonPath("$.data.id").value(pedidoId));
+        
+        assertThat(pedidoRepository.count()).isEqualTo(pedidosAntes + 1);
+    }
+    
+    @Test
+    void deveRetornar409QuandoIdempotencyKeyReutilizadaComOutroPedido() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/pedidos")
+                .header("Idempotency-Key", chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPedidoDTO(1))))
+                .andExpect(status().isCreated());
+        
+        mockMvc.perform(post("/api/pedidos")
+                .header("Idempotency-Key", chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPedidoDTO(3))))
+                .andExpect(status().isConflict());
+    }
+    
+    @Test
+    void deveRetornar400QuandoIdempotencyKeyMuitoLonga() throws Exception {
+        mockMvc.perform(post("/api/pedidos")
+                .header("Idempotency-Key", "x".repeat(101))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPedidoDTO(1))))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void deveCalcularTaxaDeEntregaPelaDistanciaAoCriarPedido() throws Exception {
+        restaurante.setCep("01310-100");
+        restauranteRepository.save(restaurante);
+        faixaTaxaEntregaRepository.save(new FaixaTaxaEntrega(null, restaurante, new BigDecimal("3.00"), new BigDecimal("4.00")));
+        faixaTaxaEntregaRepository.save(new FaixaTaxaEntrega(null, restaurante, new BigDecimal("15.00"), new BigDecimal("9.50")));
+        
+        PedidoDTO dto = new PedidoDTO();
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setEnderecoEntrega("Rua A, 123");
+        dto.setCepEntrega("04538-000");
+        
+        PedidoDTO.ItemPedidoDTO item = new PedidoDTO.ItemPedidoDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(1);
+        dto.setItens(List.of(item));
+        
+        mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.taxaEntrega").value(9.50))
+                .andExpect(jsonPath("$.data.total").value(45.40));
+    }
+    
     @Test
     void deveRetornar404QuandoClienteNaoExiste() throws Exception {
         PedidoDTO dto = new PedidoDTO();
@@ -132,5 +243,399 @@ class PedidoControllerIT {
                 .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isBadRequest());
     }
+    
+    @Test
+    void deveCalcularPedidoComConsultaUnicaDeProdutos() throws Exception {
+        CalcularPedidoDTO dto = new CalcularPedidoDTO();
+        dto.setRestauranteId(restaurante.getId());
+        List<CalcularPedidoDTO.ItemPedidoDTO> itens = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Produto extra = new Produto();
+            extra.setNome("Produto " + i);
+            extra.setPreco(new BigDecimal("10.00"));
+            extra.setCategoria("Pizza");
+            extra.setDisponivel(true);
+            extra.setRestaurante(restaurante);
+            extra = produtoRepository.save(extra);
+            itens.add(new CalcularPedidoDTO.ItemPedidoDTO(extra.getId(), 1));
+        }
+        dto.setItens(itens);
+        
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        mockMvc.perform(post("/api/pedidos/calcular")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.subtotal").value(300.00));
+        
+        // restaurante + todos os produtos (com restaurante) em uma única consulta
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+    
+    @Test
+    void devePersistirItensEmLote() throws Exception {
+        PedidoDTO dto = new PedidoDTO();
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setEnderecoEntrega("Rua A, 123");
+        List<PedidoDTO.ItemPedidoDTO> itens = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Produto extra = new Produto();
+            extra.setNome("Produto " + i);
+            extra.setPreco(new BigDecimal("10.00"));
+            extra.setCategoria("Pizza");
+            extra.setDisponivel(true);
+            extra.setRestaurante(restaurante);
+            extra = produtoRepository.save(extra);
+            itens.add(new PedidoDTO.ItemPedidoDTO(extra.getId(), 1));
+        }
+        dto.setItens(itens);
+        
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.itens.length()").value(30));
+        entityManager.flush();
+        
+        // cliente, restaurante e produtos + chamadas de sequence + um insert em lote para o pedido e outro
+        // para os itens; com IDENTITY seriam 30+ inserts individuais
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+    
+    @Test
+    void deveListarPedidosSemConsultasPorPedido() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(cliente);
+            pedido.setRestaurante(restaurante);
+            pedido.setEnderecoEntrega("Rua A, " + i);
+            pedido.setSubtotal(new BigDecimal("35.90"));
+            pedido.setTaxaEntrega(new BigDecimal("5.00"));
+            pedido.setTotal(new BigDecimal("40.90"));
+            ItemPedido item = new ItemPedido();
+            item.setPedido(pedido);
+            item.setProduto(produto);
+            item.setQuantidade(1);
+            item.setPrecoUnitario(new BigDecimal("35.90"));
+            item.setSubtotal(new BigDecimal("35.90"));
+            pedido.getItens().add(item);
+            pedidoRepository.save(pedido);
+        }
+        
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        mockMvc.perform(get("/api/pedidos").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.content[0].itens[0].produtoNome").value("Pizza Margherita"));
+        
+        // página de IDs + count + detalhes (cliente, restaurante, itens e produtos)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+    
+    @Test
+    void deveListarPedidosPorCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(cliente);
+            pedido.setRestaurante(restaurante);
+            pedido.setEnderecoEntrega("Rua A, " + i);
+            pedido.setDataCriacao(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+            pedidoRepository.save(pedido);
+        }
+        
+        String primeiraPagina = mockMvc.perform(get("/api/pedidos")
+                .param("cursor", "")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].enderecoEntrega").value("Rua A, 2"))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.links.next").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        
+        String next = JsonPath.read(primeiraPagina, "$.links.next");
+        String cursor = next.substring(next.indexOf("cursor=") + "cursor=".length());
+        
+        mockMvc.perform(get("/api/pedidos")
+                .param("cursor", cursor)
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].enderecoEntrega").value("Rua A, 0"))
+                .andExpect(jsonPath("$.links.next").doesNotExist());
+    }
+    
+    @Test
+    void deveRetornar400QuandoCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/pedidos").param("cursor", "invalido"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void deveReportarTodosOsProdutosIndisponiveis() throws Exception {
+        Produto outro = new Produto();
+        outro.setNome("Pizza Calabresa");
+        outro.setPreco(new BigDecimal("38.00"));
+        outro.setCategoria("Pizza");
+        outro.setDisponivel(false);
+        outro.setRestaurante(restaurante);
+        outro = produtoRepository.save(outro);
+        produto.setDisponivel(false);
+        produtoRepository.save(produto);
+        
+        PedidoDTO dto = new PedidoDTO();
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setEnderecoEntrega("Rua A, 123");
+        dto.setItens(List.of(
+            new PedidoDTO.ItemPedidoDTO(produto.getId(), 1),
+            new PedidoDTO.ItemPedidoDTO(outro.getId(), 1)));
+        
+        mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Produto não está disponível: Pizza Margherita, Pizza Calabresa"));
+    }
+    
+    @Test
+    void deveCriarPedidosEmLoteComResultadoPorPedido() throws Exception {
+        Restaurante inativo = new Restaurante();
+        inativo.setNome("Burger Fechado");
+        inativo.setCategoria("Lanches");
+        inativo.setEndereco("Av. Paulista, 1000");
+        inativo.setAtivo(false);
+        inativo = restauranteRepository.save(inativo);
+        
+        PedidoDTO restauranteInativo = novoPedidoDTO(1);
+        restauranteInativo.setRestauranteId(inativo.getId());
+        PedidoDTO produtoInexistente = novoPedidoDTO(1);
+        produtoInexistente.setItens(List.of(new PedidoDTO.ItemPedidoDTO(999999L, 1)));
+        PedidoDTO semEndereco = novoPedidoDTO(1);
+        semEndereco.setEnderecoEntrega(null);
+        
+        PedidoLoteDTO lote = new PedidoLoteDTO(List.of(
+            novoPedidoDTO(1), restauranteInativo, produtoInexistente, semEndereco, novoPedidoDTO(3)));
+        
+        mockMvc.perform(post("/api/pedidos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(5))
+                .andExpect(jsonPath("$.data.sucessos").value(2))
+                .andExpect(jsonPath("$.data.falhas").value(3))
+                .andExpect(jsonPath("$.data.resultados[0].sucesso").value(true))
+                .andExpect(jsonPath("$.data.resultados[0].pedidoId").isNumber())
+                .andExpect(jsonPath("$.data.resultados[1].erro").value("Restaurante está inativo"))
+                .andExpect(jsonPath("$.data.resultados[2].erro").value("Produto não encontrado com ID: 999999"))
+                .andExpect(jsonPath("$.data.resultados[3].sucesso").value(false))
+                .andExpect(jsonPath("$.data.resultados[3].erro").exists())
+                .andExpect(jsonPath("$.data.resultados[4].indice").value(4))
+                .andExpect(jsonPath("$.data.resultados[4].sucesso").value(true));
+        
+        assertThat(pedidoRepository.count()).isEqualTo(2);
+    }
+    
+    @Test
+    void deveResolverReferenciasDoLoteEmPoucasConsultas() throws Exception {
+        List<PedidoDTO> pedidos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            pedidos.add(novoPedidoDTO(i % 5 + 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        mockMvc.perform(post("/api/pedidos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PedidoLoteDTO(pedidos))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sucessos").value(50));
+        
+        // Clientes, restaurantes e produtos: uma consulta cada, independente do tamanho do lote
+        assertThat(statistics.getQueryExecutionCount()).isLessThanOrEqualTo(3);
+        assertThat(pedidoRepository.count()).isEqualTo(50);
+    }
+    
+    @Test
+    void deveRetornar400QuandoLoteVazio() throws Exception {
+        mockMvc.perform(post("/api/pedidos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PedidoLoteDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void deveAtualizarStatusIncrementandoVersao() throws Exception {
+        Long pedidoId = criarPedido();
+        
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("CONFIRMADO"));
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "PREPARANDO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("PREPARANDO"));
+        
+        Pedido pedido = pedidoRepository.findById(pedidoId).orElseThrow();
+        assertThat(pedido.getVersao()).isEqualTo(2L);
+        assertThat(pedido.getDataAtualizacao()).isNotNull();
+    }
+    
+    @Test
+    void deveCancelarPedidoUmaUnicaVez() throws Exception {
+        Long pedidoId = criarPedido();
+        
+        mockMvc.perform(delete("/api/pedidos/{id}", pedidoId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/pedidos/{id}", pedidoId))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Pedido já está cancelado"));
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CANCELADO"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Pedido cancelado não pode ter status alterado"));
+    }
+    
+    @Test
+    void naoDevePermitirCancelarPedidoEntregue() throws Exception {
+        Long pedidoId = criarPedido();
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "ENTREGUE"))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(delete("/api/pedidos/{id}", pedidoId))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Pedido entregue não pode ser cancelado"));
+    }
+    
+    @Test
+    void deveRetornar404AoAtualizarStatusDePedidoInexistente() throws Exception {
+        mockMvc.perform(patch("/api/pedidos/{id}/status", 999999L).param("status", "CONFIRMADO"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/pedidos/{id}", 999999L))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void devePublicarMudancasDeStatusParaOsStreams() throws Exception {
+        Long pedidoId = criarPedido();
+        
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/pedidos/{id}", pedidoId))
+                .andExpect(status().isNoContent());
+        
+        assertThat(eventos.stream(StatusPedidoAlteradoEvent.class))
+            .extracting(StatusPedidoAlteradoEvent::pedidoId, StatusPedidoAlteradoEvent::clienteId,
+                StatusPedidoAlteradoEvent::restauranteId, StatusPedidoAlteradoEvent::status)
+            .containsExactly(
+                tuple(pedidoId, cliente.getId(), restaurante.getId(), Pedido.StatusPedido.CONFIRMADO),
+                tuple(pedidoId, cliente.getId(), restaurante.getId(), Pedido.StatusPedido.CANCELADO));
+    }
+    
+    @Test
+    void deveEntregarEventosDeStatusAoStreamDoPedido() throws Exception {
+        Long pedidoId = criarPedido();
+        MvcResult stream = mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        barramento.publicar(new StatusPedidoEventoDTO(
+            pedidoId, cliente.getId(), restaurante.getId(), Pedido.StatusPedido.CONFIRMADO, LocalDateTime.now()));
+        
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+            assertThat(stream.getResponse().getContentAsString())
+                .contains("event:status")
+                .contains("\"pedidoId\":" + pedidoId)
+                .contains("\"status\":\"CONFIRMADO\""));
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+    
+    @Test
+    void deveReenviarEventosPerdidosAoReconectarComLastEventId() throws Exception {
+        long anterior = barramento.publicar(new StatusPedidoEventoDTO(
+            1L, cliente.getId(), restaurante.getId(), Pedido.StatusPedido.CONFIRMADO, LocalDateTime.now()));
+        barramento.publicar(new StatusPedidoEventoDTO(
+            1L, cliente.getId(), restaurante.getId(), Pedido.StatusPedido.PREPARANDO, LocalDateTime.now()));
+        
+        MvcResult stream = mockMvc.perform(get("/api/pedidos/restaurantes/{restauranteId}/eventos", restaurante.getId())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", String.valueOf(anterior)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+            assertThat(stream.getResponse().getContentAsString())
+                .contains("id:" + (anterior + 1))
+                .contains("\"status\":\"PREPARANDO\"")
+                .doesNotContain("\"status\":\"CONFIRMADO\""));
+    }
+    
+    @Test
+    void deveRetornar404AoAcompanharPedidoInexistente() throws Exception {
+        mockMvc.perform(get("/api/pedidos/{id}/eventos", 999999L)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Pedido não encontrado com ID: 999999"));
+        mockMvc.perform(get("/api/pedidos/clientes/{clienteId}/eventos", 999999L))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void deveRetornar400QuandoLastEventIdInvalido() throws Exception {
+        mockMvc.perform(get("/api/pedidos/clientes/{clienteId}/eventos", cliente.getId())
+                .header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void deveRejeitarGravacaoDePedidoComVersaoDesatualizada() throws Exception {
+        Long pedidoId = criarPedido();
+        entityManager.flush();
+        entityManager.clear();
+        Pedido desatualizado = pedidoRepository.findById(pedidoId).orElseThrow();
+        entityManager.detach(desatualizado);
+        
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId).param("status", "CONFIRMADO"))
+                .andExpect(status().isOk());
+        
+        desatualizado.setEnderecoEntrega("Rua B, 456");
+        assertThatThrownBy(() -> pedidoRepository.saveAndFlush(desatualizado))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+    
+    private Long criarPedido() throws Exception {
+        String resposta = mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPedidoDTO(1))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(resposta, "$.data.id")).longValue();
+    }
+    
+    private PedidoDTO novoPedidoDTO(int quantidade) {
+        PedidoDTO dto = new PedidoDTO();
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setEnderecoEntrega("Rua A, 123");
+        PedidoDTO.ItemPedidoDTO item = new PedidoDTO.ItemPedidoDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(quantidade);
+        dto.setItens(List.of(item));
+        return dto;
+    }
 }
-
@@ -5,18 +5,25 @@ import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.search.IndiceAutocompletar;
+import com.deliverytech.delivery_api.search.IndiceProdutos;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,6 +44,12 @@ class ProdutoControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private IndiceProdutos indiceProdutos;
+    
+    @Autowired
+    private IndiceAutocompletar indiceAutocompletar;
+    
     private Restaurante restaurante;
     private Produto produto;
     
@@ -129,13 +142,46 @@ class ProdutoControllerIT {
     
     @Test
     void deveBuscarProdutosPorRestaurante() throws Exception {
-        mockMvc.perform(get("/api/restaurantes/{restauranteId}/produtos", restaurante.getId()))
+        mockMvc.perform(get("/api/produtos/restaurantes/{restauranteId}/produtos", restaurante.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data[0].nome").value("Pizza Margherita"));
     }
     
+    @Test
+    void deveRefletirAlteracaoNoCardapioDentroDaMesmaTransacao() throws Exception {
+        mockMvc.perform(get("/api/produtos/restaurantes/{restauranteId}/produtos", restaurante.getId())
+                .param("disponivel", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+        
+        mockMvc.perform(patch("/api/produtos/{id}/disponibilidade", produto.getId()))
+                .andExpect(status().isNoContent());
+        
+        mockMvc.perform(get("/api/produtos/restaurantes/{restauranteId}/produtos", restaurante.getId())
+                .param("disponivel", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+    
+    @Test
+    void deveServirCardapioComprimidoQuandoAceitaGzip() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/api/produtos/restaurantes/{restauranteId}/produtos", restaurante.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                // Dentro da transação do teste o cardápio não passa pelo cache e não tem ETag
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            JsonNode json = objectMapper.readTree(gzip);
+            assertEquals("Pizza Margherita", json.get("data").get(0).get("nome").asText());
+        }
+    }
+    
     @Test
     void deveBuscarProdutosPorCategoria() throws Exception {
         mockMvc.perform(get("/api/produtos/categoria/Pizza"))
@@ -153,6 +199,52 @@ class ProdutoControllerIT {
                 .andExpect(jsonPath("$.data").isArray());
     }
     
+    @Test
+    void deveBuscarProdutosPorRelevanciaIgnorandoAcentos() throws Exception {
+        Produto paoDeQueijo = novoProduto("Pão de Queijo", "Lanche", "Acompanha molho de pizza", true);
+        novoProduto("Pizza Calabresa", "Pizza", null, false);
+        indiceProdutos.reconstruir();
+        
+        mockMvc.perform(get("/api/produtos/buscar")
+                .param("nome", "pao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(paoDeQueijo.getId()));
+        
+        mockMvc.perform(get("/api/produtos/buscar")
+                .param("nome", "PIZZA")
+                .param("disponivel", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(produto.getId()))
+                .andExpect(jsonPath("$.data[1].id").value(paoDeQueijo.getId()));
+        
+        mockMvc.perform(get("/api/produtos/buscar")
+                .param("nome", "manjericao marg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(produto.getId()));
+    }
+    
+    @Test
+    void deveAutocompletarProdutosDisponiveis() throws Exception {
+        Produto calabresa = novoProduto("Pizza Calabresa", "Pizza", null, true);
+        novoProduto("Pizza Portuguesa", "Pizza", null, false);
+        indiceAutocompletar.reconstruir();
+        
+        mockMvc.perform(get("/api/produtos/autocomplete")
+                .param("prefixo", "piz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(calabresa.getId()))
+                .andExpect(jsonPath("$.data[1].id").value(produto.getId()));
+        
+        mockMvc.perform(get("/api/produtos/autocomplete")
+                .param("prefixo", "marg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].nome").value("Pizza Margherita"));
+    }
+    
     @Test
     void deveRetornar400QuandoDadosInvalidos() throws Exception {
         ProdutoDTO dto = new ProdutoDTO();
@@ -178,5 +270,15 @@ class ProdutoControllerIT {
                 .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isNotFound());
     }
+    
+    private Produto novoProduto(String nome, String categoria, String descricao, boolean disponivel) {
+        Produto novo = new Produto();
+        novo.setNome(nome);
+        novo.setCategoria(categoria);
+        novo.setDescricao(descricao);
+        novo.setPreco(new BigDecimal("10.00"));
+        novo.setDisponivel(disponivel);
+        novo.setRestaurante(restaurante);
+        return produtoRepository.save(novo);
+    }
 }
-
@@ -1,19 +1,29 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
 import com.deliverytech.delivery_api.model.*;
 import com.deliverytech.delivery_api.repository.*;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.ResumoVendasService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -36,6 +46,12 @@ class RelatorioControllerIT {
     @Autowired
     private ProdutoRepository produtoRepository;
     
+    @Autowired
+    private PedidoService pedidoService;
+    
+    @Autowired
+    private ResumoVendasService resumoVendasService;
+    
     private Cliente cliente;
     private Restaurante restaurante;
     private Produto produto;
@@ -89,6 +105,7 @@ class RelatorioControllerIT {
         pedido.getItens().add(item);
         
         pedido = pedidoRepository.save(pedido);
+        resumoVendasService.reconstruir();
     }
     
     @Test
@@ -113,6 +130,55 @@ class RelatorioControllerIT {
                 .andExpect(jsonPath("$.data").isArray());
     }
     
+    @Test
+    void deveIgnorarPedidosCanceladosNasVendas() throws Exception {
+        Pedido cancelado = new Pedido();
+        cancelado.setCliente(cliente);
+        cancelado.setRestaurante(restaurante);
+        cancelado.setEnderecoEntrega("Rua B, 456");
+        cancelado.setStatus(Pedido.StatusPedido.CANCELADO);
+        cancelado.setSubtotal(new BigDecimal("35.90"));
+        cancelado.setTaxaEntrega(new BigDecimal("5.00"));
+        cancelado.setTotal(new BigDecimal("40.90"));
+        pedidoRepository.save(cancelado);
+        resumoVendasService.reconstruir();
+        
+        mockMvc.perform(get("/api/relatorios/vendas-por-restaurante"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].quantidadePedidos").value(1))
+                .andExpect(jsonPath("$.data[0].totalVendas").value(76.80));
+    }
+    
+    @Test
+    void deveAtualizarResumosAoCriarECancelarPedido() throws Exception {
+        PedidoDTO dto = new PedidoDTO();
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setEnderecoEntrega("Rua A, 123");
+        dto.setItens(List.of(new PedidoDTO.ItemPedidoDTO(produto.getId(), 1)));
+        PedidoResponseDTO criado = pedidoService.criar(dto);
+        
+        mockMvc.perform(get("/api/relatorios/vendas-por-restaurante"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].quantidadePedidos").value(2));
+        
+        pedidoService.cancelar(criado.getId());
+        
+        mockMvc.perform(get("/api/relatorios/vendas-por-restaurante"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].quantidadePedidos").value(1))
+                .andExpect(jsonPath("$.data[0].totalVendas").value(76.80));
+    }
+    
+    @Test
+    void deveReconstruirResumos() throws Exception {
+        mockMvc.perform(post("/api/relatorios/resumos/reconstruir"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").value(3));
+    }
+    
     @Test
     void deveRetornarProdutosMaisVendidos() throws Exception {
         mockMvc.perform(get("/api/relatorios/produtos-mais-vendidos"))
@@ -130,6 +196,34 @@ class RelatorioControllerIT {
                 .andExpect(jsonPath("$.data").isArray());
     }
     
+    @Test
+    void deveAplicarLimiteNoRankingDeProdutos() throws Exception {
+        Produto outro = new Produto();
+        outro.setNome("Pizza Calabresa");
+        outro.setPreco(new BigDecimal("38.00"));
+        outro.setCategoria("Pizza");
+        outro.setDisponivel(true);
+        outro.setRestaurante(restaurante);
+        outro = produtoRepository.save(outro);
+        
+        ItemPedido item = new ItemPedido();
+        item.setPedido(pedido);
+        item.setProduto(outro);
+        item.setQuantidade(1);
+        item.setPrecoUnitario(new BigDecimal("38.00"));
+        item.setSubtotal(new BigDecimal("38.00"));
+        pedido.getItens().add(item);
+        pedidoRepository.save(pedido);
+        resumoVendasService.reconstruir();
+        
+        mockMvc.perform(get("/api/relatorios/produtos-mais-vendidos")
+                .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].produtoId").value(produto.getId()))
+                .andExpect(jsonPath("$.data[0].quantidadeVendida").value(2));
+    }
+    
     @Test
     void deveRetornarClientesAtivos() throws Exception {
         mockMvc.perform(get("/api/relatorios/clientes-ativos"))
@@ -168,5 +262,25 @@ class RelatorioControllerIT {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray());
     }
+    
+    @Test
+    void deveExportarPedidosPorPeriodoEmCsv() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/relatorios/pedidos-por-periodo/exportar")
+                .param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("pedidos.csv")))
+                .andExpect(content().string(startsWith("pedidoId,clienteNome,restauranteNome,status,total,dataCriacao\n")));
+    }
+    
+    @Test
+    void deveRetornarErroParaFormatoDeExportacaoInvalido() throws Exception {
+        mockMvc.perform(get("/api/relatorios/pedidos-por-periodo/exportar")
+                .param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+    }
 }
-
@@ -1,6 +1,9 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.dto.FaixaTaxaEntregaDTO;
 import com.deliverytech.delivery_api.dto.RestauranteDTO;
+import com.deliverytech.delivery_api.dto.TabelaTaxaEntregaDTO;
+import com.deliverytech.delivery_api.geo.IndiceRestaurantes;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +17,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +36,9 @@ class RestauranteControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private IndiceRestaurantes indiceRestaurantes;
+    
     private Restaurante restaurante;
     
     @BeforeEach
@@ -127,5 +134,92 @@ class RestauranteControllerIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false));
     }
+    
+    @Test
+    void deveBuscarRestaurantesProximosOrdenadosPorDistancia() throws Exception {
+        Restaurante vizinho = novoRestaurante("Sushi Paulista", "01415-000");
+        novoRestaurante("Carioca Grill", "22041-001");
+        Restaurante inativo = novoRestaurante("Cantina Fechada", "01310-200");
+        inativo.setAtivo(false);
+        repository.save(inativo);
+        indiceRestaurantes.reconstruir();
+        
+        mockMvc.perform(get("/api/restaurantes/proximos/{cep}", "01311-000")
+                .param("raioKm", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(restaurante.getId()))
+                .andExpect(jsonPath("$.data[1].id").value(vizinho.getId()));
+        
+        mockMvc.perform(get("/api/restaurantes/proximos/{cep}", "01311-000")
+                .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(restaurante.getId()));
+    }
+    
+    @Test
+    void deveRetornar400ParaCepInvalidoNaBuscaPorProximidade() throws Exception {
+        mockMvc.perform(get("/api/restaurantes/proximos/{cep}", "123"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void deveCalcularTaxaDeEntregaPorFaixaDeDistancia() throws Exception {
+        TabelaTaxaEntregaDTO tabela = new TabelaTaxaEntregaDTO(List.of(
+            new FaixaTaxaEntregaDTO(new BigDecimal("30.00"), new BigDecimal("15.00")),
+            new FaixaTaxaEntregaDTO(new BigDecimal("3.00"), new BigDecimal("4.00")),
+            new FaixaTaxaEntregaDTO(new BigDecimal("10.00"), new BigDecimal("8.00"))));
+        
+        mockMvc.perform(put("/api/restaurantes/{id}/faixas-taxa", restaurante.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tabela)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.faixas.length()").value(3))
+                .andExpect(jsonPath("$.data.faixas[0].distanciaMaximaKm").value(3.00));
+        
+        // Mesmo prefixo de CEP: primeira faixa
+        mockMvc.perform(get("/api/restaurantes/{id}/taxa-entrega/{cep}", restaurante.getId(), "01310-200"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(4.00));
+        
+        // Moema, a cerca de 5 km da Paulista
+        mockMvc.perform(get("/api/restaurantes/{id}/taxa-entrega/{cep}", restaurante.getId(), "04538-000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(8.00));
+        
+        // Rio de Janeiro: fora da última faixa
+        mockMvc.perform(get("/api/restaurantes/{id}/taxa-entrega/{cep}", restaurante.getId(), "20040-020"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+    
+    @Test
+    void deveUsarTaxaFixaQuandoRestauranteNaoTemFaixas() throws Exception {
+        mockMvc.perform(get("/api/restaurantes/{id}/taxa-entrega/{cep}", restaurante.getId(), "20040-020"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(5.00));
+    }
+    
+    @Test
+    void deveRejeitarFaixasComDistanciaRepetida() throws Exception {
+        TabelaTaxaEntregaDTO tabela = new TabelaTaxaEntregaDTO(List.of(
+            new FaixaTaxaEntregaDTO(new BigDecimal("5.00"), new BigDecimal("4.00")),
+            new FaixaTaxaEntregaDTO(new BigDecimal("5.00"), new BigDecimal("6.00"))));
+        
+        mockMvc.perform(put("/api/restaurantes/{id}/faixas-taxa", restaurante.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tabela)))
+                .andExpect(status().isBadRequest());
+    }
+    
+    private Restaurante novoRestaurante(String nome, String cep) {
+        Restaurante novo = new Restaurante();
+        novo.setNome(nome);
+        novo.setCategoria("Variada");
+        novo.setEndereco("Rua Teste, 1");
+        novo.setCep(cep);
+        novo.setTaxaEntrega(new BigDecimal("5.00"));
+        novo.setAtivo(true);
+        return repository.save(novo);
+    }
 }
-
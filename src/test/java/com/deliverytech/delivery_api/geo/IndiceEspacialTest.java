@@ -0,0 +1,81 @@
+package com.deliverytech.delivery_api.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceEspacialTest {
+    
+    private static final int RESTAURANTES = 100_000;
+    
+    @Test
+    void deveRetornarOsMesmosVizinhosQueABuscaExaustiva() {
+        Random random = new Random(42);
+        Coordenada[] coordenadas = new Coordenada[RESTAURANTES];
+        IndiceEspacial indice = new IndiceEspacial(0.05);
+        for (int i = 0; i < RESTAURANTES; i++) {
+            // Região metropolitana de São Paulo, com alguns pontos espalhados pelo país
+            coordenadas[i] = i % 10 == 0
+                ? new Coordenada(-33 + random.nextDouble() * 30, -70 + random.nextDouble() * 35)
+                : new Coordenada(-23.8 + random.nextDouble() * 0.6, -46.9 + random.nextDouble() * 0.6);
+            indice.atualizar(i, coordenadas[i]);
+        }
+        assertEquals(RESTAURANTES, indice.tamanho());
+        
+        for (int consulta = 0; consulta < 20; consulta++) {
+            Coordenada origem = new Coordenada(-23.9 + random.nextDouble() * 0.8, -47.0 + random.nextDouble() * 0.8);
+            double raioKm = 1 + random.nextDouble() * 10;
+            double[] distancias = new double[RESTAURANTES];
+            for (int i = 0; i < RESTAURANTES; i++) {
+                distancias[i] = origem.distanciaKm(coordenadas[i]);
+            }
+            List<Long> porDistancia = IntStream.range(0, RESTAURANTES).boxed()
+                .filter(i -> distancias[i] <= 50)
+                .sorted(Comparator.comparingDouble(i -> distancias[i]))
+                .map(Integer::longValue)
+                .collect(Collectors.toList());
+            
+            assertEquals(porDistancia.subList(0, 20), ids(indice.maisProximos(origem, 20, 50)));
+            assertEquals(porDistancia.stream().filter(i -> distancias[i.intValue()] <= raioKm).collect(Collectors.toList()),
+                ids(indice.noRaio(origem, raioKm)));
+        }
+    }
+    
+    @Test
+    void deveMoverERemoverPontos() {
+        IndiceEspacial indice = new IndiceEspacial(0.05);
+        Coordenada paulista = new Coordenada(-23.5613, -46.6565);
+        indice.atualizar(1, paulista);
+        indice.atualizar(2, new Coordenada(-23.5505, -46.6333));
+        
+        indice.atualizar(1, new Coordenada(-22.9068, -43.1729));
+        assertEquals(List.of(2L), ids(indice.maisProximos(paulista, 5, 100)));
+        
+        indice.remover(2);
+        assertTrue(indice.maisProximos(paulista, 5, 100).isEmpty());
+        assertEquals(List.of(1L), ids(indice.maisProximos(paulista, 5, 500)));
+        assertEquals(1, indice.tamanho());
+    }
+    
+    @Test
+    void deveEncontrarVizinhoDistanteEmGradeEsparsa() {
+        IndiceEspacial indice = new IndiceEspacial(0.05);
+        indice.atualizar(7, new Coordenada(-3.7319, -38.5267));
+        
+        List<IndiceEspacial.Vizinho> vizinhos = indice.maisProximos(new Coordenada(-23.5505, -46.6333), 1, Double.MAX_VALUE);
+        
+        assertEquals(1, vizinhos.size());
+        assertEquals(7, vizinhos.get(0).id());
+        assertEquals(2370, vizinhos.get(0).distanciaKm(), 50);
+    }
+    
+    private static List<Long> ids(List<IndiceEspacial.Vizinho> vizinhos) {
+        return vizinhos.stream().map(IndiceEspacial.Vizinho::id).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,51 @@
+package com.deliverytech.delivery_api.metricas;
+
+import com.deliverytech.delivery_api.dto.ExecucaoLentaDTO;
+import com.deliverytech.delivery_api.dto.RelatorioSqlDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapturaConsultasTest {
+    
+    @Test
+    void deveGuardarSoAsExecucoesMaisLentasAcimaDoLimite() {
+        CapturaConsultas captura = new CapturaConsultas(Duration.ofMillis(50), 0, 3);
+        captura.execucao("SELECT 1", 1, 10);
+        captura.execucao("SELECT p FROM Pedido p", 20, 60);
+        captura.execucao("SELECT c FROM Cliente c", 5, 300);
+        captura.execucao("SELECT r FROM Restaurante r", 8, 120);
+        captura.execucao("SELECT pr FROM Produto pr", 2, 90);
+        
+        RelatorioSqlDTO relatorio = captura.relatorio(null);
+        
+        assertEquals(50L, relatorio.getLimiteLentaMs());
+        assertEquals(4L, relatorio.getExecucoesLentas());
+        List<ExecucaoLentaDTO> maisLentas = relatorio.getMaisLentas();
+        assertEquals(List.of(300L, 120L, 90L), maisLentas.stream().map(ExecucaoLentaDTO::getTempoMs).toList());
+        assertEquals("SELECT c FROM Cliente c", maisLentas.get(0).getConsulta());
+        assertEquals(5, maisLentas.get(0).getLinhas());
+        // Fora de um service (sem proxy na pilha) a origem não é conhecida
+        assertEquals("desconhecida", maisLentas.get(0).getOrigem());
+        assertTrue(relatorio.getConsultas().isEmpty());
+    }
+    
+    @Test
+    void deveLimitarORelatorioELimpar() {
+        CapturaConsultas captura = new CapturaConsultas(Duration.ZERO, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            captura.execucao("SELECT " + i, 1, i);
+        }
+        
+        assertEquals(2, captura.relatorio(2).getMaisLentas().size());
+        assertEquals(9L, captura.relatorio(2).getMaisLentas().get(0).getTempoMs());
+        
+        captura.limpar();
+        
+        assertEquals(0L, captura.relatorio(null).getExecucoesLentas());
+        assertTrue(captura.relatorio(null).getMaisLentas().isEmpty());
+    }
+}
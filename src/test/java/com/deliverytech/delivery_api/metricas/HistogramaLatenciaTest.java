@@ -0,0 +1,88 @@
+package com.deliverytech.delivery_api.metricas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramaLatenciaTest {
+    
+    @Test
+    void devePreservarValoresPequenosExatamente() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 1; i <= 100; i++) {
+            histograma.registrar(i);
+        }
+        HistogramaLatencia.Instantaneo instantaneo = histograma.instantaneo();
+        
+        assertEquals(100, instantaneo.quantidade());
+        assertEquals(50, instantaneo.percentil(50));
+        assertEquals(99, instantaneo.percentil(99));
+        assertEquals(100, instantaneo.percentil(100));
+        assertEquals(100, instantaneo.maximoMicros());
+        assertEquals(50.5, instantaneo.mediaMicros(), 1e-9);
+    }
+    
+    @Test
+    void deveCalcularPercentisComErroRelativoPequeno() {
+        Random random = new Random(42);
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        long[] valores = new long[200_000];
+        for (int i = 0; i < valores.length; i++) {
+            // Distribuição de cauda longa, de microssegundos a segundos
+            valores[i] = (long) Math.exp(random.nextDouble() * Math.log(5_000_000));
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+        HistogramaLatencia.Instantaneo instantaneo = histograma.instantaneo();
+        
+        for (double percentil : new double[] {50, 90, 99, 99.9}) {
+            long exato = valores[(int) Math.ceil(percentil / 100 * valores.length) - 1];
+            long estimado = instantaneo.percentil(percentil);
+            assertTrue(estimado >= exato, "percentil " + percentil + " subestimado");
+            assertTrue(estimado <= exato * 1.02, "percentil " + percentil + ": " + estimado + " vs " + exato);
+        }
+        assertEquals(valores[valores.length - 1], instantaneo.maximoMicros());
+    }
+    
+    @Test
+    void deveMapearCadaValorParaUmBaldeQueOContem() {
+        for (long valor = 0; valor < 1_000_000; valor += 7) {
+            int indice = HistogramaLatencia.indice(valor);
+            assertTrue(HistogramaLatencia.maiorValorEquivalente(indice) >= valor);
+            assertTrue(indice == 0 || HistogramaLatencia.maiorValorEquivalente(indice - 1) < valor);
+        }
+    }
+    
+    @Test
+    void deveLimitarValoresAcimaDoMaximoRastreavel() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(TimeUnit.HOURS.toMicros(5));
+        histograma.registrar(-3);
+        HistogramaLatencia.Instantaneo instantaneo = histograma.instantaneo();
+        
+        assertEquals(2, instantaneo.quantidade());
+        assertEquals(0, instantaneo.percentil(50));
+        assertEquals(TimeUnit.HOURS.toMicros(5), instantaneo.maximoMicros());
+    }
+    
+    @Test
+    void naoDevePerderRegistrosConcorrentes() throws InterruptedException {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        histograma.registrar(i % 5000);
+                    }
+                });
+            }
+        }
+        assertEquals(800_000, histograma.instantaneo().quantidade());
+    }
+}
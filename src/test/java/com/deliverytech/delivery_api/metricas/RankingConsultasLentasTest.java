@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.metricas;
+
+import com.deliverytech.delivery_api.metricas.RankingConsultasLentas.ExecucaoLenta;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingConsultasLentasTest {
+    
+    @Test
+    void deveManterAsNMaisLentasEmOrdemDecrescente() {
+        RankingConsultasLentas ranking = new RankingConsultasLentas(5);
+        Random random = new Random(42);
+        long[] tempos = random.longs(1000, 0, 1_000_000).toArray();
+        for (long tempo : tempos) {
+            ranking.registrar(new ExecucaoLenta("SELECT " + tempo, tempo, 1, "Teste.metodo", LocalDateTime.now()));
+        }
+        
+        long[] ordenados = tempos.clone();
+        Arrays.sort(ordenados);
+        long[] esperados = IntStream.range(0, 5).mapToLong(i -> ordenados[ordenados.length - 1 - i]).toArray();
+        assertArrayEquals(esperados, ranking.listar().stream().mapToLong(ExecucaoLenta::tempoMs).toArray());
+    }
+    
+    @Test
+    void deveRejeitarTamanhoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> new RankingConsultasLentas(0));
+    }
+}
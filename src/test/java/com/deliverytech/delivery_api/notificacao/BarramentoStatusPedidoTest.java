@@ -0,0 +1,212 @@
+package com.deliverytech.delivery_api.notificacao;
+
+import com.deliverytech.delivery_api.dto.StatusPedidoEventoDTO;
+import com.deliverytech.delivery_api.model.Pedido.StatusPedido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarramentoStatusPedidoTest {
+    
+    private BarramentoStatusPedido barramento;
+    
+    @AfterEach
+    void tearDown() {
+        if (barramento != null) {
+            barramento.encerrar();
+        }
+    }
+    
+    @Test
+    void deveEntregarAosAssinantesDoPedidoDoRestauranteEDoCliente() throws Exception {
+        barramento = new BarramentoStatusPedido(16, 100);
+        Coletor doPedido = new Coletor();
+        Coletor doRestaurante = new Coletor();
+        Coletor doCliente = new Coletor();
+        Coletor deOutroPedido = new Coletor();
+        barramento.assinar(Topico.PEDIDO, 1L, null, doPedido);
+        barramento.assinar(Topico.RESTAURANTE, 10L, null, doRestaurante);
+        barramento.assinar(Topico.CLIENTE, 100L, null, doCliente);
+        barramento.assinar(Topico.PEDIDO, 2L, null, deOutroPedido);
+        
+        barramento.publicar(evento(1L, 100L, 10L, StatusPedido.CONFIRMADO));
+        barramento.publicar(evento(1L, 100L, 10L, StatusPedido.PREPARANDO));
+        
+        for (Coletor coletor : List.of(doPedido, doRestaurante, doCliente)) {
+            coletor.aguardar(2);
+            assertEquals(List.of(1L, 2L), coletor.ids());
+            assertEquals(StatusPedido.PREPARANDO, coletor.recebidas().get(1).dados().getStatus());
+        }
+        assertTrue(deOutroPedido.recebidas().isEmpty());
+    }
+    
+    @Test
+    void deveReenviarEventosPerdidosAPartirDoUltimoIdRecebido() throws Exception {
+        barramento = new BarramentoStatusPedido(16, 100);
+        barramento.publicar(evento(1L, 100L, 10L, StatusPedido.CONFIRMADO));
+        barramento.publicar(evento(2L, 100L, 10L, StatusPedido.CONFIRMADO));
+        barramento.publicar(evento(1L, 100L, 10L, StatusPedido.PREPARANDO));
+        
+        Coletor coletor = new Coletor();
+        barramento.assinar(Topico.PEDIDO, 1L, 1L, coletor);
+        barramento.publicar(evento(1L, 100L, 10L, StatusPedido.SAIU_PARA_ENTREGA));
+        
+        coletor.aguardar(2);
+        assertEquals(List.of(3L, 4L), coletor.ids());
+    }
+    
+    @Test
+    void deveResincronizarQuandoHistoricoNaoCobreOUltimoIdRecebido() throws Exception {
+        barramento = new BarramentoStatusPedido(16, 2);
+        for (int i = 0; i < 5; i++) {
+            barramento.publicar(evento(1L, 100L, 10L, StatusPedido.CONFIRMADO));
+        }
+        
+        Coletor antigo = new Coletor();
+        barramento.assinar(Topico.PEDIDO, 1L, 1L, antigo);
+        Coletor deOutraExecucao = new Coletor();
+        barramento.assinar(Topico.PEDIDO, 1L, 999L, deOutraExecucao);
+        
+        for (Coletor coletor : List.of(antigo, deOutraExecucao)) {
+            coletor.aguardar(1);
+            Notificacao notificacao = coletor.recebidas().get(0);
+            assertEquals(Notificacao.RESINCRONIZAR, notificacao.evento());
+            assertEquals(5L, notificacao.id());
+        }
+    }
+    
+    @Test
+    void deveEncerrarAssinanteLentoQuandoOBufferEnche() throws Exception {
+        barramento = new BarramentoStatusPedido(4, 100);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicBoolean fechado = new AtomicBoolean();
+        Assinatura lenta = barramento.assinar(Topico.RESTAURANTE, 10L, null, new Assinatura.Envio() {
+            @Override
+            public void enviar(Notificacao notificacao) throws Exception {
+                liberar.await();
+            }
+            
+            @Override
+            public void encerrar() {
+                fechado.set(true);
+            }
+        });
+        Coletor rapida = new Coletor();
+        barramento.assinar(Topico.RESTAURANTE, 10L, null, rapida);
+        
+        // O envio da lenta fica preso: com buffer de 4, ao sexto evento ela já transbordou
+        for (int i = 1; i <= 6; i++) {
+            barramento.publicar(evento((long) i, 100L, 10L, StatusPedido.CONFIRMADO));
+            rapida.aguardar(i);
+        }
+        
+        assertFalse(lenta.ativa());
+        assertEquals(1, barramento.assinaturasAtivas());
+        liberar.countDown();
+        aguardarAte(fechado::get);
+    }
+    
+    @Test
+    void deveEnviarHeartbeatSomenteAAssinantesOciosos() throws Exception {
+        barramento = new BarramentoStatusPedido(16, 100);
+        Coletor coletor = new Coletor();
+        barramento.assinar(Topico.CLIENTE, 100L, null, coletor);
+        
+        barramento.heartbeat();
+        
+        coletor.aguardar(1);
+        assertTrue(coletor.recebidas().get(0).heartbeat());
+    }
+    
+    @Test
+    void deveEntregarTodosOsEventosEmOrdemA10MilAssinantesSimultaneos() throws Exception {
+        int assinantes = 10_000;
+        int restaurantes = 10;
+        int eventosPorRestaurante = 50;
+        barramento = new BarramentoStatusPedido(64, 1000);
+        
+        List<Coletor> coletores = new ArrayList<>();
+        for (int i = 0; i < assinantes; i++) {
+            coletores.add(new Coletor());
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < assinantes; i++) {
+                long restauranteId = i % restaurantes;
+                Coletor coletor = coletores.get(i);
+                executor.submit(() -> barramento.assinar(Topico.RESTAURANTE, restauranteId, 0L, coletor));
+            }
+        }
+        assertEquals(assinantes, barramento.assinaturasAtivas());
+        
+        // Publicadores concorrentes, um por restaurante
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long restauranteId = 0; restauranteId < restaurantes; restauranteId++) {
+                long id = restauranteId;
+                executor.submit(() -> {
+                    for (int i = 0; i < eventosPorRestaurante; i++) {
+                        barramento.publicar(evento(id * 1000 + i, 100L, id, StatusPedido.CONFIRMADO));
+                    }
+                });
+            }
+        }
+        
+        for (int i = 0; i < assinantes; i++) {
+            Coletor coletor = coletores.get(i);
+            coletor.aguardar(eventosPorRestaurante);
+            List<Notificacao> recebidas = coletor.recebidas();
+            assertEquals(eventosPorRestaurante, recebidas.size());
+            for (int j = 0; j < recebidas.size(); j++) {
+                assertEquals(i % restaurantes, recebidas.get(j).dados().getRestauranteId());
+                assertEquals((i % restaurantes) * 1000 + j, recebidas.get(j).dados().getPedidoId());
+                if (j > 0) {
+                    assertTrue(recebidas.get(j).id() > recebidas.get(j - 1).id());
+                }
+            }
+        }
+        assertEquals(assinantes, barramento.assinaturasAtivas());
+    }
+    
+    private static StatusPedidoEventoDTO evento(Long pedidoId, Long clienteId, Long restauranteId, StatusPedido status) {
+        return new StatusPedidoEventoDTO(pedidoId, clienteId, restauranteId, status, LocalDateTime.now());
+    }
+    
+    private static void aguardarAte(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Tempo esgotado aguardando a entrega");
+            Thread.sleep(5);
+        }
+    }
+    
+    private static final class Coletor implements Assinatura.Envio {
+        private final List<Notificacao> recebidas = new ArrayList<>();
+        
+        @Override
+        public synchronized void enviar(Notificacao notificacao) {
+            recebidas.add(notificacao);
+        }
+        
+        synchronized List<Notificacao> recebidas() {
+            return List.copyOf(recebidas);
+        }
+        
+        List<Long> ids() {
+            return recebidas().stream().map(Notificacao::id).toList();
+        }
+        
+        void aguardar(int quantidade) throws InterruptedException {
+            aguardarAte(() -> recebidas().size() >= quantidade);
+        }
+    }
+}
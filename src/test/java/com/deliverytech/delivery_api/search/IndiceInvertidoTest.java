@@ -0,0 +1,57 @@
+package com.deliverytech.delivery_api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+    
+    @Test
+    void deveExigirTodosOsTermosEOrdenarPorRelevancia() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1, 10, true, Map.of("pizza", 3f, "margherita", 3f, "manjericao", 1f));
+        indice.indexar(2, 10, true, Map.of("pizza", 3f, "calabresa", 3f));
+        indice.indexar(3, 20, true, Map.of("pao", 3f, "queijo", 3f, "pizza", 1f));
+        
+        assertEquals(List.of(1L, 2L, 3L), ids(indice.buscar(List.of("pizza"), null, null, 10)));
+        assertEquals(List.of(1L), ids(indice.buscar(List.of("pizza", "marg"), null, null, 10)));
+        assertEquals(List.of(3L), ids(indice.buscar(List.of("pizza"), 20L, null, 10)));
+        assertEquals(List.of(1L), ids(indice.buscar(List.of("pizza"), null, null, 1)));
+        assertTrue(indice.buscar(List.of("pizza", "sushi"), null, null, 10).isEmpty());
+    }
+    
+    @Test
+    void deveAtualizarERemoverDocumentosIncrementalmente() {
+        IndiceInvertido indice = new IndiceInvertido();
+        for (long id = 0; id < 5_000; id++) {
+            indice.indexar(id, 1, true, Map.of("produto", 1f, String.format("item%04d", id), 3f));
+        }
+        // Reindexa tudo várias vezes para forçar a compactação das lápides
+        for (int rodada = 0; rodada < 3; rodada++) {
+            for (long id = 0; id < 5_000; id++) {
+                indice.indexar(id, 1, id % 2 == 0, Map.of("produto", 1f, String.format("item%04d", id), 3f));
+            }
+        }
+        indice.remover(42);
+        
+        assertEquals(4_999, indice.tamanho());
+        assertEquals(List.of(7L), ids(indice.buscar(List.of("item0007"), null, null, 10)));
+        assertEquals(List.of(7L), ids(indice.buscar(List.of("item0007"), null, false, 10)));
+        assertTrue(indice.buscar(List.of("item0007"), null, true, 10).isEmpty());
+        assertTrue(indice.buscar(List.of("item0042"), null, null, 10).isEmpty());
+        assertEquals(2_499, indice.buscar(List.of("produto"), null, true, 10_000).size());
+    }
+    
+    @Test
+    void deveNormalizarAcentosECaixa() {
+        assertEquals(List.of("pao", "queijo", "acai"), Tokenizador.tokenizar("PÃO de Queijo & Açaí"));
+    }
+    
+    private static List<Long> ids(List<IndiceInvertido.Resultado> resultados) {
+        return resultados.stream().map(IndiceInvertido.Resultado::id).collect(Collectors.toList());
+    }
+}
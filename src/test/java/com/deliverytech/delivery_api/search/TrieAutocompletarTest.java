@@ -0,0 +1,97 @@
+package com.deliverytech.delivery_api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrieAutocompletarTest {
+    
+    @Test
+    void deveSugerirPorPrefixoDeQualquerPalavraOrdenadoPorPopularidade() {
+        TrieAutocompletar trie = new TrieAutocompletar();
+        trie.indexar(1, "Pizza Margherita");
+        trie.indexar(2, "Pizza Calabresa");
+        trie.indexar(3, "Pão de Queijo");
+        trie.definirPopularidade(2, 50);
+        trie.definirPopularidade(1, 10);
+        
+        assertEquals(List.of(2L, 1L), ids(trie.sugerir("piz", 10)));
+        assertEquals(List.of(1L), ids(trie.sugerir("MARG", 10)));
+        assertEquals(List.of(1L), ids(trie.sugerir("pizza mar", 10)));
+        assertEquals(List.of(3L), ids(trie.sugerir("pão de q", 10)));
+        assertEquals(List.of(2L), ids(trie.sugerir("p", 1)));
+        assertTrue(trie.sugerir("sushi", 10).isEmpty());
+        
+        trie.somarPopularidade(1, 100);
+        assertEquals(List.of(1L, 2L), ids(trie.sugerir("pizza", 10)));
+    }
+    
+    @Test
+    void deveRenomearERemoverSemDeixarSugestoesAntigas() {
+        TrieAutocompletar trie = new TrieAutocompletar();
+        trie.indexar(1, "Pizza Pizza");
+        trie.indexar(2, "Pizzaria Napoli");
+        
+        trie.indexar(1, "Lasanha");
+        assertEquals(List.of(2L), ids(trie.sugerir("pizza", 10)));
+        assertEquals(List.of(1L), ids(trie.sugerir("las", 10)));
+        
+        trie.definirPopularidade(2, 7);
+        trie.remover(2);
+        assertTrue(trie.sugerir("piz", 10).isEmpty());
+        
+        // A popularidade continua conhecida quando o item volta
+        trie.indexar(2, "Pizzaria Napoli");
+        assertEquals(7, trie.sugerir("nap", 10).get(0).popularidade());
+        assertEquals(2, trie.tamanho());
+    }
+    
+    @Test
+    void deveManterOsTopKIguaisAoCalculoExaustivo() {
+        Random random = new Random(7);
+        String[] palavras = {"pizza", "pizzaria", "pastel", "pao", "massa", "molho", "mussarela", "calabresa", "frango", "feijoada"};
+        TrieAutocompletar trie = new TrieAutocompletar();
+        String[] nomes = new String[2_000];
+        long[] popularidades = new long[2_000];
+        for (int i = 0; i < nomes.length; i++) {
+            nomes[i] = palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)] + " " + i;
+            popularidades[i] = random.nextInt(1_000);
+            trie.definirPopularidade(i, popularidades[i]);
+            trie.indexar(i, nomes[i]);
+        }
+        for (int i = 0; i < nomes.length; i += 3) {
+            trie.remover(i);
+        }
+        
+        for (String prefixo : List.of("p", "piz", "pizzaria", "m", "mo", "fe", "calabresa 1")) {
+            List<Long> esperado = IntStream.range(0, nomes.length)
+                .filter(i -> i % 3 != 0 && casa(nomes[i], prefixo))
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(i -> -popularidades[i]).thenComparing(i -> nomes[i]))
+                .limit(TrieAutocompletar.K)
+                .map(Integer::longValue)
+                .collect(Collectors.toList());
+            assertEquals(esperado, ids(trie.sugerir(prefixo, TrieAutocompletar.K)), "prefixo " + prefixo);
+        }
+    }
+    
+    private static boolean casa(String nome, String prefixo) {
+        List<String> palavras = Tokenizador.tokenizar(nome);
+        for (int i = 0; i < palavras.size(); i++) {
+            if (String.join(" ", palavras.subList(i, palavras.size())).startsWith(prefixo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static List<Long> ids(List<TrieAutocompletar.Sugestao> sugestoes) {
+        return sugestoes.stream().map(TrieAutocompletar.Sugestao::id).collect(Collectors.toList());
+    }
+}